@@ -6,6 +6,8 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.advisor.SingleFlightAdvisor;
+
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 
@@ -17,7 +19,10 @@ public class AiServiceByChatClient {
   
   // ##### 생성자 #####
   public AiServiceByChatClient(ChatClient.Builder chatClientBuilder) {
-    this.chatClient = chatClientBuilder.build();
+    this.chatClient = chatClientBuilder
+        // 동시에 들어온 같은 질문은 LLM 호출 한 번으로 합침
+        .defaultAdvisors(new SingleFlightAdvisor())
+        .build();
   }
 
   // ##### 메소드 #####
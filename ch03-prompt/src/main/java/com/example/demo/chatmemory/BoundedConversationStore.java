@@ -0,0 +1,338 @@
+package com.example.demo.chatmemory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 대화 ID로 대화 내용을 관리하는 저장소
+ *  - 세션에는 대화 ID만 저장하므로 세션당 힙 사용량이 일정함
+ *  - 대화마다 토큰 수(maxTokens)를 넘으면 오래된 메시지부터 제거 (시스템 메시지는 유지)
+ *  - 힙에는 최근 사용한 대화 maxHotConversations개만 유지
+ *    개수를 넘거나 idleTimeout 동안 사용하지 않은 대화는 디스크 파일로 내보냄(spill)
+ *  - 내보낸 대화는 다시 요청될 때 파일에서 읽어서 힙으로 복원 (파일 I/O는 hot 잠금 밖에서 실행)
+ *  - 세션이 끝나면 ConversationSessionListener가 remove()로 대화를 삭제
+ * 잠금 순서: 파일 잠금(spillLocks) → hot
+ */
+@Component
+@Slf4j
+public class BoundedConversationStore {
+  // ##### 필드 #####
+  private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+  // accessOrder=true: 맨 앞이 가장 오래 사용하지 않은 대화
+  private final LinkedHashMap<String, Conversation> hot = new LinkedHashMap<>(16, 0.75f, true);
+  // 파일로 쓰는 중인 대화 (쓰는 동안 요청이 오면 여기서 복원)
+  private final Map<String, Conversation> spilling = new ConcurrentHashMap<>();
+  // 같은 대화의 파일 쓰기가 순서대로 실행되도록 대화 ID별로 나눈 잠금
+  private final Object[] spillLocks = new Object[64];
+
+  @Value("${app.conversation.max-tokens:4000}")
+  private int maxTokens;
+  @Value("${app.conversation.max-hot-conversations:1000}")
+  private int maxHotConversations;
+  @Value("${app.conversation.idle-timeout:10m}")
+  private Duration idleTimeout;
+  @Value("${app.conversation.spill-directory:${java.io.tmpdir}/ch03-conversations}")
+  private Path spillDirectory;
+
+  // ##### 생성자 #####
+  public BoundedConversationStore() {
+    for (int i = 0; i < spillLocks.length; i++) {
+      spillLocks[i] = new Object();
+    }
+  }
+
+  // ##### 대화 (메시지 + 토큰 수) #####
+  private static class Conversation {
+    final List<Message> messages = new ArrayList<>();
+    final List<Integer> tokens = new ArrayList<>();
+    int totalTokens;
+    long lastAccess = System.nanoTime();
+  }
+
+  // ##### 이 클래스가 만드는 파일의 확장자 #####
+  private static final String SPILL_SUFFIX = ".conv";
+  private static final String TEMP_SUFFIX = ".conv.tmp";
+  private static final String CORRUPT_SUFFIX = ".conv.corrupt";
+
+  // ##### 파일로 쓸 대화의 복사본 (쓰는 동안 원본이 다시 사용되어도 영향 없음) #####
+  private record Snapshot(String conversationId, Conversation conversation,
+      List<Message> messages, List<Integer> tokens) {
+  }
+
+  // ##### 시작할 때 이전 실행에서 남은 파일 삭제 (이 클래스가 만든 확장자의 파일만) #####
+  @PostConstruct
+  public void init() throws IOException {
+    Files.createDirectories(spillDirectory);
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory,
+        "*{" + SPILL_SUFFIX + "," + TEMP_SUFFIX + "," + CORRUPT_SUFFIX + "}")) {
+      for (Path file : files) {
+        if (Files.isRegularFile(file)) {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  // ##### 대화 내용을 반환하는 메소드 #####
+  public List<Message> get(String conversationId) {
+    return withConversation(conversationId, conversation -> List.copyOf(conversation.messages));
+  }
+
+  // ##### 메시지를 추가하고 토큰 수를 넘으면 오래된 메시지를 제거하는 메소드 #####
+  public void add(String conversationId, Message... messages) {
+    List<Snapshot> evicted = withConversation(conversationId, conversation -> {
+      for (Message message : messages) {
+        int count = message.getText() == null ? 0 : tokenCountEstimator.estimate(message.getText());
+        conversation.messages.add(message);
+        conversation.tokens.add(count);
+        conversation.totalTokens += count;
+      }
+      // 마지막 메시지는 남기고, 시스템 메시지가 아닌 오래된 메시지부터 제거
+      for (int i = 0; conversation.totalTokens > maxTokens && i < conversation.messages.size() - 1;) {
+        if (conversation.messages.get(i) instanceof SystemMessage) {
+          i++;
+          continue;
+        }
+        conversation.messages.remove(i);
+        conversation.totalTokens -= conversation.tokens.remove(i);
+      }
+      return evictColdConversations();
+    });
+    evicted.forEach(this::spill);
+  }
+
+  // ##### 대화를 삭제하는 메소드 #####
+  public void remove(String conversationId) {
+    synchronized (spillLock(conversationId)) {
+      synchronized (hot) {
+        hot.remove(conversationId);
+      }
+      spilling.remove(conversationId);
+      try {
+        Files.deleteIfExists(spillFile(conversationId));
+      } catch (IOException e) {
+        log.warn("대화 파일을 삭제하지 못했습니다 ({}): {}", conversationId, e.getMessage());
+      }
+    }
+  }
+
+  // ##### 힙에 있는 대화를 hot 잠금 안에서 처리하는 메소드 #####
+  // 불러온 뒤 잠그기 전에 다시 내보내졌으면 다시 불러옴
+  private <T> T withConversation(String conversationId, Function<Conversation, T> action) {
+    while (true) {
+      Conversation conversation = load(conversationId);
+      synchronized (hot) {
+        if (hot.get(conversationId) == conversation) {
+          conversation.lastAccess = System.nanoTime();
+          return action.apply(conversation);
+        }
+      }
+    }
+  }
+
+  // ##### 힙 → 쓰는 중 → 파일 순서로 찾고, 없으면 새 대화 생성 #####
+  private Conversation load(String conversationId) {
+    synchronized (hot) {
+      Conversation conversation = findInMemory(conversationId);
+      if (conversation != null) {
+        return conversation;
+      }
+    }
+    // 파일은 대화별 파일 잠금만 잡고 읽음 (다른 대화의 요청은 기다리지 않음)
+    synchronized (spillLock(conversationId)) {
+      synchronized (hot) {
+        Conversation conversation = findInMemory(conversationId);
+        if (conversation != null) {
+          return conversation;
+        }
+      }
+      Conversation restored = readSpillFile(conversationId, spillFile(conversationId));
+      synchronized (hot) {
+        Conversation conversation = findInMemory(conversationId);
+        if (conversation == null) {
+          conversation = restored != null ? restored : new Conversation();
+          hot.put(conversationId, conversation);
+        }
+        return conversation;
+      }
+    }
+  }
+
+  // ##### 힙이나 쓰는 중인 대화에서 찾는 메소드 (hot 잠금 안에서 호출) #####
+  private Conversation findInMemory(String conversationId) {
+    Conversation conversation = hot.get(conversationId);
+    if (conversation == null) {
+      conversation = spilling.remove(conversationId);
+      if (conversation != null) {
+        hot.put(conversationId, conversation);
+      }
+    }
+    return conversation;
+  }
+
+  // ##### 개수를 넘거나 오래 사용하지 않은 대화를 힙에서 꺼내는 메소드 (hot 잠금 안에서 호출) #####
+  private List<Snapshot> evictColdConversations() {
+    List<Snapshot> evicted = new ArrayList<>();
+    long now = System.nanoTime();
+    Iterator<Map.Entry<String, Conversation>> iterator = hot.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Conversation> eldest = iterator.next();
+      boolean overflow = hot.size() > maxHotConversations;
+      boolean idle = now - eldest.getValue().lastAccess > idleTimeout.toNanos();
+      if (!overflow && !idle) {
+        break;
+      }
+      iterator.remove();
+      spilling.put(eldest.getKey(), eldest.getValue());
+      Conversation conversation = eldest.getValue();
+      evicted.add(new Snapshot(eldest.getKey(), conversation,
+          List.copyOf(conversation.messages), List.copyOf(conversation.tokens)));
+    }
+    return evicted;
+  }
+
+  //-------------------------------------------------------------------------------
+  // ##### 대화를 파일로 쓰는 메소드 (형식: 개수, [타입, 토큰 수, 길이, UTF-8 바이트]...) #####
+  private void spill(Snapshot snapshot) {
+    String conversationId = snapshot.conversationId();
+    Path file = spillFile(conversationId);
+    Path temp = spillDirectory.resolve(conversationId + TEMP_SUFFIX);
+    synchronized (spillLock(conversationId)) {
+      // 쓰기 전에 다시 힙으로 복원되었으면 쓰지 않음
+      if (spilling.get(conversationId) != snapshot.conversation()) {
+        return;
+      }
+      try {
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temp)))) {
+          out.writeInt(snapshot.messages().size());
+          for (int i = 0; i < snapshot.messages().size(); i++) {
+            Message message = snapshot.messages().get(i);
+            String text = message.getText() == null ? "" : message.getText();
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(message.getMessageType().ordinal());
+            out.writeInt(snapshot.tokens().get(i));
+            out.writeInt(bytes.length);
+            out.write(bytes);
+          }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        spilling.remove(conversationId, snapshot.conversation());
+        return;
+      } catch (IOException e) {
+        log.warn("대화를 파일로 내보내지 못했습니다 ({}): {}", conversationId, e.getMessage());
+      }
+    }
+
+    // 파일로 쓰지 못하면 힙에 다시 넣음 (hot → 파일 잠금 순서를 지키기 위해 파일 잠금 밖에서 처리)
+    synchronized (hot) {
+      if (spilling.remove(conversationId, snapshot.conversation())) {
+        hot.putIfAbsent(conversationId, snapshot.conversation());
+      }
+    }
+  }
+
+  // ##### 파일에서 대화를 읽고 파일은 삭제하는 메소드 (파일 잠금 안에서 호출) #####
+  // 손상되었거나 잘린 파일은 격리하고 null을 반환 (새 대화로 시작)
+  private Conversation readSpillFile(String conversationId, Path file) {
+    if (!Files.exists(file)) {
+      return null;
+    }
+    Conversation conversation = new Conversation();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      int size = in.readInt();
+      if (size < 0) {
+        throw new IOException("메시지 수가 잘못되었습니다: " + size);
+      }
+      MessageType[] types = MessageType.values();
+      for (int i = 0; i < size; i++) {
+        int typeIndex = in.readByte();
+        if (typeIndex < 0 || typeIndex >= types.length) {
+          throw new IOException("메시지 타입이 잘못되었습니다: " + typeIndex);
+        }
+        int tokens = in.readInt();
+        int length = in.readInt();
+        if (length < 0) {
+          throw new IOException("메시지 길이가 잘못되었습니다: " + length);
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+          throw new EOFException("파일이 중간에 잘렸습니다.");
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        conversation.messages.add(switch (types[typeIndex]) {
+          case SYSTEM -> new SystemMessage(text);
+          case ASSISTANT -> new AssistantMessage(text);
+          default -> new UserMessage(text);
+        });
+        conversation.tokens.add(tokens);
+        conversation.totalTokens += tokens;
+      }
+    } catch (IOException e) {
+      log.warn("대화 파일이 손상되어 새 대화로 시작합니다 ({}): {}", conversationId, e.getMessage());
+      quarantine(conversationId, file);
+      return null;
+    }
+    try {
+      Files.delete(file);
+    } catch (IOException e) {
+      // 남은 파일은 다음에 내보낼 때 덮어쓰거나 remove()에서 삭제
+      log.warn("대화 파일을 삭제하지 못했습니다 ({}): {}", conversationId, e.getMessage());
+    }
+    return conversation;
+  }
+
+  // ##### 손상된 파일을 격리하는 메소드 (옮기지 못하면 삭제) #####
+  // 격리한 파일은 다음 시작 때 init()에서 삭제
+  private void quarantine(String conversationId, Path file) {
+    try {
+      Files.move(file, spillDirectory.resolve(conversationId + CORRUPT_SUFFIX),
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException deleteError) {
+        log.warn("손상된 대화 파일을 정리하지 못했습니다 ({}): {}", conversationId, deleteError.getMessage());
+      }
+    }
+  }
+
+  private Path spillFile(String conversationId) {
+    // 대화 ID는 서버에서 생성한 UUID이므로 그대로 파일 이름으로 사용
+    return spillDirectory.resolve(conversationId + SPILL_SUFFIX);
+  }
+
+  private Object spillLock(String conversationId) {
+    return spillLocks[Math.floorMod(conversationId.hashCode(), spillLocks.length)];
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.chatmemory;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 세션이 끝나면(만료, invalidate) 세션의 대화를 BoundedConversationStore에서 삭제하는 리스너
+ * 대화 ID는 AiControllerMultiMessages가 세션 속성 conversationId에 저장
+ */
+@Component
+@Slf4j
+public class ConversationSessionListener implements HttpSessionListener {
+  // ##### 상수 #####
+  public static final String CONVERSATION_ID_ATTRIBUTE = "conversationId";
+
+  // ##### 필드 #####
+  private final BoundedConversationStore conversationStore;
+
+  // ##### 생성자 #####
+  public ConversationSessionListener(BoundedConversationStore conversationStore) {
+    this.conversationStore = conversationStore;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public void sessionDestroyed(HttpSessionEvent event) {
+    if (event.getSession().getAttribute(CONVERSATION_ID_ATTRIBUTE) instanceof String conversationId) {
+      conversationStore.remove(conversationId);
+      log.debug("세션 종료로 대화 삭제: {}", conversationId);
+    }
+  }
+}
@@ -1,9 +1,7 @@
 package com.example.demo.controller;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.UUID;
 
-import org.springframework.ai.chat.messages.Message;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.chatmemory.ConversationSessionListener;
 import com.example.demo.service.AiServiceMultiMessages;
 
 import jakarta.servlet.http.HttpSession;
@@ -33,12 +32,13 @@ public class AiControllerMultiMessages {
   )
   public String multiMessages(
       @RequestParam("question") String question, HttpSession session) {
-    List<Message> chatMemory = (List<Message>) session.getAttribute("chatMemory");
-    if(chatMemory == null) {
-      chatMemory = new ArrayList<Message>();
-      session.setAttribute("chatMemory", chatMemory);
+    // 세션에는 대화 ID만 저장 (대화 내용은 BoundedConversationStore가 관리, 세션이 끝나면 삭제)
+    String conversationId = (String) session.getAttribute(ConversationSessionListener.CONVERSATION_ID_ATTRIBUTE);
+    if(conversationId == null) {
+      conversationId = UUID.randomUUID().toString();
+      session.setAttribute(ConversationSessionListener.CONVERSATION_ID_ATTRIBUTE, conversationId);
     }
-    String answer = aiService.multiMessages(question, chatMemory);
+    String answer = aiService.multiMessages(question, conversationId);
     return answer;
   }
 }
@@ -1,6 +1,8 @@
 package com.example.demo.service;
 
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.stereotype.Service;
@@ -10,6 +12,30 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 public class AiServiceFewShotPrompt {
+  // ##### 상수 #####
+  private static final String FEW_SHOT_EXAMPLES = """
+      고객 주문을 유효한 JSON 형식으로 바꿔주세요.
+      추가 설명은 포함하지 마세요.
+
+      예시1:
+      작은 피자 하나, 치즈랑 토마토 소스, 페퍼로니 올려서 주세요.
+      JSON 응답:
+      {
+        "size": "small",
+        "type": "normal",
+        "ingredients": ["cheese", "tomato sauce", "pepperoni"]
+      }
+
+      예시1:
+      큰 피자 하나, 토마토 소스랑 바질, 모짜렐라 올려서 주세요.
+      JSON 응답:
+      {
+        "size": "large",
+        "type": "normal",
+        "ingredients": ["tomato sauce", "basil", "mozzarella"]
+      }
+      """;
+
   // ##### 필드 #####
   private ChatClient chatClient;
 
@@ -21,32 +47,12 @@ public class AiServiceFewShotPrompt {
   // ##### 메소드 #####
   public String fewShotPrompt(String order) {
     // 프롬프트 생성
-    String strPrompt = """
-        고객 주문을 유효한 JSON 형식으로 바꿔주세요.
-        추가 설명은 포함하지 마세요.
-
-        예시1:
-        작은 피자 하나, 치즈랑 토마토 소스, 페퍼로니 올려서 주세요.
-        JSON 응답:
-        {
-          "size": "small",
-          "type": "normal",
-          "ingredients": ["cheese", "tomato sauce", "pepperoni"]
-        }
-
-        예시1:
-        큰 피자 하나, 토마토 소스랑 바질, 모짜렐라 올려서 주세요.
-        JSON 응답:
-        {
-          "size": "large",
-          "type": "normal",
-          "ingredients": ["tomato sauce", "basil", "mozzarella"]
-        }
-
-        고객 주문: %s""".formatted(order);
-
+    // 매번 같은 지시문과 예시는 시스템 메시지로 앞에 두고, 바뀌는 주문만 사용자 메시지로 보냄
+    // (같은 접두사가 반복되므로 LLM 공급자의 프롬프트 캐싱을 탈 수 있음)
     Prompt prompt = Prompt.builder()
-        .content(strPrompt)
+        .messages(
+            new SystemMessage(FEW_SHOT_EXAMPLES),
+            new UserMessage("고객 주문: " + order))
         .build();
 
     // LLM으로 요청하고 응답을 받음
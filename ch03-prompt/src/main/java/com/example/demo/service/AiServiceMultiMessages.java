@@ -10,6 +10,8 @@ import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.chatmemory.BoundedConversationStore;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -17,14 +19,17 @@ import lombok.extern.slf4j.Slf4j;
 public class AiServiceMultiMessages {
   // ##### 필드 #####
   private ChatClient chatClient;
+  private BoundedConversationStore conversationStore;
 
   // ##### 생성자 #####
-  public AiServiceMultiMessages(ChatClient.Builder chatClientBuilder) {
+  public AiServiceMultiMessages(
+      ChatClient.Builder chatClientBuilder, BoundedConversationStore conversationStore) {
     chatClient = chatClientBuilder.build();
+    this.conversationStore = conversationStore;
   }
 
   // ##### 메소드 #####
-  public String multiMessages(String question, List<Message> chatMemory) {
+  public String multiMessages(String question, String conversationId) {
     // 시스템 메시지 생성
     SystemMessage systemMessage = SystemMessage.builder()
         .text("""
@@ -34,8 +39,10 @@ public class AiServiceMultiMessages {
         .build();
     
     // 대화를 처음 시작할 경우, 시스템 메시지 저장
+    List<Message> chatMemory = conversationStore.get(conversationId);
     if(chatMemory.size() == 0) {
-      chatMemory.add(systemMessage);
+      conversationStore.add(conversationId, systemMessage);
+      chatMemory = List.of(systemMessage);
     }
     
     // 이전 대화 내용 출력
@@ -52,12 +59,10 @@ public class AiServiceMultiMessages {
         // ChatResponse로 반환하기
         .chatResponse();
   
-    // 대화 메시지 저장
+    // 대화 메시지 저장 (토큰 수를 넘으면 오래된 메시지부터 제거됨)
     UserMessage userMessage = UserMessage.builder().text(question).build();
-    chatMemory.add(userMessage);
-    
     AssistantMessage assistantMessage = chatResponse.getResult().getOutput();
-    chatMemory.add(assistantMessage);
+    conversationStore.add(conversationId, userMessage, assistantMessage);
   
     // LLM의 텍스트 답변 반환
     String text = assistantMessage.getText();
@@ -0,0 +1,70 @@
+package com.example.demo.chatmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BoundedConversationStoreTests {
+  // ##### 필드 #####
+  @TempDir
+  Path spillDirectory;
+  private BoundedConversationStore store;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    store = new BoundedConversationStore();
+    ReflectionTestUtils.setField(store, "maxTokens", 4000);
+    // 대화 하나만 힙에 두므로 두 번째 대화가 들어오면 첫 번째 대화는 파일로 내보냄
+    ReflectionTestUtils.setField(store, "maxHotConversations", 1);
+    ReflectionTestUtils.setField(store, "idleTimeout", Duration.ofMinutes(10));
+    ReflectionTestUtils.setField(store, "spillDirectory", spillDirectory);
+    store.init();
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void spilledConversationIsRestored() {
+    store.add("a", new UserMessage("서울 맛집 추천"));
+    store.add("b", new UserMessage("부산 맛집 추천"));
+
+    assertThat(Files.exists(spillDirectory.resolve("a.conv"))).isTrue();
+    assertThat(store.get("a")).extracting(Message::getText).containsExactly("서울 맛집 추천");
+  }
+
+  @Test
+  void truncatedFileIsQuarantinedAndStartsFresh() throws IOException {
+    store.add("a", new UserMessage("서울 맛집 추천"));
+    store.add("b", new UserMessage("부산 맛집 추천"));
+    Path file = spillDirectory.resolve("a.conv");
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+    assertThat(store.get("a")).isEmpty();
+    assertThat(Files.exists(file)).isFalse();
+    assertThat(Files.exists(spillDirectory.resolve("a.conv.corrupt"))).isTrue();
+
+    // 새 대화로 계속 사용할 수 있음
+    store.add("a", new UserMessage("다시 질문"));
+    assertThat(store.get("a")).hasSize(1);
+  }
+
+  @Test
+  void corruptTypeIsQuarantined() throws IOException {
+    // 메시지 1개, 타입 번호 127
+    Files.write(spillDirectory.resolve("c.conv"), new byte[] { 0, 0, 0, 1, 127, 0, 0, 0, 1, 0, 0, 0, 0 });
+
+    assertThat(store.get("c")).isEmpty();
+    assertThat(Files.exists(spillDirectory.resolve("c.conv.corrupt"))).isTrue();
+  }
+}
@@ -0,0 +1,197 @@
+package com.example.demo.advisor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.ai.chat.client.ChatClientAttributes;
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.core.Ordered;
+
+import com.example.demo.cache.ResponseCacheStore;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/*
+ * 결정적인(같은 요청이면 같은 답이 나오는) 요청의 응답을 캐시하는 Advisor
+ *  - 키: 네임스페이스(기본 모델) + 최종 프롬프트(메시지 타입 + 텍스트) + 옵션(JSON) + 출력 형식의 SHA-256
+ *  - 캐시하는 요청: temperature가 maxTemperature 이하로 지정된 요청
+ *  - 캐시하지 않는 요청: temperature 미지정/높음, 도구 호출, 이미지 등 미디어 포함
+ *  - 정상 종료(finish reason STOP)한 응답만 저장하고, 길이 초과로 잘린 응답은 저장하지 않음
+ *  - 캐시에서 꺼낸 응답은 컨텍스트에 CACHE_HIT=true를 넣어서 반환
+ * 필요한 ChatClient에만 기본 Advisor로 등록해서 사용
+ */
+@Slf4j
+public class ResponseCacheAdvisor implements CallAdvisor, StreamAdvisor {
+  // ##### 필드 #####
+  public static final String CACHE_HIT = "responseCacheHit";
+
+  private final ResponseCacheStore store;
+  private final String namespace;
+  private final double maxTemperature;
+  private final int order;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  // ##### 생성자 #####
+  public ResponseCacheAdvisor(ResponseCacheStore store, String namespace, double maxTemperature) {
+    this(store, namespace, maxTemperature, Ordered.LOWEST_PRECEDENCE - 2);
+  }
+
+  public ResponseCacheAdvisor(ResponseCacheStore store, String namespace, double maxTemperature, int order) {
+    this.store = store;
+    this.namespace = namespace;
+    this.maxTemperature = maxTemperature;
+    this.order = order;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public int getOrder() {
+    return this.order;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @Override
+  public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+    if (!isCacheable(request)) {
+      return chain.nextCall(request);
+    }
+    String key = keyOf(request);
+    String cached = store.get(key);
+    if (cached != null) {
+      hits.increment();
+      log.debug("응답 캐시 적중: {}", key);
+      return cachedResponse(cached, request);
+    }
+    misses.increment();
+    ChatClientResponse response = chain.nextCall(request);
+    save(key, response);
+    return response;
+  }
+
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    return Flux.defer(() -> {
+      if (!isCacheable(request)) {
+        return chain.nextStream(request);
+      }
+      String key = keyOf(request);
+      String cached = store.get(key);
+      if (cached != null) {
+        hits.increment();
+        log.debug("응답 캐시 적중: {}", key);
+        return Flux.just(cachedResponse(cached, request));
+      }
+      misses.increment();
+      // 스트림이 끝까지 완료되면 합친 응답을 저장 (중간에 취소되면 저장하지 않음)
+      return new ChatClientMessageAggregator()
+          .aggregateChatClientResponse(chain.nextStream(request), response -> save(key, response));
+    });
+  }
+
+  // ##### 캐시할 수 있는 요청인지 확인하는 메소드 #####
+  private boolean isCacheable(ChatClientRequest request) {
+    Prompt prompt = request.prompt();
+    ChatOptions options = prompt.getOptions();
+    // temperature를 낮게 지정한 요청만 (미지정이면 공급자 기본값이 높으므로 제외)
+    if (options == null || options.getTemperature() == null || options.getTemperature() > maxTemperature) {
+      return false;
+    }
+    // 도구 호출이 있으면 응답이 외부 상태에 따라 달라짐
+    if (options instanceof ToolCallingChatOptions toolOptions
+        && (!toolOptions.getToolCallbacks().isEmpty() || !toolOptions.getToolNames().isEmpty())) {
+      return false;
+    }
+    for (Message message : prompt.getInstructions()) {
+      if (message.getMessageType() == MessageType.TOOL) {
+        return false;
+      }
+      if (message instanceof UserMessage userMessage && !userMessage.getMedia().isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // ##### 요청 키를 만드는 메소드 #####
+  private String keyOf(ChatClientRequest request) {
+    Prompt prompt = request.prompt();
+    StringBuilder canonical = new StringBuilder(namespace).append('\u0001');
+    for (Message message : prompt.getInstructions()) {
+      canonical.append(message.getMessageType().getValue())
+          .append('\u0000')
+          .append(message.getText())
+          .append('\u0001');
+    }
+    canonical.append(ModelOptionsUtils.toJsonString(prompt.getOptions())).append('\u0001');
+    // entity() 호출 시 LLM 호출 직전에 붙는 출력 형식도 키에 포함
+    for (ChatClientAttributes attribute : List.of(ChatClientAttributes.OUTPUT_FORMAT,
+        ChatClientAttributes.STRUCTURED_OUTPUT_SCHEMA, ChatClientAttributes.STRUCTURED_OUTPUT_NATIVE)) {
+      canonical.append(request.context().get(attribute.getKey())).append('\u0001');
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // ##### 정상 종료한 응답만 저장하는 메소드 #####
+  private void save(String key, ChatClientResponse response) {
+    ChatResponse chatResponse = response.chatResponse();
+    if (chatResponse == null || chatResponse.getResult() == null) {
+      return;
+    }
+    Generation generation = chatResponse.getResult();
+    String finishReason = generation.getMetadata().getFinishReason();
+    String text = generation.getOutput().getText();
+    if (text == null || text.isEmpty() || (finishReason != null && !"STOP".equalsIgnoreCase(finishReason))) {
+      return;
+    }
+    store.put(key, text);
+  }
+
+  private ChatClientResponse cachedResponse(String text, ChatClientRequest request) {
+    return ChatClientResponse.builder()
+        .chatResponse(ChatResponse.builder()
+            .generations(List.of(new Generation(new AssistantMessage(text))))
+            .build())
+        .context(request.context())
+        .context(CACHE_HIT, true)
+        .build();
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.demo.advisor.ResponseCacheAdvisor;
+import com.example.demo.cache.DiskResponseCacheStore;
+import com.example.demo.cache.InMemoryResponseCacheStore;
+import com.example.demo.cache.ResponseCacheStore;
+import com.example.demo.cache.TieredResponseCacheStore;
+
+@Configuration
+@EnableScheduling
+public class ResponseCacheConfig {
+  // ##### 응답 캐시 설정 #####
+  @Value("${app.response-cache.max-entries:1000}")
+  private int maxEntries;
+
+  @Value("${app.response-cache.ttl:24h}")
+  private Duration ttl;
+
+  // 지정하면 메모리 + 디스크 2단계 캐시 사용
+  @Value("${app.response-cache.disk-dir:}")
+  private String diskDir;
+
+  @Value("${app.response-cache.max-temperature:0.3}")
+  private double maxTemperature;
+
+  // 요청 옵션에 모델이 없으면 기본 모델로 구분
+  @Value("${spring.ai.openai.chat.options.model:openai}")
+  private String namespace;
+
+  private DiskResponseCacheStore diskStore;
+
+  // ##### 응답 캐시 저장소 #####
+  @Bean
+  public ResponseCacheStore responseCacheStore() {
+    ResponseCacheStore memory = new InMemoryResponseCacheStore(maxEntries, ttl);
+    if (diskDir.isBlank()) {
+      return memory;
+    }
+    diskStore = new DiskResponseCacheStore(Path.of(diskDir), ttl);
+    return new TieredResponseCacheStore(memory, diskStore);
+  }
+
+  // ##### 디스크 캐시 정리 (시작할 때 한 번, 이후 주기적으로) #####
+  @Scheduled(fixedDelayString = "${app.response-cache.disk-sweep-interval:1h}")
+  public void purgeDiskCache() {
+    if (diskStore != null) {
+      diskStore.purgeExpired();
+    }
+  }
+
+  // ##### 응답 캐시 Advisor (필요한 ChatClient에만 등록) #####
+  @Bean
+  public ResponseCacheAdvisor responseCacheAdvisor(ResponseCacheStore responseCacheStore) {
+    return new ResponseCacheAdvisor(responseCacheStore, namespace, maxTemperature);
+  }
+}
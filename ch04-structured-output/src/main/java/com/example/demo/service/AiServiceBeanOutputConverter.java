@@ -3,11 +3,13 @@ package com.example.demo.service;
 import java.util.Map;
 
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.converter.BeanOutputConverter;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.advisor.ResponseCacheAdvisor;
 import com.example.demo.dto.Hotel;
 
 import lombok.extern.slf4j.Slf4j;
@@ -19,8 +21,13 @@ public class AiServiceBeanOutputConverter {
   private ChatClient chatClient;
 
   // ##### 생성자 #####
-  public AiServiceBeanOutputConverter(ChatClient.Builder chatClientBuilder) {
-    chatClient = chatClientBuilder.build();
+  public AiServiceBeanOutputConverter(
+      ChatClient.Builder chatClientBuilder, ResponseCacheAdvisor responseCacheAdvisor) {
+    // 같은 도시의 요청은 캐시된 응답을 재사용 (temperature 0 + 응답 캐시)
+    chatClient = chatClientBuilder
+        .defaultOptions(ChatOptions.builder().temperature(0.0).build())
+        .defaultAdvisors(responseCacheAdvisor)
+        .build();
   }
 
   // ##### 메소드 #####
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.content.Media;
 import org.springframework.ai.image.ImageMessage;
@@ -23,6 +24,7 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.example.demo.advisor.ResponseCacheAdvisor;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.extern.slf4j.Slf4j;
@@ -33,12 +35,34 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class AiService {
   private ChatClient chatClient;
+  // 번역 전용 ChatClient (temperature 0 + 응답 캐시)
+  private ChatClient translationChatClient;
+  // 이미지 편집 API 호출용 WebClient (시작할 때 한 번 생성해서 공유)
+  private WebClient imageEditWebClient;
 
   @Autowired
   private ImageModel imageModel;
 
-  public AiService(ChatClient.Builder chatClientBuilder) {
+  public AiService(ChatClient.Builder chatClientBuilder, ResponseCacheAdvisor responseCacheAdvisor) {
     chatClient = chatClientBuilder.build();
+    // 같은 문장은 같은 번역이 나오므로 캐시된 번역을 재사용
+    translationChatClient = chatClientBuilder.clone()
+        .defaultOptions(ChatOptions.builder().temperature(0.0).build())
+        .defaultAdvisors(responseCacheAdvisor)
+        .build();
+
+    // WebClient 생성
+    // 커넥션 풀과 코덱 설정을 요청마다 새로 만들지 않도록 한 번만 생성 (생성 후 변경 없음)
+    imageEditWebClient = WebClient.builder()
+        // 이미지 편집을 위한 요청 URL
+        .baseUrl("https://api.openai.com/v1/images/edits")
+        // 인증 헤더 설정
+        .defaultHeader("Authorization", "Bearer " + System.getenv("OPENAI_API_KEY"))
+        // 전략을 적용해서 메모리를 늘림
+        .exchangeStrategies(ExchangeStrategies.builder()
+          .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(10 * 1536 * 1024))
+          .build())
+        .build();
   }
 
   // ##### 이미지 분석 메소드 #####
@@ -93,7 +117,7 @@ public class AiService {
         .build();
 
     // LLM을 호출하고 텍스트 답변 얻기
-    String englishDescription = chatClient.prompt(prompt).call().content();
+    String englishDescription = translationChatClient.prompt(prompt).call().content();
     return englishDescription;
   }
 
@@ -167,20 +191,8 @@ public class AiService {
     form.add("size", "1536x1024");
     form.add("quality", "high");
 
-    // WebClient 생성
-    WebClient webClient = WebClient.builder()
-        // 이미지 편집을 위한 요청 URL
-        .baseUrl("https://api.openai.com/v1/images/edits")
-        // 인증 헤더 설정
-        .defaultHeader("Authorization", "Bearer " + System.getenv("OPENAI_API_KEY"))
-        // 전략을 적용해서 메모리를 늘림
-        .exchangeStrategies(ExchangeStrategies.builder()
-          .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(10 * 1536 * 1024))
-          .build())
-        .build();
-
     // 비동기 단일값(OpenAIImageEditResponse) 스트림인 Mono 얻기
-    Mono<OpenAIImageEditResponse> mono = webClient.post()
+    Mono<OpenAIImageEditResponse> mono = imageEditWebClient.post()
         // multipart/form-data 형식으로 전송
         .contentType(MediaType.MULTIPART_FORM_DATA)
         // 요청 본문에 form 데이터를 넣음
@@ -2,40 +2,26 @@ package com.example.demo.advisor;
 
 import org.springframework.ai.chat.client.ChatClientRequest;
 import org.springframework.ai.chat.client.ChatClientResponse;
-import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
-import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
-import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
-import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
 import org.springframework.core.Ordered;
 
 import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.Flux;
 
 @Slf4j
-public class AdvisorC implements CallAdvisor, StreamAdvisor {
-  @Override
-  public String getName() { 
-    return this.getClass().getSimpleName();
-  }
-
+public class AdvisorC extends StreamingAdvisorSupport {
   @Override
   public int getOrder() { 
     return Ordered.HIGHEST_PRECEDENCE + 3;
   }
 
   @Override
-  public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+  protected ChatClientRequest before(ChatClientRequest request) {
     log.info("[전처리]");
-    ChatClientResponse advisedResponse = chain.nextCall(request);
-    log.info("[후처리]");
-    return advisedResponse;
+    return request;
   }
 
   @Override
-  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
-    //전처리
-    log.info("[전처리]");
-    Flux<ChatClientResponse> flux = chain.nextStream(request);
-    return flux; 
+  protected void afterComplete(ChatClientResponse aggregatedResponse) {
+    // 스트림이 끝난 뒤 전체 응답으로 한 번 실행 (blockLast()로 기다리지 않음)
+    log.info("[후처리]");
   }
-}
\ No newline at end of file
+}
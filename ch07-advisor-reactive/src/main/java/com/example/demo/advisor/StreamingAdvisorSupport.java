@@ -0,0 +1,59 @@
+package com.example.demo.advisor;
+
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+
+import reactor.core.publisher.Flux;
+
+/*
+ * 스트리밍을 막지 않는(non-blocking) Advisor를 만들기 위한 기본 클래스
+ *  - before(): 전처리. 스트림을 구독할 때 한 번 실행
+ *  - afterChunk(): 응답 조각(chunk)마다 실행되는 변환
+ *  - afterComplete(): 스트림이 끝났을 때 전체 응답을 합친 결과로 한 번 실행되는 후처리
+ *
+ * adviseStream()은 다음 Advisor의 Flux를 연산자로만 연결해서 반환하므로
+ *  - blockLast()처럼 Reactor 스레드를 막지 않고 조각이 도착하는 대로 바로 전달하며
+ *  - 다음 Advisor(결국 LLM)는 클라이언트가 구독할 때 정확히 한 번만 구독됨
+ * afterChunk(), afterComplete()도 Reactor 스레드에서 실행되므로 블로킹 작업을 하면 안 됨
+ */
+public abstract class StreamingAdvisorSupport implements CallAdvisor, StreamAdvisor {
+  // ##### 전처리 #####
+  protected ChatClientRequest before(ChatClientRequest request) {
+    return request;
+  }
+
+  // ##### 응답 조각 변환 (동기 호출에서는 전체 응답에 한 번 적용) #####
+  protected ChatClientResponse afterChunk(ChatClientResponse response) {
+    return response;
+  }
+
+  // ##### 전체 응답 후처리 #####
+  protected void afterComplete(ChatClientResponse aggregatedResponse) {
+  }
+
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+    ChatClientResponse response = afterChunk(chain.nextCall(before(request)));
+    afterComplete(response);
+    return response;
+  }
+
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    // defer: 구독할 때 전처리 후 다음 Advisor를 호출 (구독하지 않으면 LLM을 호출하지 않음)
+    Flux<ChatClientResponse> flux = Flux.defer(() -> chain.nextStream(before(request)))
+        .map(this::afterChunk);
+    // 조각을 그대로 흘려보내면서 모아 두었다가 완료 시점에 afterComplete() 실행
+    return new ChatClientMessageAggregator().aggregateChatClientResponse(flux, this::afterComplete);
+  }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.advisor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+class StreamingAdvisorSupportTests {
+  // ##### 테스트용 Advisor #####
+  static class RecordingAdvisor extends StreamingAdvisorSupport {
+    final AtomicInteger beforeCount = new AtomicInteger();
+    final AtomicReference<String> completedText = new AtomicReference<>();
+
+    @Override
+    public int getOrder() {
+      return 0;
+    }
+
+    @Override
+    protected ChatClientRequest before(ChatClientRequest request) {
+      beforeCount.incrementAndGet();
+      return request;
+    }
+
+    @Override
+    protected ChatClientResponse afterChunk(ChatClientResponse response) {
+      return chunk(text(response).toUpperCase());
+    }
+
+    @Override
+    protected void afterComplete(ChatClientResponse aggregatedResponse) {
+      completedText.set(text(aggregatedResponse));
+    }
+  }
+
+  // ##### 다음 Advisor 역할을 하는 체인 #####
+  static class StubChain implements StreamAdvisorChain {
+    final AtomicInteger subscriptions = new AtomicInteger();
+    private final Function<ChatClientRequest, Flux<ChatClientResponse>> upstream;
+
+    StubChain(Function<ChatClientRequest, Flux<ChatClientResponse>> upstream) {
+      this.upstream = upstream;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> nextStream(ChatClientRequest request) {
+      return upstream.apply(request).doOnSubscribe(s -> subscriptions.incrementAndGet());
+    }
+
+    @Override
+    public List<StreamAdvisor> getStreamAdvisors() {
+      return List.of();
+    }
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void subscribesUpstreamExactlyOnce() {
+    RecordingAdvisor advisor = new RecordingAdvisor();
+    StubChain chain = new StubChain(request -> Flux.just(chunk("a"), chunk("b"), chunk("c")));
+
+    Flux<ChatClientResponse> flux = advisor.adviseStream(request(), chain);
+    // 구독 전에는 전처리도, 다음 Advisor 호출도 일어나지 않음
+    assertThat(advisor.beforeCount).hasValue(0);
+    assertThat(chain.subscriptions).hasValue(0);
+
+    StepVerifier.create(flux.map(StreamingAdvisorSupportTests::text))
+        .expectNext("A", "B", "C")
+        .verifyComplete();
+
+    assertThat(advisor.beforeCount).hasValue(1);
+    assertThat(chain.subscriptions).hasValue(1);
+    assertThat(advisor.completedText).hasValue("ABC");
+  }
+
+  @Test
+  void emitsChunksBeforeUpstreamCompletes() {
+    RecordingAdvisor advisor = new RecordingAdvisor();
+    TestPublisher<ChatClientResponse> upstream = TestPublisher.create();
+    StubChain chain = new StubChain(request -> upstream.flux());
+
+    StepVerifier.create(advisor.adviseStream(request(), chain).map(StreamingAdvisorSupportTests::text))
+        .then(() -> upstream.next(chunk("안녕")))
+        // 업스트림이 끝나지 않았는데도 첫 조각이 바로 전달되어야 함 (blockLast()였다면 여기서 멈춤)
+        .expectNext("안녕")
+        .then(() -> assertThat(advisor.completedText).hasValue(null))
+        .then(() -> upstream.next(chunk("하세요")))
+        .expectNext("하세요")
+        .then(upstream::complete)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    assertThat(advisor.completedText).hasValue("안녕하세요");
+    assertThat(chain.subscriptions).hasValue(1);
+    upstream.assertWasSubscribed();
+    upstream.assertWasNotCancelled();
+  }
+
+  @Test
+  void cancellationPropagatesWithoutCompletionHook() {
+    RecordingAdvisor advisor = new RecordingAdvisor();
+    TestPublisher<ChatClientResponse> upstream = TestPublisher.create();
+    StubChain chain = new StubChain(request -> upstream.flux());
+
+    StepVerifier.create(advisor.adviseStream(request(), chain))
+        .then(() -> upstream.next(chunk("a")))
+        .expectNextCount(1)
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+
+    upstream.assertCancelled();
+    assertThat(advisor.completedText).hasValue(null);
+  }
+
+  @Test
+  void callAppliesSameHooks() {
+    RecordingAdvisor advisor = new RecordingAdvisor();
+
+    CallAdvisorChain chain = new CallAdvisorChain() {
+      @Override
+      public ChatClientResponse nextCall(ChatClientRequest request) {
+        return chunk("call");
+      }
+
+      @Override
+      public List<CallAdvisor> getCallAdvisors() {
+        return List.of();
+      }
+
+      @Override
+      public CallAdvisorChain copy(CallAdvisor after) {
+        return this;
+      }
+    };
+
+    ChatClientResponse response = advisor.adviseCall(request(), chain);
+
+    assertThat(text(response)).isEqualTo("CALL");
+    assertThat(advisor.beforeCount).hasValue(1);
+    assertThat(advisor.completedText).hasValue("CALL");
+  }
+
+  // ##### 헬퍼 메소드 #####
+  private static ChatClientRequest request() {
+    return new ChatClientRequest(new Prompt("질문"), Map.of());
+  }
+
+  private static ChatClientResponse chunk(String text) {
+    return new ChatClientResponse(
+        new ChatResponse(List.of(new Generation(new AssistantMessage(text)))), Map.of());
+  }
+
+  private static String text(ChatClientResponse response) {
+    return response.chatResponse().getResult().getOutput().getText();
+  }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.advisor;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/*
+ * SafeGuardAdvisor 대신 사용하는 금칙어 검사 Advisor
+ *  - 금칙어 목록을 KeywordMatcher(Aho-Corasick)로 한 번 컴파일해 두고 요청마다 텍스트를 한 번만 훑음
+ *  - 요청 메시지에 금칙어가 있으면 LLM을 호출하지 않고 거절 응답을 반환
+ *  - LLM 응답도 검사: 동기 호출은 전체 응답, 스트리밍은 조각마다 이어서 검사하고
+ *    금칙어가 나오면 그 조각 대신 거절 응답을 보내고 스트림을 종료 (이전 조각은 이미 전송됨)
+ *  - 스트리밍은 Scanner가 검사를 보류한 끝부분을 전송도 보류하고, 검사한 뒤에 내보냄
+ *    (조각 끝에서 완성되는 금칙어가 검사 전에 클라이언트로 전송되지 않음)
+ *  - reload(): 금칙어 목록 교체. 새 매처를 만든 뒤 참조만 바꾸므로 검사 중인 요청에 영향 없음
+ */
+@Slf4j
+public class KeywordGuardAdvisor implements CallAdvisor, StreamAdvisor {
+  // ##### 필드 #####
+  private final String failureResponse;
+  private final int order;
+  private volatile KeywordMatcher matcher;
+
+  // ##### 생성자 #####
+  public KeywordGuardAdvisor(Collection<String> sensitiveWords, String failureResponse, int order) {
+    this.matcher = KeywordMatcher.compile(sensitiveWords);
+    this.failureResponse = failureResponse;
+    this.order = order;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public int getOrder() {
+    return this.order;
+  }
+
+  // ##### 금칙어 목록을 교체하는 메소드 #####
+  public void reload(Collection<String> sensitiveWords) {
+    KeywordMatcher newMatcher = KeywordMatcher.compile(sensitiveWords);
+    this.matcher = newMatcher;
+    log.info("금칙어 목록 교체: {}개", newMatcher.size());
+  }
+
+  @Override
+  public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+    KeywordMatcher current = this.matcher;
+    String word = findInPrompt(current, request);
+    if (word != null) {
+      log.info("[요청 차단] 금칙어: {}", word);
+      return createFailureResponse(request);
+    }
+
+    ChatClientResponse response = chain.nextCall(request);
+    word = current.findFirst(text(response));
+    if (word != null) {
+      log.info("[응답 차단] 금칙어: {}", word);
+      return createFailureResponse(request);
+    }
+    return response;
+  }
+
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    return Flux.defer(() -> {
+      KeywordMatcher current = this.matcher;
+      String word = findInPrompt(current, request);
+      if (word != null) {
+        log.info("[요청 차단] 금칙어: {}", word);
+        return Flux.just(createFailureResponse(request));
+      }
+
+      // 조각 경계에 걸친 금칙어도 찾도록 Scanner 상태를 이어 감
+      StreamGuard guard = new StreamGuard(current.newScanner());
+      return chain.nextStream(request)
+          .<ChatClientResponse>handle((response, sink) -> {
+            String text = text(response);
+            String matched = guard.scanner.feed(text);
+            if (matched != null) {
+              guard.blocked = true;
+              log.info("[응답 차단] 금칙어: {}", matched);
+              sink.next(createFailureResponse(request));
+              // 완료 신호를 보내면 업스트림(LLM 스트림)은 취소됨
+              sink.complete();
+              return;
+            }
+            if (text == null) {
+              // 텍스트가 없는 조각(메타데이터 등)은 그대로 전달
+              sink.next(response);
+              return;
+            }
+            String released = guard.release(text);
+            guard.lastResponse = response;
+            if (!released.isEmpty()) {
+              sink.next(withText(response, released));
+            }
+          })
+          // 마지막 조각 끝에 보류된 글자까지 검사한 뒤 내보냄
+          .concatWith(Flux.defer(() -> {
+            if (guard.blocked) {
+              return Flux.empty();
+            }
+            String matched = guard.scanner.finish();
+            if (matched != null) {
+              log.info("[응답 차단] 금칙어: {}", matched);
+              return Flux.just(createFailureResponse(request));
+            }
+            if (guard.held.isEmpty()) {
+              return Flux.empty();
+            }
+            return Flux.just(withText(guard.lastResponse, guard.held.toString()));
+          }));
+    });
+  }
+
+  // ##### 스트림 하나의 검사 상태 #####
+  private static class StreamGuard {
+    final KeywordMatcher.Scanner scanner;
+    // 받았지만 Scanner가 아직 검사하지 않아서 전송을 보류한 텍스트
+    final StringBuilder held = new StringBuilder();
+    ChatClientResponse lastResponse;
+    boolean blocked;
+
+    StreamGuard(KeywordMatcher.Scanner scanner) {
+      this.scanner = scanner;
+    }
+
+    // 이번 조각까지 검사가 끝난 텍스트를 꺼냄 (Scanner가 보류한 끝부분은 남김)
+    String release(String text) {
+      held.append(text);
+      int length = held.length() - scanner.pendingLength();
+      String released = held.substring(0, length);
+      held.delete(0, length);
+      return released;
+    }
+  }
+
+  // ##### 요청 메시지들에서 금칙어를 찾는 메소드 #####
+  private String findInPrompt(KeywordMatcher current, ChatClientRequest request) {
+    for (Message message : request.prompt().getInstructions()) {
+      String word = current.findFirst(message.getText());
+      if (word != null) {
+        return word;
+      }
+    }
+    return null;
+  }
+
+  private String text(ChatClientResponse response) {
+    ChatResponse chatResponse = response.chatResponse();
+    if (chatResponse == null || chatResponse.getResult() == null) {
+      return null;
+    }
+    return chatResponse.getResult().getOutput().getText();
+  }
+
+  // 조각의 텍스트만 바꾼 응답
+  private ChatClientResponse withText(ChatClientResponse response, String text) {
+    ChatResponse chatResponse = response.chatResponse();
+    Generation generation = chatResponse.getResult();
+    return response.mutate()
+        .chatResponse(ChatResponse.builder()
+            .from(chatResponse)
+            .generations(List.of(new Generation(new AssistantMessage(text), generation.getMetadata())))
+            .build())
+        .build();
+  }
+
+  private ChatClientResponse createFailureResponse(ChatClientRequest request) {
+    return ChatClientResponse.builder()
+        .chatResponse(ChatResponse.builder()
+            .generations(List.of(new Generation(new AssistantMessage(failureResponse))))
+            .build())
+        .context(request.context())
+        .build();
+  }
+}
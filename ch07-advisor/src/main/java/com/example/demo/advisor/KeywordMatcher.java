@@ -0,0 +1,274 @@
+package com.example.demo.advisor;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/*
+ * 여러 금칙어를 텍스트 한 번 훑기로 찾는 Aho-Corasick 매처
+ *  - 단어 목록으로 오토마톤을 한 번 만들어 두고 여러 스레드에서 공유 (생성 후 변경 없음)
+ *  - 검사 시간은 단어 수와 관계없이 텍스트 길이에 비례
+ *  - 정규화: NFKC(자모 조합, 전각 문자 등) + 소문자 + 공백/제로폭 문자 무시
+ *    예) "폭 탄", 제로폭 문자를 끼운 "폭탄", 자모로 분해된(NFD) "폭탄"도 일치
+ *  - Scanner: 스트리밍 응답처럼 조각으로 나뉘어 들어오는 텍스트를 상태를 이어 가며 검사
+ *    조각 끝의 글자는 다음 조각의 결합 문자(악센트, 한글 중성/종성 자모)와 합쳐질 수 있으므로
+ *    다음 조각이 올 때까지 보류하고, 마지막에 finish()로 남은 글자를 검사
+ */
+public final class KeywordMatcher {
+  // ##### 필드 #####
+  private static final char[] NO_KEYS = new char[0];
+  private static final int[] NO_TARGETS = new int[0];
+
+  // 노드별 전이: 정렬된 문자 배열과 다음 노드 번호
+  private final char[][] keys;
+  private final int[][] targets;
+  // 실패 링크
+  private final int[] fail;
+  // 이 노드에서 끝나는(또는 실패 링크로 이어지는) 단어, 없으면 null
+  private final String[] output;
+  private final int wordCount;
+
+  // ##### 생성자 #####
+  private KeywordMatcher(char[][] keys, int[][] targets, int[] fail, String[] output, int wordCount) {
+    this.keys = keys;
+    this.targets = targets;
+    this.fail = fail;
+    this.output = output;
+    this.wordCount = wordCount;
+  }
+
+  // ##### 단어 목록으로 매처를 만드는 메소드 #####
+  public static KeywordMatcher compile(Collection<String> words) {
+    // 1) 트라이 생성
+    List<Map<Character, Integer>> trie = new ArrayList<>();
+    List<String> outputs = new ArrayList<>();
+    trie.add(new TreeMap<>());
+    outputs.add(null);
+    int wordCount = 0;
+    for (String word : words) {
+      String normalized = normalize(word);
+      if (normalized.isEmpty()) {
+        continue;
+      }
+      int node = 0;
+      for (int i = 0; i < normalized.length(); i++) {
+        char c = normalized.charAt(i);
+        Integer next = trie.get(node).get(c);
+        if (next == null) {
+          next = trie.size();
+          trie.add(new TreeMap<>());
+          outputs.add(null);
+          trie.get(node).put(c, next);
+        }
+        node = next;
+      }
+      if (outputs.get(node) == null) {
+        outputs.set(node, word.strip());
+        wordCount++;
+      }
+    }
+
+    // 2) 배열로 압축
+    int size = trie.size();
+    char[][] keys = new char[size][];
+    int[][] targets = new int[size][];
+    for (int node = 0; node < size; node++) {
+      Map<Character, Integer> edges = trie.get(node);
+      if (edges.isEmpty()) {
+        keys[node] = NO_KEYS;
+        targets[node] = NO_TARGETS;
+        continue;
+      }
+      keys[node] = new char[edges.size()];
+      targets[node] = new int[edges.size()];
+      int i = 0;
+      for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+        keys[node][i] = edge.getKey();
+        targets[node][i] = edge.getValue();
+        i++;
+      }
+    }
+
+    // 3) 너비 우선으로 실패 링크 계산
+    int[] fail = new int[size];
+    String[] output = outputs.toArray(new String[0]);
+    KeywordMatcher matcher = new KeywordMatcher(keys, targets, fail, output, wordCount);
+    Queue<Integer> queue = new ArrayDeque<>();
+    for (int child : targets[0]) {
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      for (int i = 0; i < keys[node].length; i++) {
+        char c = keys[node][i];
+        int child = targets[node][i];
+        int state = fail[node];
+        while (state != 0 && matcher.transition(state, c) < 0) {
+          state = fail[state];
+        }
+        int next = matcher.transition(state, c);
+        fail[child] = next >= 0 ? next : 0;
+        // 더 짧은 단어가 접미사로 끝나는 경우도 일치로 처리
+        if (output[child] == null) {
+          output[child] = output[fail[child]];
+        }
+        queue.add(child);
+      }
+    }
+    return matcher;
+  }
+
+  // ##### 메소드 #####
+  public int size() {
+    return wordCount;
+  }
+
+  // 처음 일치한 단어를 반환 (없으면 null)
+  public String findFirst(CharSequence text) {
+    if (text == null || wordCount == 0) {
+      return null;
+    }
+    // 전체 텍스트가 한 번에 주어지므로 보류할 글자 없음
+    return new Scanner().scan(text);
+  }
+
+  public boolean matches(CharSequence text) {
+    return findFirst(text) != null;
+  }
+
+  // 조각 단위 검사용 Scanner 생성 (Scanner는 스레드 하나에서만 사용)
+  public Scanner newScanner() {
+    return new Scanner();
+  }
+
+  // ##### 이전 조각의 상태를 이어 가며 검사하는 Scanner #####
+  public final class Scanner {
+    private int state;
+    // 다음 조각과 합쳐질 수 있어서 아직 검사하지 않은 끝부분 (정규화 전 원문)
+    private final StringBuilder pending = new StringBuilder();
+
+    private Scanner() {
+    }
+
+    // 이번 조각까지 포함해서 처음 일치한 단어를 반환 (없으면 null)
+    public String feed(CharSequence chunk) {
+      if (chunk == null || chunk.isEmpty() || wordCount == 0) {
+        return null;
+      }
+      pending.append(chunk);
+      int stable = stableLength(pending);
+      if (stable == 0) {
+        return null;
+      }
+      String text = pending.substring(0, stable);
+      pending.delete(0, stable);
+      String matched = scan(text);
+      if (matched != null) {
+        pending.setLength(0);
+      }
+      return matched;
+    }
+
+    // 아직 검사하지 않고 보류 중인 끝부분의 길이 (입력 원문 기준)
+    public int pendingLength() {
+      return pending.length();
+    }
+
+    // 스트림이 끝났을 때 보류한 끝부분을 검사 (없으면 null)
+    public String finish() {
+      if (pending.isEmpty() || wordCount == 0) {
+        return null;
+      }
+      String text = pending.toString();
+      pending.setLength(0);
+      return scan(text);
+    }
+
+    private String scan(CharSequence chunk) {
+      CharSequence text = toNfkc(chunk);
+      for (int i = 0; i < text.length(); i++) {
+        char c = normalizeChar(text.charAt(i));
+        if (c == 0) {
+          continue;
+        }
+        state = step(state, c);
+        if (output[state] != null) {
+          return output[state];
+        }
+      }
+      return null;
+    }
+  }
+
+  // ##### 오토마톤 전이 #####
+  private int step(int state, char c) {
+    int next;
+    while ((next = transition(state, c)) < 0 && state != 0) {
+      state = fail[state];
+    }
+    return next >= 0 ? next : 0;
+  }
+
+  private int transition(int node, char c) {
+    int index = Arrays.binarySearch(keys[node], c);
+    return index >= 0 ? targets[node][index] : -1;
+  }
+
+  // ##### 정규화 #####
+  private static String normalize(String word) {
+    CharSequence text = toNfkc(word);
+    StringBuilder normalized = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = normalizeChar(text.charAt(i));
+      if (c != 0) {
+        normalized.append(c);
+      }
+    }
+    return normalized.toString();
+  }
+
+  private static CharSequence toNfkc(CharSequence text) {
+    return Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+        ? text : Normalizer.normalize(text, Normalizer.Form.NFKC);
+  }
+
+  // 마지막 기본 글자 앞까지의 길이 (그 뒤는 다음 조각의 결합 문자와 합쳐질 수 있음)
+  private static int stableLength(CharSequence text) {
+    int end = text.length();
+    while (end > 0) {
+      int codePoint = Character.codePointBefore(text, end);
+      end -= Character.charCount(codePoint);
+      if (!isCombining(codePoint)) {
+        break;
+      }
+    }
+    return end;
+  }
+
+  // 앞 글자와 합쳐지는 문자: 결합 부호, 한글 중성/종성 자모(호환 모음 포함)
+  private static boolean isCombining(int codePoint) {
+    int type = Character.getType(codePoint);
+    return type == Character.NON_SPACING_MARK
+        || type == Character.COMBINING_SPACING_MARK
+        || type == Character.ENCLOSING_MARK
+        || (codePoint >= 0x1160 && codePoint <= 0x11FF)
+        || (codePoint >= 0xD7B0 && codePoint <= 0xD7FF)
+        || (codePoint >= 0x314F && codePoint <= 0x3163)
+        || (codePoint >= 0x3187 && codePoint <= 0x318E);
+  }
+
+  // 무시할 문자는 0을 반환
+  private static char normalizeChar(char c) {
+    if (Character.isWhitespace(c) || Character.isSpaceChar(c)
+        || c == '\u200B' || c == '\u200C' || c == '\u200D' || c == '\uFEFF') {
+      return 0;
+    }
+    return Character.toLowerCase(c);
+  }
+}
@@ -1,24 +1,68 @@
 package com.example.demo.advisor;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.springframework.ai.chat.client.ChatClientRequest;
 import org.springframework.ai.chat.client.ChatClientResponse;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.openai.OpenAiChatOptions;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 
+/*
+ * 응답 길이를 최대 문자 수로 제한하는 Advisor
+ *  - 사용자 메시지에 "N자 이내로 답변해주세요."를 덧붙임
+ *  - 최대 문자 수를 토큰 수로 환산해서 maxTokens 옵션으로 지정 (생성 비용과 지연 시간의 상한)
+ *    환산 비율(토큰당 문자 수)은 한국어 기준 값에서 시작해서 실제 응답의 사용량으로 보정
+ *    (한국어가 대부분인 응답만 반영하고, 한국어 범위를 벗어나지 않도록 제한)
+ *  - 스트리밍: 누적 문자 수가 최대 문자 수에 도달하면 마지막 조각을 잘라 보내고 스트림을 종료
+ *    (업스트림이 취소되어 LLM 생성도 멈춤)
+ *  - 사용자가 지정한 maxTokens가 더 작으면 그대로 두고, maxCompletionTokens(추론 모델)를 쓰면
+ *    추론 토큰까지 세므로 옵션은 바꾸지 않고 스트림 자르기만 적용
+ */
 @Slf4j
-public class MaxCharLengthAdvisor implements CallAdvisor {
+public class MaxCharLengthAdvisor implements CallAdvisor, StreamAdvisor {
   // ##### 필드 #####
   public static final String MAX_CHAR_LENGTH = "maxCharLength";
+  // 한국어 기준 토큰당 문자 수 (o200k 토크나이저에서 대략 1.0 ~ 1.5)
+  public static final double KOREAN_CHARS_PER_TOKEN = 1.2;
+  // 모델이 지시보다 조금 길게 답하는 경우를 위한 여유분
+  private static final double TOKEN_HEADROOM = 1.2;
+  // 보정에 사용할 최소 출력 토큰 수와 반영 비율
+  private static final int MIN_CALIBRATION_TOKENS = 20;
+  private static final double CALIBRATION_WEIGHT = 0.1;
+  // 보정 값이 한국어 범위를 벗어나지 않도록 제한 (영어 응답은 토큰당 4자 안팎이라 섞이면 한도가 크게 줄어듦)
+  private static final double MIN_CHARS_PER_TOKEN = 0.8;
+  private static final double MAX_CHARS_PER_TOKEN = 2.0;
+  // 보정에 반영할 응답의 최소 한글 비율 (문자 중 한글의 비율)
+  private static final double MIN_HANGUL_RATIO = 0.5;
+
   private int maxCharLength = 300; //공통 최대 문자 수
   private int order;
+  // 여러 요청이 동시에 갱신하면 일부 표본이 빠질 수 있지만 보정 값이므로 무시
+  private volatile double charsPerToken;
 
   // #### 생성자 #####
   public MaxCharLengthAdvisor(int order) {
+    this(order, KOREAN_CHARS_PER_TOKEN);
+  }
+
+  public MaxCharLengthAdvisor(int order, double charsPerToken) {
     this.order = order;
+    this.charsPerToken = charsPerToken;
   }
 
   // ##### 메소드 #####
@@ -32,32 +76,77 @@ public class MaxCharLengthAdvisor implements CallAdvisor {
     return this.order;
   }
 
+  // 현재 토큰당 문자 수 (보정된 값)
+  public double getCharsPerToken() {
+    return this.charsPerToken;
+  }
+
   @Override
   public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
-    // 전처리 작업: 사용자 메시지가 강화된 ChatClientRequest 얻기
-    ChatClientRequest mutatedRequest = augmentPrompt(request);
+    int limit = maxCharLength(request);
+    // 전처리 작업: 사용자 메시지가 강화되고 maxTokens가 지정된 ChatClientRequest 얻기
+    ChatClientRequest mutatedRequest = augmentPrompt(request, limit);
     // 다음 Advisor 호출 또는 LLM으로 요청
     ChatClientResponse response = chain.nextCall(mutatedRequest);
+    // 실제 사용량으로 환산 비율 보정
+    ChatResponse chatResponse = response.chatResponse();
+    if (chatResponse != null) {
+      calibrate(text(chatResponse), chatResponse.getMetadata().getUsage());
+    }
     // 응답 반환
     return response;
   }
 
-  // 사용자 메시지 강화
-  private ChatClientRequest augmentPrompt(ChatClientRequest request) {
-    // 추가할 사용자 텍스트 얻기
-    String userText = this.maxCharLength + "자 이내로 답변해주세요.";    
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    return Flux.defer(() -> {
+      int limit = maxCharLength(request);
+      ChatClientRequest mutatedRequest = augmentPrompt(request, limit);
+      AtomicInteger emitted = new AtomicInteger();
+      return chain.nextStream(mutatedRequest)
+          .<ChatClientResponse>handle((response, sink) -> {
+            String text = text(response.chatResponse());
+            if (text == null) {
+              sink.next(response);
+              return;
+            }
+            int length = text.codePointCount(0, text.length());
+            int remaining = limit - emitted.get();
+            if (length < remaining) {
+              emitted.addAndGet(length);
+              sink.next(response);
+              return;
+            }
+            // 최대 문자 수에 도달: 남은 만큼만 보내고 종료 (업스트림은 취소됨)
+            log.debug("최대 문자 수({}자)에 도달해서 스트림 종료", limit);
+            emitted.addAndGet(remaining);
+            sink.next(truncate(response, text.substring(0, text.offsetByCodePoints(0, remaining))));
+            sink.complete();
+          });
+    });
+  }
+
+  // ##### 최대 문자 수를 얻는 메소드 #####
+  private int maxCharLength(ChatClientRequest request) {
     Integer maxCharLength = (Integer) request.context().get(MAX_CHAR_LENGTH);
-    if (maxCharLength != null) {
-      userText = maxCharLength + "자 이내로 답변해주세요.";
-    }
-    String finalUserText = userText;
-    
+    return maxCharLength != null ? maxCharLength : this.maxCharLength;
+  }
+
+  // 사용자 메시지 강화 + maxTokens 지정
+  private ChatClientRequest augmentPrompt(ChatClientRequest request, int maxCharLength) {
+    // 추가할 사용자 텍스트 얻기
+    String finalUserText = maxCharLength + "자 이내로 답변해주세요.";
+
     // 사용자 메시지를 강화한 Prompt 얻기
     Prompt originalPrompt = request.prompt();
     Prompt augmentedPrompt = originalPrompt.augmentUserMessage(
         userMessage -> UserMessage.builder()
             .text(userMessage.getText() + " " + finalUserText)
             .build());
+    ChatOptions options = withMaxTokens(augmentedPrompt.getOptions(), toMaxTokens(maxCharLength));
+    if (options != augmentedPrompt.getOptions()) {
+      augmentedPrompt = new Prompt(augmentedPrompt.getInstructions(), options);
+    }
 
     // 수정된 ChatClientRequest 얻기
     ChatClientRequest mutatedRequest = request.mutate()
@@ -65,4 +154,77 @@ public class MaxCharLengthAdvisor implements CallAdvisor {
         .build();
     return mutatedRequest;
   }
-}
\ No newline at end of file
+
+  // ##### 최대 문자 수를 토큰 수로 환산하는 메소드 #####
+  private int toMaxTokens(int maxCharLength) {
+    return (int) Math.ceil(maxCharLength / this.charsPerToken * TOKEN_HEADROOM);
+  }
+
+  private ChatOptions withMaxTokens(ChatOptions options, int maxTokens) {
+    OpenAiChatOptions openAiOptions;
+    if (options instanceof OpenAiChatOptions current) {
+      if (current.getMaxCompletionTokens() != null
+          || (current.getMaxTokens() != null && current.getMaxTokens() <= maxTokens)) {
+        return options;
+      }
+      openAiOptions = current.copy();
+    } else if (options != null) {
+      if (options.getMaxTokens() != null && options.getMaxTokens() <= maxTokens) {
+        return options;
+      }
+      openAiOptions = ModelOptionsUtils.copyToTarget(options, ChatOptions.class, OpenAiChatOptions.class);
+    } else {
+      openAiOptions = new OpenAiChatOptions();
+    }
+    openAiOptions.setMaxTokens(maxTokens);
+    return openAiOptions;
+  }
+
+  // ##### 실제 응답의 문자 수/출력 토큰 수로 환산 비율을 보정하는 메소드 #####
+  private void calibrate(String text, Usage usage) {
+    if (text == null || usage == null || usage.getCompletionTokens() == null
+        || usage.getCompletionTokens() < MIN_CALIBRATION_TOKENS) {
+      return;
+    }
+    // 영어나 코드 위주의 응답은 토큰당 문자 수가 달라서 한국어 환산 비율을 흐트러뜨리므로 제외
+    if (hangulRatio(text) < MIN_HANGUL_RATIO) {
+      log.debug("한글 비율이 낮은 응답은 토큰당 문자 수 보정에서 제외");
+      return;
+    }
+    double observed = (double) text.codePointCount(0, text.length()) / usage.getCompletionTokens();
+    double calibrated = this.charsPerToken * (1 - CALIBRATION_WEIGHT) + observed * CALIBRATION_WEIGHT;
+    this.charsPerToken = Math.max(MIN_CHARS_PER_TOKEN, Math.min(MAX_CHARS_PER_TOKEN, calibrated));
+    log.debug("토큰당 문자 수: 관측 {}, 보정 후 {}",
+        String.format("%.2f", observed), String.format("%.2f", this.charsPerToken));
+  }
+
+  private double hangulRatio(String text) {
+    long letters = text.codePoints().filter(Character::isLetter).count();
+    if (letters == 0) {
+      return 0;
+    }
+    long hangul = text.codePoints()
+        .filter(codePoint -> Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HANGUL)
+        .count();
+    return (double) hangul / letters;
+  }
+
+  private String text(ChatResponse chatResponse) {
+    if (chatResponse == null || chatResponse.getResult() == null) {
+      return null;
+    }
+    return chatResponse.getResult().getOutput().getText();
+  }
+
+  // 마지막 조각의 텍스트를 잘라낸 응답
+  private ChatClientResponse truncate(ChatClientResponse response, String text) {
+    ChatResponse chatResponse = response.chatResponse();
+    Generation generation = chatResponse.getResult();
+    return response.mutate()
+        .chatResponse(ChatResponse.builder()
+            .from(chatResponse)
+            .generations(List.of(new Generation(new AssistantMessage(text), generation.getMetadata())))
+            .build())
+        .build();
+  }
+}
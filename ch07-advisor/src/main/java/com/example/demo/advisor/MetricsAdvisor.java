@@ -0,0 +1,230 @@
+package com.example.demo.advisor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+/*
+ * LLM 호출의 지연 시간과 토큰 사용량을 Micrometer로 기록하는 Advisor
+ *  - ai.chat.latency: 전체 응답 시간 (mode=call|stream, outcome=success|error|cancel)
+ *  - ai.chat.ttft: 스트리밍에서 첫 번째 조각이 도착할 때까지의 시간
+ *  - ai.chat.tokens: 프롬프트/완성 토큰 수 (type=prompt|completion)
+ *    스트리밍은 응답에 사용량이 있어야 기록되므로 OpenAI는 stream-usage=true가 필요
+ *  - 공통 태그: model, endpoint, chain
+ *
+ * 요청마다 문자열을 만들지 않도록 Meter는 태그 조합별로 캐싱하고,
+ * 요청/응답 텍스트 로깅은 payloadSampleRate 비율로만 실행
+ * 가장 바깥쪽에서 측정하도록 order는 보통 HIGHEST_PRECEDENCE로 지정
+ */
+@Slf4j
+public class MetricsAdvisor implements CallAdvisor, StreamAdvisor {
+  // ##### 상수 #####
+  // 요청마다 엔드포인트 태그를 바꾸고 싶을 때 사용하는 Advisor 파라미터 이름
+  public static final String ENDPOINT = "metricsEndpoint";
+  private static final String UNKNOWN = "unknown";
+
+  // ##### 필드 #####
+  private final MeterRegistry meterRegistry;
+  private final String chain;
+  private final String defaultEndpoint;
+  private final double payloadSampleRate;
+  private final int order;
+  private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<TokenKey, Counter> tokenCounters = new ConcurrentHashMap<>();
+
+  private record TimerKey(String name, String model, String endpoint, String mode, String outcome) {
+  }
+
+  private record TokenKey(String model, String endpoint, String type) {
+  }
+
+  // ##### 생성자 #####
+  public MetricsAdvisor(
+      MeterRegistry meterRegistry, String chain, String defaultEndpoint,
+      double payloadSampleRate, int order) {
+    this.meterRegistry = meterRegistry;
+    this.chain = chain;
+    this.defaultEndpoint = defaultEndpoint;
+    this.payloadSampleRate = payloadSampleRate;
+    this.order = order;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public int getOrder() {
+    return this.order;
+  }
+
+  @Override
+  public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+    String endpoint = endpoint(request);
+    long start = System.nanoTime();
+    try {
+      ChatClientResponse response = chain.nextCall(request);
+      ChatResponse chatResponse = response.chatResponse();
+      String model = model(request, chatResponse);
+      timer("ai.chat.latency", model, endpoint, "call", "success")
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      if (chatResponse != null) {
+        recordUsage(model, endpoint, chatResponse.getMetadata().getUsage());
+      }
+      if (sampled()) {
+        log.debug("[{}] 질문: {} / 답변: {}", endpoint, request.prompt().getContents(),
+            chatResponse != null ? chatResponse.getResult().getOutput().getText() : null);
+      }
+      return response;
+    } catch (RuntimeException e) {
+      timer("ai.chat.latency", model(request, null), endpoint, "call", "error")
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    // 구독할 때마다 시작 시간과 상태를 새로 만듦
+    return Flux.defer(() -> {
+      String endpoint = endpoint(request);
+      StreamState state = new StreamState(System.nanoTime(), model(request, null), sampled());
+      return chain.nextStream(request)
+          .doOnNext(response -> state.onChunk(response.chatResponse(), endpoint))
+          .doFinally(signal -> state.onFinally(signal, request, endpoint));
+    });
+  }
+
+  // ##### 스트림 하나의 측정 상태 #####
+  private class StreamState {
+    private final long start;
+    private final boolean sampled;
+    private final StringBuilder payload;
+    private String model;
+    private boolean firstChunk = true;
+    private Usage usage;
+
+    StreamState(long start, String model, boolean sampled) {
+      this.start = start;
+      this.model = model;
+      this.sampled = sampled;
+      this.payload = sampled ? new StringBuilder() : null;
+    }
+
+    void onChunk(ChatResponse chatResponse, String endpoint) {
+      if (chatResponse == null) {
+        return;
+      }
+      if (chatResponse.getMetadata().getModel() != null && !chatResponse.getMetadata().getModel().isEmpty()) {
+        model = chatResponse.getMetadata().getModel();
+      }
+      if (firstChunk) {
+        firstChunk = false;
+        timer("ai.chat.ttft", model, endpoint, "stream", "success")
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+      // 사용량은 보통 마지막 조각에만 들어 있음 (stream-usage 옵션)
+      Usage chunkUsage = chatResponse.getMetadata().getUsage();
+      if (chunkUsage != null && chunkUsage.getTotalTokens() != null && chunkUsage.getTotalTokens() > 0) {
+        usage = chunkUsage;
+      }
+      if (sampled && chatResponse.getResult() != null && chatResponse.getResult().getOutput().getText() != null) {
+        payload.append(chatResponse.getResult().getOutput().getText());
+      }
+    }
+
+    void onFinally(SignalType signal, ChatClientRequest request, String endpoint) {
+      String outcome = switch (signal) {
+        case ON_COMPLETE -> "success";
+        case ON_ERROR -> "error";
+        default -> "cancel";
+      };
+      timer("ai.chat.latency", model, endpoint, "stream", outcome)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      recordUsage(model, endpoint, usage);
+      if (sampled) {
+        log.debug("[{}] 질문: {} / 답변: {}", endpoint, request.prompt().getContents(), payload);
+      }
+    }
+  }
+
+  // ##### 토큰 사용량을 기록하는 메소드 #####
+  private void recordUsage(String model, String endpoint, Usage usage) {
+    if (usage == null) {
+      return;
+    }
+    if (usage.getPromptTokens() != null && usage.getPromptTokens() > 0) {
+      tokenCounter(model, endpoint, "prompt").increment(usage.getPromptTokens());
+    }
+    if (usage.getCompletionTokens() != null && usage.getCompletionTokens() > 0) {
+      tokenCounter(model, endpoint, "completion").increment(usage.getCompletionTokens());
+    }
+  }
+
+  // ##### 태그 조합별로 캐싱된 Meter를 반환하는 메소드 #####
+  private Timer timer(String name, String model, String endpoint, String mode, String outcome) {
+    return timers.computeIfAbsent(new TimerKey(name, model, endpoint, mode, outcome),
+        key -> Timer.builder(key.name())
+            .tag("model", key.model())
+            .tag("endpoint", key.endpoint())
+            .tag("chain", chain)
+            .tag("mode", key.mode())
+            .tag("outcome", key.outcome())
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry));
+  }
+
+  private Counter tokenCounter(String model, String endpoint, String type) {
+    return tokenCounters.computeIfAbsent(new TokenKey(model, endpoint, type),
+        key -> Counter.builder("ai.chat.tokens")
+            .tag("model", key.model())
+            .tag("endpoint", key.endpoint())
+            .tag("chain", chain)
+            .tag("type", key.type())
+            .register(meterRegistry));
+  }
+
+  // ##### 태그 값을 구하는 메소드 #####
+  private String endpoint(ChatClientRequest request) {
+    Object endpoint = request.context().get(ENDPOINT);
+    return endpoint != null ? endpoint.toString() : defaultEndpoint;
+  }
+
+  private String model(ChatClientRequest request, ChatResponse chatResponse) {
+    if (chatResponse != null && chatResponse.getMetadata().getModel() != null
+        && !chatResponse.getMetadata().getModel().isEmpty()) {
+      return chatResponse.getMetadata().getModel();
+    }
+    ChatOptions options = request.prompt().getOptions();
+    if (options != null && options.getModel() != null) {
+      return options.getModel();
+    }
+    return UNKNOWN;
+  }
+
+  private boolean sampled() {
+    return payloadSampleRate > 0
+        && log.isDebugEnabled()
+        && ThreadLocalRandom.current().nextDouble() < payloadSampleRate;
+  }
+}
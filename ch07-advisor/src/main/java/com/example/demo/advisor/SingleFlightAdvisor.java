@@ -0,0 +1,195 @@
+package com.example.demo.advisor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.core.Ordered;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/*
+ * 동시에 들어온 같은 요청을 LLM 호출 한 번으로 합치는(single-flight) Advisor
+ *  - 키: 최종 프롬프트(메시지 타입 + 텍스트 + 메타데이터)와 옵션(JSON)
+ *  - 합치지 않는 요청: 이미지 등 미디어 포함, 도구 호출(도구/toolContext 지정, 도구 응답 메시지)
+ *    (미디어와 도구는 옵션 JSON에 나타나지 않아서 키로 구분할 수 없음)
+ *  - 동기 호출: 먼저 온 요청(리더)만 LLM을 호출하고, 나머지는 리더의 결과(또는 예외)를 공유
+ *  - 스트리밍: 리더의 스트림을 replay로 공유해서 늦게 합류한 요청도 처음 조각부터 받음
+ *  - 진행 중 맵의 항목은 완료/에러/취소 시점에 자기 자신일 때만 제거하므로 남지 않음
+ *    (스트리밍은 구독자가 모두 취소하면 LLM 스트림도 취소되고 항목이 제거됨)
+ * 다른 Advisor가 프롬프트를 모두 바꾼 뒤의 요청으로 비교하도록 LLM 호출 바로 앞에서 실행
+ */
+@Slf4j
+public class SingleFlightAdvisor implements CallAdvisor, StreamAdvisor {
+  // ##### 필드 #####
+  private final int order;
+  private final Map<Key, CompletableFuture<ChatClientResponse>> inFlightCalls = new ConcurrentHashMap<>();
+  private final Map<Key, Flux<ChatClientResponse>> inFlightStreams = new ConcurrentHashMap<>();
+  private final LongAdder coalesced = new LongAdder();
+
+  private record Key(String prompt, String options) {
+  }
+
+  // ##### 생성자 #####
+  public SingleFlightAdvisor() {
+    this(Ordered.LOWEST_PRECEDENCE - 2);
+  }
+
+  public SingleFlightAdvisor(int order) {
+    this.order = order;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public int getOrder() {
+    return this.order;
+  }
+
+  // 다른 요청의 결과를 공유받은 횟수
+  public long getCoalescedCount() {
+    return coalesced.sum();
+  }
+
+  // 진행 중인 요청(동기 호출 + 스트리밍) 수
+  public int getInFlightCount() {
+    return inFlightCalls.size() + inFlightStreams.size();
+  }
+
+  @Override
+  public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+    if (!isCoalescable(request)) {
+      return chain.nextCall(request);
+    }
+    Key key = keyOf(request);
+    CompletableFuture<ChatClientResponse> mine = new CompletableFuture<>();
+    CompletableFuture<ChatClientResponse> leader = inFlightCalls.putIfAbsent(key, mine);
+
+    // 같은 요청이 진행 중이면 그 결과를 기다림
+    if (leader != null) {
+      coalesced.increment();
+      log.debug("진행 중인 요청과 합침");
+      return withContext(await(leader), request);
+    }
+
+    // 리더: LLM을 호출하고 기다리는 요청들에게 결과를 전달
+    try {
+      ChatClientResponse response = chain.nextCall(request);
+      mine.complete(response);
+      return response;
+    } catch (RuntimeException | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightCalls.remove(key, mine);
+    }
+  }
+
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    return Flux.defer(() -> {
+      if (!isCoalescable(request)) {
+        return chain.nextStream(request);
+      }
+      Key key = keyOf(request);
+      AtomicReference<Flux<ChatClientResponse>> self = new AtomicReference<>();
+      Runnable release = () -> inFlightStreams.remove(key, self.get());
+
+      // 구독될 때까지 LLM을 호출하지 않는 공유 스트림
+      //  - 종료/취소 신호가 구독자에게 전달되기 전에 맵에서 제거해서 끝난 스트림에 합류하지 않게 함
+      //  - refCount(1): 구독자가 모두 취소하면 LLM 스트림도 취소
+      Flux<ChatClientResponse> candidate = Flux.defer(() -> chain.nextStream(request))
+          .doOnTerminate(release)
+          .doOnCancel(release)
+          .replay()
+          .refCount(1);
+      self.set(candidate);
+
+      Flux<ChatClientResponse> leader = inFlightStreams.putIfAbsent(key, candidate);
+      if (leader == null) {
+        return candidate;
+      }
+      coalesced.increment();
+      log.debug("진행 중인 스트림과 합침");
+      return leader.map(response -> withContext(response, request));
+    });
+  }
+
+  // ##### 합쳐도 되는 요청인지 확인하는 메소드 #####
+  private boolean isCoalescable(ChatClientRequest request) {
+    Prompt prompt = request.prompt();
+    if (prompt.getOptions() instanceof ToolCallingChatOptions toolOptions
+        && (!toolOptions.getToolCallbacks().isEmpty() || !toolOptions.getToolNames().isEmpty()
+            || !toolOptions.getToolContext().isEmpty())) {
+      return false;
+    }
+    for (Message message : prompt.getInstructions()) {
+      if (message.getMessageType() == MessageType.TOOL) {
+        return false;
+      }
+      if (message instanceof UserMessage userMessage && !userMessage.getMedia().isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // ##### 요청 키를 만드는 메소드 #####
+  private Key keyOf(ChatClientRequest request) {
+    Prompt prompt = request.prompt();
+    StringBuilder rendered = new StringBuilder();
+    for (Message message : prompt.getInstructions()) {
+      rendered.append(message.getMessageType().getValue())
+          .append('\u0000')
+          .append(message.getText())
+          .append('\u0000')
+          .append(new TreeMap<>(message.getMetadata()))
+          .append('\u0001');
+    }
+    String options = prompt.getOptions() != null ? ModelOptionsUtils.toJsonString(prompt.getOptions()) : "";
+    return new Key(rendered.toString(), options);
+  }
+
+  private ChatClientResponse await(CompletableFuture<ChatClientResponse> leader) {
+    try {
+      return leader.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("진행 중인 요청을 기다리다 중단되었습니다.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  // 공유받은 응답에 자신의 요청 컨텍스트를 붙임
+  private ChatClientResponse withContext(ChatClientResponse response, ChatClientRequest request) {
+    return response.mutate().context(request.context()).build();
+  }
+}
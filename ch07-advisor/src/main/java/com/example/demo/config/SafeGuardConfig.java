@@ -0,0 +1,87 @@
+package com.example.demo.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.demo.advisor.KeywordGuardAdvisor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 금칙어 검사 Advisor 구성
+ *  - 금칙어 파일: 한 줄에 하나, #으로 시작하는 줄은 주석
+ *  - 파일이 바뀌면(lastModified) 주기적으로 다시 읽어서 매처를 교체 (파일 시스템 경로일 때 유효)
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class SafeGuardConfig {
+  // ##### 필드 #####
+  @Value("${app.safe-guard.words-location:classpath:safe-guard-words.txt}")
+  private Resource wordsResource;
+  @Value("${app.safe-guard.failure-response:해당 질문은 민감한 콘텐츠 요청이므로 응답할 수 없습니다.}")
+  private String failureResponse;
+
+  private KeywordGuardAdvisor keywordGuardAdvisor;
+  private long lastModified;
+
+  // ##### 공유되는 금칙어 검사 Advisor #####
+  @Bean
+  public KeywordGuardAdvisor keywordGuardAdvisor() throws IOException {
+    lastModified = lastModified();
+    keywordGuardAdvisor = new KeywordGuardAdvisor(
+        readWords(), failureResponse, Ordered.HIGHEST_PRECEDENCE);
+    return keywordGuardAdvisor;
+  }
+
+  // ##### 금칙어 파일이 바뀌었으면 다시 읽는 메소드 #####
+  @Scheduled(
+      fixedDelayString = "${app.safe-guard.reload-interval:30s}",
+      initialDelayString = "${app.safe-guard.reload-interval:30s}")
+  public void reloadIfModified() {
+    if (keywordGuardAdvisor == null) {
+      return;
+    }
+    long modified = lastModified();
+    if (modified == lastModified) {
+      return;
+    }
+    try {
+      keywordGuardAdvisor.reload(readWords());
+      lastModified = modified;
+    } catch (IOException e) {
+      // 읽기에 실패하면 기존 목록을 계속 사용
+      log.warn("금칙어 파일을 읽지 못했습니다: {}", e.getMessage());
+    }
+  }
+
+  private List<String> readWords() throws IOException {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(wordsResource.getInputStream(), StandardCharsets.UTF_8))) {
+      return reader.lines()
+          .map(String::strip)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+          .toList();
+    }
+  }
+
+  private long lastModified() {
+    try {
+      return wordsResource.lastModified();
+    } catch (IOException e) {
+      // jar 안의 리소스 등 수정 시간을 알 수 없으면 다시 읽지 않음
+      return 0;
+    }
+  }
+}
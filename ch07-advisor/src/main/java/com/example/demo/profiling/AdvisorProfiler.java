@@ -0,0 +1,115 @@
+package com.example.demo.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.stereotype.Component;
+
+/*
+ * Advisor 체인의 Advisor별 실행 시간을 모으는 프로파일러
+ *  - profile(): ChatClient에 등록할 Advisor들을 ProfilingAdvisor로 감쌈
+ *    (주입받은 ChatClient.Builder는 ProfilingChatClientBuilderPostProcessor가 자동으로 호출하므로
+ *     직접 만든 ChatClient.builder(chatModel)에 등록할 때만 직접 호출)
+ *  - 호출 경로(예: AdvisorA;AdvisorB;AdvisorC)별로 호출 수, 전체/하위/자체 시간을 누적
+ *  - 프로파일링되지 않은 하위 단계(LLM 호출 등)는 경로 끝에 "(unprofiled)"로 기록
+ *  - 스트리밍은 구독부터 완료까지를 재므로 자체 시간은 조각 처리 시간의 근사값
+ * 결과는 /actuator/advisorprofile 에서 확인 (AdvisorProfilerEndpoint)
+ */
+@Component
+public class AdvisorProfiler {
+  // ##### 상수 #####
+  public static final String UNPROFILED = "(unprofiled)";
+
+  // ##### 필드 #####
+  private final Map<StatsKey, Stats> stats = new ConcurrentHashMap<>();
+
+  private record StatsKey(String mode, String path) {
+  }
+
+  private static class Stats {
+    final LongAdder count = new LongAdder();
+    final LongAdder totalNanos = new LongAdder();
+    final LongAdder downstreamNanos = new LongAdder();
+  }
+
+  // ##### 조회 결과 #####
+  public record AdvisorTiming(
+      String mode, String path, long count,
+      double avgTotalMs, double avgSelfMs, double avgDownstreamMs, double totalSelfMs) {
+  }
+
+  // ##### Advisor들을 프로파일링 래퍼로 감싸는 메소드 #####
+  public List<Advisor> profile(Advisor... advisors) {
+    List<Advisor> profiled = new ArrayList<>(advisors.length);
+    for (Advisor advisor : advisors) {
+      profiled.add(ProfilingAdvisor.of(advisor, this));
+    }
+    return profiled;
+  }
+
+  // ##### ProfilingAdvisor가 측정한 시간을 누적하는 메소드 #####
+  void record(String mode, String path, long totalNanos, long downstreamNanos, long profiledChildNanos) {
+    Stats advisorStats = stats.computeIfAbsent(new StatsKey(mode, path), key -> new Stats());
+    advisorStats.count.increment();
+    advisorStats.totalNanos.add(totalNanos);
+    advisorStats.downstreamNanos.add(downstreamNanos);
+
+    // 하위 시간 중 프로파일링된 Advisor가 설명하지 못하는 부분
+    long unprofiledNanos = downstreamNanos - profiledChildNanos;
+    if (unprofiledNanos > 0) {
+      Stats unprofiledStats = stats.computeIfAbsent(
+          new StatsKey(mode, path + ";" + UNPROFILED), key -> new Stats());
+      unprofiledStats.count.increment();
+      unprofiledStats.totalNanos.add(unprofiledNanos);
+    }
+  }
+
+  // ##### 경로별 실행 시간 목록을 반환하는 메소드 (자체 시간 합계가 큰 순서) #####
+  public List<AdvisorTiming> timings() {
+    List<AdvisorTiming> timings = new ArrayList<>();
+    stats.forEach((key, value) -> {
+      long count = value.count.sum();
+      if (count == 0) {
+        return;
+      }
+      long total = value.totalNanos.sum();
+      long downstream = value.downstreamNanos.sum();
+      long self = Math.max(0, total - downstream);
+      timings.add(new AdvisorTiming(
+          key.mode(), key.path(), count,
+          toMillis(total) / count, toMillis(self) / count, toMillis(downstream) / count,
+          toMillis(self)));
+    });
+    timings.sort(Comparator.comparingDouble(AdvisorTiming::totalSelfMs).reversed());
+    return timings;
+  }
+
+  // ##### flamegraph.pl 등에서 읽을 수 있는 collapsed stack 형식 (경로 자체시간μs) #####
+  public List<String> flameGraph(String mode) {
+    List<String> lines = new ArrayList<>();
+    stats.forEach((key, value) -> {
+      if (!key.mode().equals(mode)) {
+        return;
+      }
+      long self = Math.max(0, value.totalNanos.sum() - value.downstreamNanos.sum());
+      lines.add(key.path() + " " + TimeUnit.NANOSECONDS.toMicros(self));
+    });
+    lines.sort(null);
+    return lines;
+  }
+
+  // ##### 누적된 시간을 초기화하는 메소드 #####
+  public void reset() {
+    stats.clear();
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.profiling;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/*
+ * Advisor별 실행 시간을 보여 주는 Actuator 엔드포인트
+ *  - GET /actuator/advisorprofile: 경로별 시간과 call/stream 별 collapsed stack
+ *  - DELETE /actuator/advisorprofile: 누적된 시간 초기화
+ */
+@Component
+@Endpoint(id = "advisorprofile")
+public class AdvisorProfilerEndpoint {
+  // ##### 필드 #####
+  private final AdvisorProfiler advisorProfiler;
+
+  // ##### 생성자 #####
+  public AdvisorProfilerEndpoint(AdvisorProfiler advisorProfiler) {
+    this.advisorProfiler = advisorProfiler;
+  }
+
+  // ##### 메소드 #####
+  @ReadOperation
+  public Map<String, Object> profile() {
+    Map<String, Object> profile = new LinkedHashMap<>();
+    profile.put("advisors", advisorProfiler.timings());
+    profile.put("flameGraph", Map.of(
+        "call", advisorProfiler.flameGraph("call"),
+        "stream", advisorProfiler.flameGraph("stream")));
+    return profile;
+  }
+
+  @DeleteOperation
+  public void reset() {
+    advisorProfiler.reset();
+  }
+}
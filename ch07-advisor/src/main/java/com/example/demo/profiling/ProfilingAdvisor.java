@@ -0,0 +1,223 @@
+package com.example.demo.profiling;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+
+import reactor.core.publisher.Flux;
+
+/*
+ * Advisor 하나를 감싸서 실행 시간을 AdvisorProfiler에 기록하는 래퍼
+ *  - 전체 시간: 감싼 Advisor의 adviseCall()/adviseStream() 실행 시간
+ *  - 하위 시간: 감싼 Advisor가 호출한 chain.nextCall()/nextStream() 실행 시간
+ *  - 자체 시간 = 전체 시간 - 하위 시간
+ * 이름과 순서는 감싼 Advisor의 것을 그대로 사용하므로 체인 안의 위치는 바뀌지 않음
+ * 감싼 Advisor가 구현한 인터페이스만 구현하도록 Call/Stream/CallStream 하위 클래스로 생성
+ */
+public abstract class ProfilingAdvisor implements Advisor {
+  // ##### 상수 #####
+  // 요청 컨텍스트에 현재 프레임을 넣을 때 사용하는 키
+  static final String FRAME = ProfilingAdvisor.class.getName() + ".frame";
+
+  // ##### 필드 #####
+  protected final Advisor delegate;
+  protected final AdvisorProfiler profiler;
+
+  // ##### 생성자 #####
+  protected ProfilingAdvisor(Advisor delegate, AdvisorProfiler profiler) {
+    this.delegate = delegate;
+    this.profiler = profiler;
+  }
+
+  // ##### 감싼 Advisor에 맞는 래퍼를 생성하는 메소드 #####
+  static Advisor of(Advisor delegate, AdvisorProfiler profiler) {
+    if (delegate instanceof ProfilingAdvisor) {
+      return delegate;
+    }
+    boolean call = delegate instanceof CallAdvisor;
+    boolean stream = delegate instanceof StreamAdvisor;
+    if (call && stream) {
+      return new CallStream(delegate, profiler);
+    }
+    if (call) {
+      return new Call(delegate, profiler);
+    }
+    if (stream) {
+      return new Stream(delegate, profiler);
+    }
+    return delegate;
+  }
+
+  // ##### 실행 중인 Advisor 하나의 정보 #####
+  static class Frame {
+    final String path;
+    // 프로파일링된 하위 Advisor들의 전체 시간 합계
+    final LongAdder profiledChildNanos = new LongAdder();
+
+    Frame(String path) {
+      this.path = path;
+    }
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public int getOrder() {
+    return delegate.getOrder();
+  }
+
+  // 상위 프레임(요청 컨텍스트)의 경로 뒤에 현재 Advisor 이름을 붙인 프레임 생성
+  private Frame enter(ChatClientRequest request) {
+    Frame parent = (Frame) request.context().get(FRAME);
+    String path = parent == null ? getName() : parent.path + ";" + getName();
+    return new Frame(path);
+  }
+
+  // 시간을 기록하고 상위 프레임에 현재 Advisor의 전체 시간을 더함
+  private void exit(ChatClientRequest request, Frame frame, String mode, long totalNanos, long downstreamNanos) {
+    profiler.record(mode, frame.path, totalNanos, downstreamNanos, frame.profiledChildNanos.sum());
+    Frame parent = (Frame) request.context().get(FRAME);
+    if (parent != null) {
+      parent.profiledChildNanos.add(totalNanos);
+    }
+  }
+
+  protected ChatClientResponse profileCall(ChatClientRequest request, CallAdvisorChain chain) {
+    Frame frame = enter(request);
+    ChatClientRequest framedRequest = request.mutate().context(FRAME, frame).build();
+    TimedCallAdvisorChain timedChain = new TimedCallAdvisorChain(chain);
+    long start = System.nanoTime();
+    try {
+      return ((CallAdvisor) delegate).adviseCall(framedRequest, timedChain);
+    } finally {
+      exit(request, frame, "call", System.nanoTime() - start, timedChain.downstreamNanos);
+    }
+  }
+
+  protected Flux<ChatClientResponse> profileStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    // 구독할 때 측정을 시작하고 스트림이 끝나거나 취소될 때 기록
+    return Flux.defer(() -> {
+      Frame frame = enter(request);
+      ChatClientRequest framedRequest = request.mutate().context(FRAME, frame).build();
+      TimedStreamAdvisorChain timedChain = new TimedStreamAdvisorChain(chain);
+      long start = System.nanoTime();
+      return ((StreamAdvisor) delegate).adviseStream(framedRequest, timedChain)
+          .doFinally(signal -> exit(
+              request, frame, "stream", System.nanoTime() - start, timedChain.downstreamNanos.sum()));
+    });
+  }
+
+  // ##### 하위 호출 시간을 재는 체인 #####
+  private static class TimedCallAdvisorChain implements CallAdvisorChain {
+    private final CallAdvisorChain chain;
+    private long downstreamNanos;
+
+    TimedCallAdvisorChain(CallAdvisorChain chain) {
+      this.chain = chain;
+    }
+
+    @Override
+    public ChatClientResponse nextCall(ChatClientRequest request) {
+      long start = System.nanoTime();
+      try {
+        return chain.nextCall(request);
+      } finally {
+        downstreamNanos += System.nanoTime() - start;
+      }
+    }
+
+    @Override
+    public List<CallAdvisor> getCallAdvisors() {
+      return chain.getCallAdvisors();
+    }
+
+    @Override
+    public CallAdvisorChain copy(CallAdvisor after) {
+      return chain.copy(after);
+    }
+  }
+
+  private static class TimedStreamAdvisorChain implements StreamAdvisorChain {
+    private final StreamAdvisorChain chain;
+    private final LongAdder downstreamNanos = new LongAdder();
+
+    TimedStreamAdvisorChain(StreamAdvisorChain chain) {
+      this.chain = chain;
+    }
+
+    // 하위 스트림의 종료 신호(완료/오류/취소)에서 기록
+    // doFinally는 신호가 바깥까지 전달된 뒤 실행되어 바깥 래퍼의 doFinally보다 늦으므로 사용하지 않음
+    @Override
+    public Flux<ChatClientResponse> nextStream(ChatClientRequest request) {
+      return Flux.defer(() -> {
+        long start = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable record = () -> {
+          if (recorded.compareAndSet(false, true)) {
+            downstreamNanos.add(System.nanoTime() - start);
+          }
+        };
+        return chain.nextStream(request)
+            .doOnComplete(record)
+            .doOnError(error -> record.run())
+            .doOnCancel(record);
+      });
+    }
+
+    @Override
+    public List<StreamAdvisor> getStreamAdvisors() {
+      return chain.getStreamAdvisors();
+    }
+  }
+
+  // ##### 감싼 Advisor의 인터페이스별 래퍼 #####
+  static final class Call extends ProfilingAdvisor implements CallAdvisor {
+    Call(Advisor delegate, AdvisorProfiler profiler) {
+      super(delegate, profiler);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+      return profileCall(request, chain);
+    }
+  }
+
+  static final class Stream extends ProfilingAdvisor implements StreamAdvisor {
+    Stream(Advisor delegate, AdvisorProfiler profiler) {
+      super(delegate, profiler);
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+      return profileStream(request, chain);
+    }
+  }
+
+  static final class CallStream extends ProfilingAdvisor implements CallAdvisor, StreamAdvisor {
+    CallStream(Advisor delegate, AdvisorProfiler profiler) {
+      super(delegate, profiler);
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+      return profileCall(request, chain);
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+      return profileStream(request, chain);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.profiling;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/*
+ * 주입되는 모든 ChatClient.Builder의 Advisor를 AdvisorProfiler로 감싸는 후처리기
+ *  - 서비스마다 advisorProfiler.profile()로 감싸지 않아도 모든 ChatClient의 Advisor가 프로파일링됨
+ *  - 감싸는 곳: Builder.defaultAdvisors(...), ChatClientRequestSpec.advisors(...),
+ *    그리고 두 메소드에 Consumer<AdvisorSpec>로 전달한 AdvisorSpec.advisors(...)
+ *  - Builder가 만든 ChatClient, ChatClientRequestSpec, clone()/mutate()로 만든 Builder도 같은 방식으로 감쌈
+ *  - ChatClient.builder(chatModel)로 직접 만든 Builder는 빈이 아니므로 감싸지 않음
+ */
+@Component
+public class ProfilingChatClientBuilderPostProcessor implements BeanPostProcessor {
+  // ##### 상수 #####
+  // 반환값을 다시 감쌀 인터페이스 (Advisor를 추가할 수 있는 단계)
+  private static final Set<Class<?>> WRAPPED_TYPES = Set.of(
+      ChatClient.Builder.class,
+      ChatClient.class,
+      ChatClient.ChatClientRequestSpec.class,
+      ChatClient.AdvisorSpec.class);
+  private static final Set<String> ADVISOR_METHODS = Set.of("defaultAdvisors", "advisors");
+
+  // ##### 필드 #####
+  // 후처리기는 다른 빈보다 먼저 만들어지므로 AdvisorProfiler는 사용할 때 조회
+  private final ObjectProvider<AdvisorProfiler> advisorProfiler;
+
+  // ##### 생성자 #####
+  public ProfilingChatClientBuilderPostProcessor(ObjectProvider<AdvisorProfiler> advisorProfiler) {
+    this.advisorProfiler = advisorProfiler;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof ChatClient.Builder builder) {
+      return wrap(ChatClient.Builder.class, builder);
+    }
+    return bean;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T wrap(Class<T> type, T target) {
+    if (Proxy.isProxyClass(target.getClass())
+        && Proxy.getInvocationHandler(target) instanceof ProfilingHandler) {
+      return target;
+    }
+    return (T) Proxy.newProxyInstance(
+        type.getClassLoader(), new Class<?>[] { type }, new ProfilingHandler(target));
+  }
+
+  // ##### Advisor 인자를 감싸고, 반환된 단계 객체도 다시 감싸는 핸들러 #####
+  private class ProfilingHandler implements InvocationHandler {
+    private final Object target;
+
+    ProfilingHandler(Object target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (args != null && ADVISOR_METHODS.contains(method.getName())) {
+        args = profileArgs(args);
+      }
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+      if (result == target) {
+        // 빌더 메소드 체이닝이 계속 프록시를 거치도록 자기 자신을 반환
+        return proxy;
+      }
+      if (result != null && WRAPPED_TYPES.contains(method.getReturnType())) {
+        return wrapResult(method.getReturnType(), result);
+      }
+      return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] profileArgs(Object[] args) {
+      Object[] profiled = args.clone();
+      for (int i = 0; i < profiled.length; i++) {
+        if (profiled[i] instanceof Advisor[] advisors) {
+          profiled[i] = advisorProfiler.getObject().profile(advisors).toArray(Advisor[]::new);
+        } else if (profiled[i] instanceof List<?> advisors) {
+          profiled[i] = advisorProfiler.getObject().profile(advisors.toArray(Advisor[]::new));
+        } else if (profiled[i] instanceof Consumer<?> consumer) {
+          Consumer<ChatClient.AdvisorSpec> specConsumer = (Consumer<ChatClient.AdvisorSpec>) consumer;
+          profiled[i] = (Consumer<ChatClient.AdvisorSpec>) spec ->
+              specConsumer.accept(wrap(ChatClient.AdvisorSpec.class, spec));
+        }
+      }
+      return profiled;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Object wrapResult(Class<T> type, Object result) {
+      return wrap(type, (T) result);
+    }
+  }
+}
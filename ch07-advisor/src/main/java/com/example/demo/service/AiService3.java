@@ -2,11 +2,15 @@ package com.example.demo.service;
 
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.advisor.MaxCharLengthAdvisor;
+import com.example.demo.advisor.MetricsAdvisor;
+import com.example.demo.advisor.SingleFlightAdvisor;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -16,11 +20,19 @@ public class AiService3 {
   private ChatClient chatClient;
 
   // ##### 생성자 #####
-  public AiService3(ChatClient.Builder chatClientBuilder) {
+  public AiService3(
+      ChatClient.Builder chatClientBuilder,
+      MeterRegistry meterRegistry,
+      @Value("${app.advisor.metrics.payload-sample-rate:0.01}") double payloadSampleRate) {
     this.chatClient = chatClientBuilder
         .defaultAdvisors(
-            new MaxCharLengthAdvisor(Ordered.HIGHEST_PRECEDENCE),
-            new SimpleLoggerAdvisor(Ordered.LOWEST_PRECEDENCE-1)
+            // 가장 바깥쪽에서 지연 시간과 토큰 사용량 측정
+            new MetricsAdvisor(meterRegistry, "logging", "/advisor-logging",
+                payloadSampleRate, Ordered.HIGHEST_PRECEDENCE),
+            new MaxCharLengthAdvisor(Ordered.HIGHEST_PRECEDENCE + 1),
+            new SimpleLoggerAdvisor(Ordered.LOWEST_PRECEDENCE-2),
+            // 동시에 들어온 같은 질문은 LLM 호출 한 번으로 합침 (LLM 호출 바로 앞에서 실행)
+            new SingleFlightAdvisor(Ordered.LOWEST_PRECEDENCE-1)
         )
         .build();
   }
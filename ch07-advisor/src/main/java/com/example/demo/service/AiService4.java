@@ -1,12 +1,10 @@
 package com.example.demo.service;
 
-import java.util.List;
-
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.SafeGuardAdvisor;
-import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.advisor.KeywordGuardAdvisor;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -16,15 +14,10 @@ public class AiService4 {
   private ChatClient chatClient;
 
   // ##### 생성자 #####
-  public AiService4(ChatClient.Builder chatClientBuilder) {
-    SafeGuardAdvisor safeGuardAdvisor = new SafeGuardAdvisor(
-        List.of("욕설", "계좌번호", "폭력", "폭탄"),
-        "해당 질문은 민감한 콘텐츠 요청이므로 응답할 수 없습니다.",
-        Ordered.HIGHEST_PRECEDENCE
-    );
-    
+  // 금칙어 목록은 safe-guard-words.txt에서 읽어서 컴파일한 공유 Advisor 사용 (SafeGuardConfig)
+  public AiService4(ChatClient.Builder chatClientBuilder, KeywordGuardAdvisor keywordGuardAdvisor) {
     this.chatClient = chatClientBuilder
-        .defaultAdvisors(safeGuardAdvisor)
+        .defaultAdvisors(keywordGuardAdvisor)
         .build();
   }
 
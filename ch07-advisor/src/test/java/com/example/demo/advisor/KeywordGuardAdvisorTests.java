@@ -0,0 +1,93 @@
+package com.example.demo.advisor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class KeywordGuardAdvisorTests {
+  // ##### 상수 #####
+  private static final String FAILURE = "차단되었습니다.";
+
+  // ##### LLM 역할을 하는 체인 (정해진 조각을 순서대로 보냄) #####
+  static class StubStreamChain implements StreamAdvisorChain {
+    private final Flux<ChatClientResponse> upstream;
+
+    StubStreamChain(String... chunks) {
+      this.upstream = Flux.fromArray(chunks).map(KeywordGuardAdvisorTests::response);
+    }
+
+    @Override
+    public Flux<ChatClientResponse> nextStream(ChatClientRequest request) {
+      return upstream;
+    }
+
+    @Override
+    public List<StreamAdvisor> getStreamAdvisors() {
+      return List.of();
+    }
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void wordEndingAtChunkEndIsNotSentBeforeRefusal() {
+    KeywordGuardAdvisor advisor = new KeywordGuardAdvisor(List.of("폭탄"), FAILURE, 0);
+
+    // 금칙어가 두 번째 조각 끝에서 완성되고 그 뒤에 조각이 더 있음
+    StepVerifier.create(advisor.adviseStream(request(), new StubStreamChain("이건 폭", "탄", " 입니다"))
+            .map(KeywordGuardAdvisorTests::text))
+        .expectNext("이건 ", "폭", FAILURE)
+        .verifyComplete();
+  }
+
+  @Test
+  void wordEndingAtLastChunkIsCheckedOnCompletion() {
+    KeywordGuardAdvisor advisor = new KeywordGuardAdvisor(List.of("폭탄"), FAILURE, 0);
+
+    StepVerifier.create(advisor.adviseStream(request(), new StubStreamChain("이건 폭", "탄"))
+            .map(KeywordGuardAdvisorTests::text))
+        .expectNext("이건 ", "폭", FAILURE)
+        .verifyComplete();
+  }
+
+  @Test
+  void heldBackTextIsReleasedWhenClean() {
+    KeywordGuardAdvisor advisor = new KeywordGuardAdvisor(List.of("폭탄"), FAILURE, 0);
+
+    StepVerifier.create(advisor.adviseStream(request(), new StubStreamChain("안녕", "하세요", "!"))
+            .map(KeywordGuardAdvisorTests::text)
+            .collectList())
+        .assertNext(chunks -> {
+          assertThat(String.join("", chunks)).isEqualTo("안녕하세요!");
+          assertThat(chunks).doesNotContain(FAILURE);
+        })
+        .verifyComplete();
+  }
+
+  // ##### 도우미 메소드 #####
+  private static ChatClientRequest request() {
+    return ChatClientRequest.builder().prompt(new Prompt("서울 맛집 추천")).build();
+  }
+
+  private static ChatClientResponse response(String text) {
+    return ChatClientResponse.builder()
+        .chatResponse(new ChatResponse(List.of(new Generation(new AssistantMessage(text)))))
+        .build();
+  }
+
+  private static String text(ChatClientResponse response) {
+    return response.chatResponse().getResult().getOutput().getText();
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.advisor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class KeywordMatcherTests {
+  // ##### 테스트 #####
+  @Test
+  void followsFailureLinks() {
+    KeywordMatcher matcher = KeywordMatcher.compile(List.of("he", "she", "his", "hers"));
+
+    // "ush"에서 "she"로 가는 경로가 끊기면 실패 링크로 "he"를 이어서 찾음
+    assertThat(matcher.findFirst("ushers")).isEqualTo("she");
+    assertThat(matcher.findFirst("ahishers")).isEqualTo("his");
+    assertThat(matcher.findFirst("hxhers")).isEqualTo("he");
+    assertThat(matcher.matches("sxhxsx")).isFalse();
+  }
+
+  @Test
+  void reportsShorterWordEndingAsSuffix() {
+    KeywordMatcher matcher = KeywordMatcher.compile(List.of("abcd", "bc"));
+
+    // "abc"까지 따라간 노드에는 단어가 없지만 접미사 "bc"가 일치
+    assertThat(matcher.findFirst("abce")).isEqualTo("bc");
+    assertThat(matcher.findFirst("xabcd")).isEqualTo("bc");
+    assertThat(matcher.size()).isEqualTo(2);
+  }
+
+  @Test
+  void normalizesNfkcCaseWhitespaceAndZeroWidth() {
+    KeywordMatcher matcher = KeywordMatcher.compile(List.of("폭탄", "Drug"));
+
+    assertThat(matcher.findFirst("폭 탄 제조")).isEqualTo("폭탄");
+    assertThat(matcher.findFirst("폭\u200B탄")).isEqualTo("폭탄");
+    assertThat(matcher.findFirst(Normalizer.normalize("폭탄", Normalizer.Form.NFD))).isEqualTo("폭탄");
+    // 전각 문자와 대소문자
+    assertThat(matcher.findFirst("ＤＲＵＧ")).isEqualTo("Drug");
+    assertThat(matcher.findFirst("d\uFEFFr u\u200Dg")).isEqualTo("Drug");
+    assertThat(matcher.matches("폭죽")).isFalse();
+  }
+
+  @Test
+  void findsWordSplitAcrossChunks() {
+    KeywordMatcher matcher = KeywordMatcher.compile(List.of("폭탄", "bomb"));
+
+    KeywordMatcher.Scanner scanner = matcher.newScanner();
+    assertThat(scanner.feed("이건 폭")).isNull();
+    assertThat(scanner.feed("탄입니다")).isEqualTo("폭탄");
+
+    scanner = matcher.newScanner();
+    assertThat(scanner.feed("bo")).isNull();
+    assertThat(scanner.feed("m")).isNull();
+    assertThat(scanner.feed("b")).isNull();
+    // 마지막 글자는 다음 조각을 기다리므로 스트림이 끝날 때 검사
+    assertThat(scanner.finish()).isEqualTo("bomb");
+  }
+
+  @Test
+  void carriesCombiningCharactersAcrossChunks() {
+    KeywordMatcher matcher = KeywordMatcher.compile(List.of("폭탄", "café"));
+
+    // 자모로 분해된 "폭탄"이 종성 앞에서 나뉘어 들어와도 "포" + "ㄱ"으로 따로 정규화하지 않음
+    String decomposed = Normalizer.normalize("폭탄", Normalizer.Form.NFD);
+    KeywordMatcher.Scanner scanner = matcher.newScanner();
+    assertThat(scanner.feed(decomposed.substring(0, 2))).isNull();
+    assertThat(scanner.feed(decomposed.substring(2, 4))).isNull();
+    assertThat(scanner.feed(decomposed.substring(4))).isNull();
+    assertThat(scanner.finish()).isEqualTo("폭탄");
+
+    // 결합 악센트가 다음 조각으로 넘어온 경우
+    scanner = matcher.newScanner();
+    assertThat(scanner.feed("cafe")).isNull();
+    assertThat(scanner.feed("\u0301 au lait")).isEqualTo("café");
+
+    // 악센트가 붙지 않은 "cafe"는 일치하지 않음
+    scanner = matcher.newScanner();
+    assertThat(scanner.feed("cafe")).isNull();
+    assertThat(scanner.feed(" au lait")).isNull();
+    assertThat(scanner.finish()).isNull();
+  }
+}
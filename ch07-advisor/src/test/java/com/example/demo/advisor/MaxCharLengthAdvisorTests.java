@@ -0,0 +1,39 @@
+package com.example.demo.advisor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MaxCharLengthAdvisorTests {
+  // ##### 테스트 #####
+  @Test
+  void englishResponsesDoNotShiftCalibration() {
+    MaxCharLengthAdvisor advisor = new MaxCharLengthAdvisor(0);
+
+    // 영어 응답: 토큰당 약 4자
+    for (int i = 0; i < 50; i++) {
+      calibrate(advisor, "Seoul has many great restaurants. ".repeat(10), 80);
+    }
+
+    assertThat(advisor.getCharsPerToken()).isEqualTo(MaxCharLengthAdvisor.KOREAN_CHARS_PER_TOKEN);
+  }
+
+  @Test
+  void koreanCalibrationStaysWithinKoreanRange() {
+    MaxCharLengthAdvisor advisor = new MaxCharLengthAdvisor(0);
+
+    // 한국어 응답이지만 토큰당 문자 수가 비정상적으로 큼
+    for (int i = 0; i < 100; i++) {
+      calibrate(advisor, "서울에는맛집이많습니다".repeat(10), 20);
+    }
+
+    assertThat(advisor.getCharsPerToken()).isEqualTo(2.0);
+  }
+
+  // ##### 도우미 메소드 #####
+  private static void calibrate(MaxCharLengthAdvisor advisor, String text, int completionTokens) {
+    ReflectionTestUtils.invokeMethod(advisor, "calibrate", text, new DefaultUsage(0, completionTokens));
+  }
+}
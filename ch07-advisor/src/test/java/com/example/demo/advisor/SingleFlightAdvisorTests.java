@@ -0,0 +1,237 @@
+package com.example.demo.advisor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.content.Media;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.MimeTypeUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+class SingleFlightAdvisorTests {
+  // ##### 상수 #####
+  private static final int CALLERS = 16;
+
+  // ##### LLM 역할을 하는 체인 (release가 열릴 때까지 응답하지 않음) #####
+  static class BlockingCallChain implements CallAdvisorChain {
+    final AtomicInteger calls = new AtomicInteger();
+    final CountDownLatch release = new CountDownLatch(1);
+    private final Function<ChatClientRequest, ChatClientResponse> upstream;
+
+    BlockingCallChain(Function<ChatClientRequest, ChatClientResponse> upstream) {
+      this.upstream = upstream;
+    }
+
+    @Override
+    public ChatClientResponse nextCall(ChatClientRequest request) {
+      calls.incrementAndGet();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return upstream.apply(request);
+    }
+
+    @Override
+    public List<CallAdvisor> getCallAdvisors() {
+      return List.of();
+    }
+
+    @Override
+    public CallAdvisorChain copy(CallAdvisor after) {
+      return this;
+    }
+  }
+
+  static class StubStreamChain implements StreamAdvisorChain {
+    final AtomicInteger subscriptions = new AtomicInteger();
+    private final Flux<ChatClientResponse> upstream;
+
+    StubStreamChain(Flux<ChatClientResponse> upstream) {
+      this.upstream = upstream;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> nextStream(ChatClientRequest request) {
+      return upstream.doOnSubscribe(s -> subscriptions.incrementAndGet());
+    }
+
+    @Override
+    public List<StreamAdvisor> getStreamAdvisors() {
+      return List.of();
+    }
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void concurrentIdenticalCallsHitUpstreamOnce() throws Exception {
+    SingleFlightAdvisor advisor = new SingleFlightAdvisor();
+    BlockingCallChain chain = new BlockingCallChain(request -> response("답변"));
+
+    List<String> answers = callConcurrently(advisor, chain);
+
+    assertThat(chain.calls).hasValue(1);
+    assertThat(answers).hasSize(CALLERS).containsOnly("답변");
+    assertThat(advisor.getCoalescedCount()).isEqualTo(CALLERS - 1);
+    assertThat(advisor.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void leaderFailureIsSharedAndReleased() {
+    SingleFlightAdvisor advisor = new SingleFlightAdvisor();
+    BlockingCallChain chain = new BlockingCallChain(request -> {
+      throw new IllegalStateException("upstream down");
+    });
+
+    assertThatThrownBy(() -> callConcurrently(advisor, chain))
+        .hasRootCauseInstanceOf(IllegalStateException.class);
+
+    assertThat(chain.calls).hasValue(1);
+    assertThat(advisor.getInFlightCount()).isZero();
+
+    // 실패한 뒤의 같은 요청은 새로 호출됨
+    BlockingCallChain retry = new BlockingCallChain(request -> response("복구"));
+    retry.release.countDown();
+    assertThat(text(advisor.adviseCall(request(), retry))).isEqualTo("복구");
+    assertThat(retry.calls).hasValue(1);
+  }
+
+  @Test
+  void identicalStreamsShareOneUpstreamSubscription() {
+    SingleFlightAdvisor advisor = new SingleFlightAdvisor();
+    TestPublisher<ChatClientResponse> upstream = TestPublisher.create();
+    StubStreamChain chain = new StubStreamChain(upstream.flux());
+
+    Flux<String> first = advisor.adviseStream(request(), chain).map(SingleFlightAdvisorTests::text);
+    Flux<String> second = advisor.adviseStream(request(), chain).map(SingleFlightAdvisorTests::text);
+
+    StepVerifier.create(Flux.merge(first, second).collectList())
+        .then(() -> upstream.next(response("안녕")))
+        .then(() -> upstream.next(response("하세요")))
+        .then(upstream::complete)
+        .assertNext(chunks -> assertThat(chunks).containsExactlyInAnyOrder("안녕", "안녕", "하세요", "하세요"))
+        .verifyComplete();
+
+    assertThat(chain.subscriptions).hasValue(1);
+    assertThat(advisor.getCoalescedCount()).isEqualTo(1);
+    assertThat(advisor.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void cancelledStreamIsReleased() {
+    SingleFlightAdvisor advisor = new SingleFlightAdvisor();
+    TestPublisher<ChatClientResponse> upstream = TestPublisher.create();
+    StubStreamChain chain = new StubStreamChain(upstream.flux());
+
+    StepVerifier.create(advisor.adviseStream(request(), chain))
+        .then(() -> upstream.next(response("안녕")))
+        .expectNextCount(1)
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+
+    upstream.assertCancelled();
+    assertThat(advisor.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void requestsWithMediaAreNotCoalesced() throws Exception {
+    SingleFlightAdvisor advisor = new SingleFlightAdvisor();
+    BlockingCallChain chain = new BlockingCallChain(request -> response("답변"));
+    // 텍스트는 같지만 이미지가 다른 두 요청
+    ChatClientRequest first = mediaRequest(new byte[] { 1 });
+    ChatClientRequest second = mediaRequest(new byte[] { 2 });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<ChatClientResponse> a = executor.submit(() -> advisor.adviseCall(first, chain));
+      Future<ChatClientResponse> b = executor.submit(() -> advisor.adviseCall(second, chain));
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (chain.calls.get() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+      chain.release.countDown();
+      a.get(5, TimeUnit.SECONDS);
+      b.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(chain.calls).hasValue(2);
+    assertThat(advisor.getCoalescedCount()).isZero();
+  }
+
+  // ##### 도우미 메소드 #####
+  // CALLERS개 스레드가 같은 요청을 보내고, 모두 합류한 뒤에 LLM 응답을 보냄
+  private static List<String> callConcurrently(SingleFlightAdvisor advisor, BlockingCallChain chain)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    try {
+      List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < CALLERS; i++) {
+        futures.add(executor.submit(() -> text(advisor.adviseCall(request(), chain))));
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (advisor.getCoalescedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+      chain.release.countDown();
+
+      List<String> answers = new ArrayList<>();
+      for (Future<String> future : futures) {
+        answers.add(future.get(5, TimeUnit.SECONDS));
+      }
+      return answers;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static ChatClientRequest request() {
+    return ChatClientRequest.builder().prompt(new Prompt("서울 맛집 추천")).build();
+  }
+
+  private static ChatClientRequest mediaRequest(byte[] image) {
+    UserMessage message = UserMessage.builder()
+        .text("이 사진 속 음식 이름은?")
+        .media(new Media(MimeTypeUtils.IMAGE_PNG, new ByteArrayResource(image)))
+        .build();
+    return ChatClientRequest.builder().prompt(new Prompt(message)).build();
+  }
+
+  private static ChatClientResponse response(String text) {
+    return ChatClientResponse.builder()
+        .chatResponse(new ChatResponse(List.of(new Generation(new AssistantMessage(text)))))
+        .build();
+  }
+
+  private static String text(ChatClientResponse response) {
+    return response.chatResponse().getResult().getOutput().getText();
+  }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import com.example.demo.profiling.AdvisorProfiler.AdvisorTiming;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class ProfilingAdvisorTests {
+  // ##### 테스트용 Advisor (하위 스트림을 그대로 전달) #####
+  static class PassThroughAdvisor implements StreamAdvisor {
+    @Override
+    public String getName() {
+      return "PassThrough";
+    }
+
+    @Override
+    public int getOrder() {
+      return 0;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+      return chain.nextStream(request);
+    }
+  }
+
+  // ##### 조각마다 지연되는 LLM 역할을 하는 체인 #####
+  static class SlowChain implements StreamAdvisorChain {
+    @Override
+    public Flux<ChatClientResponse> nextStream(ChatClientRequest request) {
+      return Flux.just(chunk("a"), chunk("b"), chunk("c")).delayElements(Duration.ofMillis(50));
+    }
+
+    @Override
+    public List<StreamAdvisor> getStreamAdvisors() {
+      return List.of();
+    }
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void streamSelfTimeExcludesDownstream() {
+    AdvisorProfiler profiler = new AdvisorProfiler();
+    StreamAdvisor advisor = (StreamAdvisor) profiler.profile(new PassThroughAdvisor()).get(0);
+
+    StepVerifier.create(advisor.adviseStream(request(), new SlowChain()))
+        .expectNextCount(3)
+        .verifyComplete();
+
+    AdvisorTiming timing = timing(profiler, "PassThrough");
+    // 하위 시간이 전체 시간의 대부분이어야 함 (doFinally 순서 문제가 있으면 0으로 기록됨)
+    assertThat(timing.avgDownstreamMs()).isGreaterThanOrEqualTo(100);
+    assertThat(timing.avgSelfMs()).isLessThan(timing.avgTotalMs());
+    assertThat(timing(profiler, "PassThrough;" + AdvisorProfiler.UNPROFILED).count()).isEqualTo(1);
+  }
+
+  @Test
+  void streamDownstreamRecordedOnCancel() {
+    AdvisorProfiler profiler = new AdvisorProfiler();
+    StreamAdvisor advisor = (StreamAdvisor) profiler.profile(new PassThroughAdvisor()).get(0);
+
+    StepVerifier.create(advisor.adviseStream(request(), new SlowChain()).take(1))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    AdvisorTiming timing = timing(profiler, "PassThrough");
+    assertThat(timing.avgDownstreamMs()).isGreaterThanOrEqualTo(40);
+    assertThat(timing.avgSelfMs()).isLessThan(timing.avgTotalMs());
+  }
+
+  // ##### 도우미 메소드 #####
+  private static AdvisorTiming timing(AdvisorProfiler profiler, String path) {
+    return profiler.timings().stream()
+        .filter(timing -> timing.mode().equals("stream") && timing.path().equals(path))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static ChatClientRequest request() {
+    return ChatClientRequest.builder().prompt(new Prompt("질문")).build();
+  }
+
+  private static ChatClientResponse chunk(String text) {
+    return ChatClientResponse.builder()
+        .chatResponse(new ChatResponse(List.of(new Generation(new AssistantMessage(text)))))
+        .build();
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.example.demo.profiling.AdvisorProfiler.AdvisorTiming;
+
+class ProfilingChatClientBuilderPostProcessorTests {
+  // ##### 필드 #####
+  private final ChatModel chatModel = prompt -> new ChatResponse(
+      List.of(new Generation(new AssistantMessage("서울 맛집 추천"))));
+
+  // ##### 테스트용 Advisor (하위 체인을 그대로 호출) #####
+  record NamedAdvisor(String name, int order) implements CallAdvisor {
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public int getOrder() {
+      return order;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+      return chain.nextCall(request);
+    }
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void defaultAndRequestAdvisorsAreProfiled() {
+    AdvisorProfiler profiler = new AdvisorProfiler();
+    ChatClient.Builder builder = postProcess(ChatClient.builder(chatModel), profiler);
+
+    // 서비스 코드는 profile()을 호출하지 않음
+    ChatClient chatClient = builder
+        .defaultAdvisors(new NamedAdvisor("A", 1))
+        .defaultAdvisors(spec -> spec.advisors(new NamedAdvisor("B", 2)))
+        .build();
+    String content = chatClient.prompt()
+        .advisors(List.of(new NamedAdvisor("C", 3)))
+        .advisors(spec -> spec.advisors(new NamedAdvisor("D", 4)))
+        .user("서울 맛집")
+        .call()
+        .content();
+
+    assertThat(content).isEqualTo("서울 맛집 추천");
+    assertThat(paths(profiler)).contains("A", "A;B", "A;B;C", "A;B;C;D");
+  }
+
+  @Test
+  void mutatedBuilderIsProfiled() {
+    AdvisorProfiler profiler = new AdvisorProfiler();
+    ChatClient chatClient = postProcess(ChatClient.builder(chatModel), profiler).build();
+
+    chatClient.mutate()
+        .defaultAdvisors(new NamedAdvisor("A", 1))
+        .build()
+        .prompt("서울 맛집")
+        .call()
+        .content();
+
+    assertThat(paths(profiler)).contains("A");
+  }
+
+  // ##### 도우미 메소드 #####
+  private static ChatClient.Builder postProcess(ChatClient.Builder builder, AdvisorProfiler profiler) {
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("advisorProfiler", profiler));
+    ProfilingChatClientBuilderPostProcessor postProcessor =
+        new ProfilingChatClientBuilderPostProcessor(beanFactory.getBeanProvider(AdvisorProfiler.class));
+    return (ChatClient.Builder) postProcessor.postProcessAfterInitialization(builder, "chatClientBuilder");
+  }
+
+  private static List<String> paths(AdvisorProfiler profiler) {
+    return profiler.timings().stream()
+        .filter(timing -> timing.mode().equals("call"))
+        .map(AdvisorTiming::path)
+        .toList();
+  }
+}
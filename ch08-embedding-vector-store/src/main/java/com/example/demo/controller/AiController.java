@@ -14,6 +14,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.example.demo.service.AiService;
 import com.example.demo.service.FaceService;
+import com.example.demo.vectorstore.VectorStoreBulkOperations.BulkResult;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -91,8 +92,13 @@ public class AiController {
       produces = MediaType.TEXT_PLAIN_VALUE
   )
   public String deleteDocument(@RequestParam("question") String question) {
-    aiService.deleteDocument();
-    return "Document들이 삭제되었습니다.";
+    BulkResult result = aiService.deleteDocument();
+    String text = "Document %d개가 삭제되었습니다. (%dms)".formatted(
+        result.affectedRows(), result.elapsedMillis());
+    if (result.skippedRows() > 0) {
+      text += " 다른 작업이 사용 중인 Document %d개는 삭제하지 못했습니다.".formatted(result.skippedRows());
+    }
+    return text;
   } 
   
   @PostMapping(
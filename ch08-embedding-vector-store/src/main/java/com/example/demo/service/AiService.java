@@ -13,6 +13,9 @@ import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.vectorstore.VectorStoreBulkOperations;
+import com.example.demo.vectorstore.VectorStoreBulkOperations.BulkResult;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -25,6 +28,9 @@ public class AiService {
   @Autowired
   private VectorStore vectorStore;
 
+  @Autowired
+  private VectorStoreBulkOperations vectorStoreBulkOperations;
+
   // ##### 메소드 #####
   public void textEmbedding(String question) {
     // 임베딩하기
@@ -96,7 +102,12 @@ public class AiService {
   //   return documents;
   // }
 
-  public void deleteDocument() {
-    vectorStore.delete("source == '헌법' && year < 1987");
+  // public void deleteDocument() {
+  //   vectorStore.delete("source == '헌법' && year < 1987");
+  // }
+
+  public BulkResult deleteDocument() {
+    // 인덱스를 타는 SQL로 나누어서 삭제하고, 삭제된 행 수와 소요 시간을 반환
+    return vectorStoreBulkOperations.deleteByFilter("source == '헌법' && year < 1987");
   }
 }
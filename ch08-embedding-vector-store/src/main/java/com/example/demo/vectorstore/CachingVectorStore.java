@@ -0,0 +1,209 @@
+package com.example.demo.vectorstore;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * VectorStore.similaritySearch() 결과를 캐싱하는 데코레이터
+ *  - 캐시 키: 정규화된 SearchRequest (질문, topK, 임계값, 필터식)
+ *  - 캐시 적중 시 임베딩 호출과 DB 조회를 모두 건너뜀
+ *  - add/delete가 버전 카운터를 증가시키면 이전 버전으로 저장된 결과는 무효가 됨
+ *  - 필터식에 source == 'X' 조건이 있는 검색은 source 'X'가 변경될 때만 무효가 됨
+ *  - Document는 변경 가능한 객체이므로 캐시에는 복사본을 저장하고, 적중 시에도 복사본을 반환
+ *  - source별 버전은 maxEntries개를 넘으면 모든 캐시를 무효화하면서 함께 비움
+ */
+@Slf4j
+public class CachingVectorStore implements VectorStore {
+  // ##### 상수 #####
+  public static final String SOURCE_KEY = "source";
+
+  // ##### 필드 #####
+  private final VectorStore delegate;
+  private final Map<CacheKey, CacheEntry> cache;
+  private final int maxSources;
+  private final FilterExpressionTextParser filterParser = new FilterExpressionTextParser();
+
+  // source를 알 수 없는 변경 시 증가 (모든 캐시 무효)
+  private final AtomicLong globalVersion = new AtomicLong();
+  // 모든 변경 시 증가 (source 조건이 없는 검색 결과 무효)
+  private final AtomicLong anyChangeVersion = new AtomicLong();
+  // source별 변경 시 증가 (해당 source로 필터링된 검색 결과 무효)
+  private final Map<String, AtomicLong> sourceVersions = new ConcurrentHashMap<>();
+
+  // ##### 생성자 #####
+  public CachingVectorStore(VectorStore delegate, int maxEntries) {
+    this.delegate = delegate;
+    this.maxSources = maxEntries;
+    // 접근 순서 LinkedHashMap으로 LRU 캐시 구성
+    this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+        return size() > maxEntries;
+      }
+    });
+  }
+
+  // ##### 캐시 키와 값 #####
+  record CacheKey(String query, int topK, double similarityThreshold, String filter) {
+    static CacheKey of(SearchRequest request) {
+      String query = request.getQuery() == null
+          ? "" : request.getQuery().strip().replaceAll("\\s+", " ");
+      String filter = request.hasFilterExpression()
+          ? request.getFilterExpression().toString() : "";
+      return new CacheKey(query, request.getTopK(), request.getSimilarityThreshold(), filter);
+    }
+  }
+
+  record CacheEntry(List<Document> documents, long globalVersion, long anyChangeVersion,
+      String source, long sourceVersion) {
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName() + "(" + delegate.getName() + ")";
+  }
+
+  @Override
+  public List<Document> similaritySearch(SearchRequest request) {
+    CacheKey key = CacheKey.of(request);
+    CacheEntry entry = cache.get(key);
+    if (entry != null && isValid(entry)) {
+      log.debug("벡터 검색 캐시 적중: {}", key);
+      return copyOf(entry.documents());
+    }
+
+    // 검색 전에 버전을 읽어두어야 검색 도중의 변경이 캐시에 반영되지 않음
+    String source = findSource(request.getFilterExpression());
+    long global = globalVersion.get();
+    long anyChange = anyChangeVersion.get();
+    long sourceVersion = source != null ? sourceVersion(source).get() : 0;
+
+    List<Document> documents = delegate.similaritySearch(request);
+    cache.put(key, new CacheEntry(copyOf(documents), global, anyChange, source, sourceVersion));
+    return documents;
+  }
+
+  @Override
+  public void add(List<Document> documents) {
+    delegate.add(documents);
+    List<String> sources = documents.stream()
+        .map(document -> document.getMetadata().get(SOURCE_KEY))
+        .map(value -> value == null ? null : value.toString())
+        .distinct()
+        .toList();
+    if (sources.contains(null)) {
+      invalidateAll();
+    } else {
+      sources.forEach(this::invalidateSource);
+    }
+  }
+
+  @Override
+  public void delete(List<String> idList) {
+    delegate.delete(idList);
+    invalidateAll();
+  }
+
+  @Override
+  public void delete(Filter.Expression filterExpression) {
+    delegate.delete(filterExpression);
+    invalidate(filterExpression);
+  }
+
+  @Override
+  public <T> Optional<T> getNativeClient() {
+    return delegate.getNativeClient();
+  }
+
+  // ##### 외부에서 데이터를 변경했을 때 호출하는 무효화 메소드 #####
+  public void invalidateAll() {
+    globalVersion.incrementAndGet();
+    anyChangeVersion.incrementAndGet();
+    cache.clear();
+    // globalVersion이 바뀌어 이전 항목은 모두 무효이므로 source별 버전도 비움
+    sourceVersions.clear();
+  }
+
+  public void invalidateSource(String source) {
+    sourceVersion(source).incrementAndGet();
+    anyChangeVersion.incrementAndGet();
+  }
+
+  public void invalidate(String filter) {
+    invalidate(filterParser.parse(filter));
+  }
+
+  public void invalidate(Filter.Expression filterExpression) {
+    String source = findSource(filterExpression);
+    if (source != null) {
+      invalidateSource(source);
+    } else {
+      invalidateAll();
+    }
+  }
+
+  // ##### 캐시 항목이 현재 버전인지 확인하는 메소드 #####
+  private boolean isValid(CacheEntry entry) {
+    if (entry.globalVersion() != globalVersion.get()) {
+      return false;
+    }
+    if (entry.source() == null) {
+      return entry.anyChangeVersion() == anyChangeVersion.get();
+    }
+    return entry.sourceVersion() == sourceVersion(entry.source()).get();
+  }
+
+  private AtomicLong sourceVersion(String source) {
+    AtomicLong version = sourceVersions.computeIfAbsent(source, key -> new AtomicLong());
+    // source 종류가 너무 많아지면 전체 무효화로 비움 (캐시 항목 수보다 많이 유지할 필요 없음)
+    if (sourceVersions.size() > maxSources) {
+      log.debug("source별 버전 수가 {}개를 넘어서 캐시 전체를 무효화합니다.", maxSources);
+      invalidateAll();
+    }
+    return version;
+  }
+
+  // ##### 캐시된 Document가 바뀌지 않도록 복사하는 메소드 (메타데이터 맵도 복사) #####
+  private static List<Document> copyOf(List<Document> documents) {
+    return documents.stream()
+        .map(document -> document.mutate().metadata(new HashMap<>(document.getMetadata())).build())
+        .toList();
+  }
+
+  // ##### 필터식에서 source == 'X' 조건을 찾는 메소드 (AND로 연결된 경우만) #####
+  private String findSource(Filter.Expression expression) {
+    if (expression == null) {
+      return null;
+    }
+    if (expression.type() == Filter.ExpressionType.EQ
+        && expression.left() instanceof Filter.Key key
+        && Objects.equals(key.key(), SOURCE_KEY)
+        && expression.right() instanceof Filter.Value value) {
+      return String.valueOf(value.value());
+    }
+    if (expression.type() == Filter.ExpressionType.AND) {
+      String source = expression.left() instanceof Filter.Expression left ? findSource(left) : null;
+      if (source == null && expression.right() instanceof Filter.Expression right) {
+        source = findSource(right);
+      }
+      return source;
+    }
+    return null;
+  }
+}
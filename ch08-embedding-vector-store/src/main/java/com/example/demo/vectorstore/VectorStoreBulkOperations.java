@@ -0,0 +1,202 @@
+package com.example.demo.vectorstore;
+
+import java.util.Map;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+import org.springframework.ai.vectorstore.pgvector.PgVectorFilterExpressionConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 메타데이터 필터로 vector_store를 일괄 삭제/수정하는 컴포넌트
+ *  - 필터식을 jsonpath로 변환해서 GIN 인덱스(jsonb_path_ops)를 타는 SQL 한 문장으로 처리
+ *  - batchSize 행씩 나누어 실행하고 문장마다 커밋되므로 긴 잠금이 생기지 않음
+ *  - FOR UPDATE SKIP LOCKED: 다른 트랜잭션이 잡고 있는 행은 기다리지 않고 건너뜀
+ *    (잠긴 행을 건너뛰면 배치가 batchSize보다 작을 수 있으므로 처리된 행이 0이 될 때까지 반복)
+ *  - 처리된 행이 0이어도 배치의 모든 행이 잠겨 있었을 수 있으므로, SKIP LOCKED 없이 남은 행을 세어서
+ *    남아 있으면 잠시 기다렸다가 다시 반복하고, 끝까지 남은 행 수는 결과(skippedRows)로 반환
+ */
+@Component
+@Slf4j
+public class VectorStoreBulkOperations {
+  // ##### 상수 #####
+  // 잠긴 행이 남아 있을 때 다시 시도하는 횟수와 대기 시간
+  private static final int LOCKED_RETRIES = 3;
+  private static final long LOCKED_RETRY_DELAY_MILLIS = 200;
+
+  // ##### 필드 #####
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectProvider<CachingVectorStore> cachingVectorStore;
+  private final FilterExpressionTextParser filterParser = new FilterExpressionTextParser();
+  private final PgVectorFilterExpressionConverter filterConverter =
+      new PgVectorFilterExpressionConverter();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}")
+  private String tableName;
+  @Value("${app.vectorstore.bulk.batch-size:5000}")
+  private int batchSize;
+
+  // ##### 생성자 #####
+  public VectorStoreBulkOperations(
+      JdbcTemplate jdbcTemplate, ObjectProvider<CachingVectorStore> cachingVectorStore) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.cachingVectorStore = cachingVectorStore;
+  }
+
+  // ##### 실행 결과 #####
+  // skippedRows: 다른 트랜잭션이 잠그고 있어서 처리하지 못하고 남은 행 수
+  public record BulkResult(long affectedRows, int batches, long skippedRows, long elapsedMillis) {
+  }
+
+  // ##### 메타데이터 jsonpath 검색용 인덱스 생성 #####
+  // CREATE INDEX CONCURRENTLY가 실패하면 INVALID 상태의 인덱스가 남고,
+  // IF NOT EXISTS는 이 인덱스를 그대로 두므로 INVALID이면 삭제하고 다시 생성
+  @PostConstruct
+  public void createMetadataIndex() {
+    String indexName = tableName + "_metadata_idx";
+    try {
+      if (Boolean.FALSE.equals(isIndexValid(indexName))) {
+        log.warn("INVALID 상태의 메타데이터 인덱스를 삭제하고 다시 생성합니다: {}", indexName);
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+      }
+      // CONCURRENTLY: 인덱스를 만드는 동안에도 쓰기를 막지 않음
+      jdbcTemplate.execute("""
+          CREATE INDEX CONCURRENTLY IF NOT EXISTS %s
+          ON %s USING gin ((metadata::jsonb) jsonb_path_ops)
+          """.formatted(indexName, tableName));
+    } catch (Exception e) {
+      log.error("메타데이터 인덱스를 생성하지 못했습니다: {}", e.getMessage());
+    }
+
+    // 생성에 실패해서 INVALID 인덱스가 남았으면 삭제 (쓰기 비용만 들고 검색에는 사용되지 않음)
+    try {
+      if (Boolean.FALSE.equals(isIndexValid(indexName))) {
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+        log.error("메타데이터 인덱스가 INVALID 상태여서 삭제했습니다. 일괄 작업은 전체 스캔으로 실행됩니다: {}",
+            indexName);
+      }
+    } catch (Exception e) {
+      log.error("INVALID 메타데이터 인덱스를 삭제하지 못했습니다: {}", e.getMessage());
+    }
+  }
+
+  // 인덱스가 없으면 null
+  private Boolean isIndexValid(String indexName) {
+    return jdbcTemplate.queryForList(
+        "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)", Boolean.class, indexName)
+        .stream().findFirst().orElse(null);
+  }
+
+  // ##### 필터에 해당하는 Document들을 삭제하는 메소드 #####
+  public BulkResult deleteByFilter(String filter) {
+    String jsonPath = toJsonPath(filter);
+    String condition = "metadata::jsonb @@ '%s'::jsonpath".formatted(jsonPath);
+    String sql = """
+        WITH batch AS (
+          SELECT id FROM %s
+          WHERE %s
+          LIMIT ?
+          FOR UPDATE SKIP LOCKED
+        )
+        DELETE FROM %s v USING batch WHERE v.id = batch.id
+        """.formatted(tableName, condition, tableName);
+    BulkResult result = executeInBatches(sql, condition);
+    invalidateCache(filter);
+    return result;
+  }
+
+  // ##### 필터에 해당하는 Document들의 메타데이터를 병합 수정하는 메소드 #####
+  public BulkResult updateMetadataByFilter(String filter, Map<String, Object> metadata) {
+    String jsonPath = toJsonPath(filter);
+    String patch = toJson(metadata);
+    // 이미 수정된 행(@> patch)은 다시 선택되지 않으므로 배치 반복이 끝남
+    String condition = "metadata::jsonb @@ '%s'::jsonpath AND NOT (metadata::jsonb @> '%s'::jsonb)"
+        .formatted(jsonPath, patch);
+    String sql = """
+        WITH batch AS (
+          SELECT id FROM %s
+          WHERE %s
+          LIMIT ?
+          FOR UPDATE SKIP LOCKED
+        )
+        UPDATE %s v SET metadata = (v.metadata::jsonb || '%s'::jsonb)::json
+        FROM batch WHERE v.id = batch.id
+        """.formatted(tableName, condition, tableName, patch);
+    BulkResult result = executeInBatches(sql, condition);
+    invalidateCache(filter);
+    return result;
+  }
+
+  // ##### VectorStore를 거치지 않고 변경했으므로 검색 결과 캐시 무효화 #####
+  private void invalidateCache(String filter) {
+    cachingVectorStore.ifAvailable(cache -> cache.invalidate(filter));
+  }
+
+  // ##### batchSize 행씩 반복 실행하는 메소드 #####
+  // condition: 처리할 행의 조건 (남은 행을 셀 때 사용)
+  private BulkResult executeInBatches(String sql, String condition) {
+    long start = System.nanoTime();
+    long affectedRows = 0;
+    int batches = 0;
+    long remainingRows;
+    for (int retry = 0; ; retry++) {
+      int affected;
+      do {
+        affected = jdbcTemplate.update(sql, batchSize);
+        affectedRows += affected;
+        batches++;
+      } while (affected > 0);
+
+      // 잠금을 기다리지 않는 일반 조회로 남은 행을 셈 (다른 트랜잭션이 잠근 행도 포함)
+      remainingRows = countRemaining(condition);
+      if (remainingRows == 0 || retry >= LOCKED_RETRIES) {
+        break;
+      }
+      log.debug("다른 트랜잭션이 잠근 행 {}개가 남아 있어서 다시 시도합니다 ({}/{})",
+          remainingRows, retry + 1, LOCKED_RETRIES);
+      try {
+        Thread.sleep(LOCKED_RETRY_DELAY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    if (remainingRows > 0) {
+      log.warn("잠긴 행 {}개는 처리하지 못했습니다. 다시 실행하면 처리됩니다.", remainingRows);
+    }
+    log.info("처리된 행 수: {}, 배치 수: {}, 건너뛴 행 수: {}, 소요 시간: {}ms",
+        affectedRows, batches, remainingRows, elapsedMillis);
+    return new BulkResult(affectedRows, batches, remainingRows, elapsedMillis);
+  }
+
+  private long countRemaining(String condition) {
+    Long count = jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM %s WHERE %s".formatted(tableName, condition), Long.class);
+    return count == null ? 0 : count;
+  }
+
+  private String toJsonPath(String filter) {
+    Filter.Expression expression = filterParser.parse(filter);
+    return filterConverter.convertExpression(expression).replace("'", "''");
+  }
+
+  private String toJson(Map<String, Object> metadata) {
+    try {
+      return objectMapper.writeValueAsString(metadata).replace("'", "''");
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("메타데이터를 JSON으로 변환할 수 없습니다.", e);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.vectorstore;
+
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class VectorStoreConfig {
+  // ##### 검색 결과 캐시 설정 #####
+  @Value("${app.vectorstore.cache.max-entries:1000}")
+  private int cacheMaxEntries;
+
+  // ##### PGVector 자동 구성 Bean(vectorStore)을 검색 결과 캐시로 감싼 Bean #####
+  @Bean
+  @Primary
+  public CachingVectorStore cachingVectorStore(PgVectorStore pgVectorStore) {
+    return new CachingVectorStore(pgVectorStore, cacheMaxEntries);
+  }
+}
@@ -0,0 +1,267 @@
+package com.example.demo.chatmemory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 시간 버킷으로 파티션을 나누는 Cassandra ChatMemoryRepository
+ *  - 메시지 테이블 파티션 키: (conversation_id, bucket)
+ *    긴 대화도 버킷 크기만큼만 파티션이 커지고, 대화가 클러스터 전체 노드에 고르게 분산됨
+ *  - 버킷 목록 테이블(conversation_id → bucket DESC)로 최신 버킷부터 필요한 만큼만 읽음
+ *  - 모든 문장은 시작할 때 한 번 준비(prepare)해서 재사용
+ *    준비된 문장은 파티션 키를 알기 때문에 드라이버가 해당 데이터를 가진 노드로 바로 보냄(token-aware)
+ *  - 드라이버의 비동기 API(executeAsync)로 버킷 조회/쓰기를 동시에 실행
+ *  - 키스페이스/테이블 생성은 initializeSchema가 true일 때만 (운영 키스페이스는 미리 만들어 둠)
+ *  - 저장은 추가 전용: 새로 추가된 메시지만 INSERT, 윈도우에서 밀려난 메시지는 TTL로 만료
+ */
+@Slf4j
+public class BucketedCassandraChatMemoryRepository implements ChatMemoryRepository {
+  // ##### 필드 #####
+  private final CqlSession session;
+  private final long bucketMillis;
+  private final int maxMessages;
+  private final int maxBuckets;
+
+  private final PreparedStatement selectBuckets;
+  private final PreparedStatement selectMessages;
+  private final PreparedStatement insertMessage;
+  private final PreparedStatement insertBucket;
+  private final PreparedStatement deleteBucket;
+  private final PreparedStatement deleteBuckets;
+  private final PreparedStatement selectConversationIds;
+
+  // ##### 생성자 #####
+  public BucketedCassandraChatMemoryRepository(
+      CqlSession session,
+      String keyspace,
+      String table,
+      Duration bucketSize,
+      Duration timeToLive,
+      int maxMessages,
+      int maxBuckets,
+      boolean initializeSchema) {
+    this.session = session;
+    this.bucketMillis = bucketSize.toMillis();
+    this.maxMessages = maxMessages;
+    this.maxBuckets = maxBuckets;
+
+    String messageTable = keyspace + "." + table;
+    String bucketTable = keyspace + "." + table + "_buckets";
+    if (initializeSchema) {
+      createSchema(keyspace, messageTable, bucketTable, timeToLive);
+    }
+
+    this.selectBuckets = session.prepare(
+        "SELECT bucket FROM " + bucketTable + " WHERE conversation_id = ? LIMIT ?");
+    this.selectMessages = session.prepare(
+        "SELECT message_ts, type, content FROM " + messageTable
+        + " WHERE conversation_id = ? AND bucket = ? LIMIT ?");
+    this.insertMessage = session.prepare(
+        "INSERT INTO " + messageTable
+        + " (conversation_id, bucket, message_ts, type, content) VALUES (?, ?, ?, ?, ?)");
+    this.insertBucket = session.prepare(
+        "INSERT INTO " + bucketTable + " (conversation_id, bucket) VALUES (?, ?)");
+    this.deleteBucket = session.prepare(
+        "DELETE FROM " + messageTable + " WHERE conversation_id = ? AND bucket = ?");
+    this.deleteBuckets = session.prepare(
+        "DELETE FROM " + bucketTable + " WHERE conversation_id = ?");
+    this.selectConversationIds = session.prepare(
+        "SELECT DISTINCT conversation_id FROM " + bucketTable);
+  }
+
+  // ##### 저장된 메시지 (메시지 + 저장 시각) #####
+  private record StoredMessage(Message message, Instant timestamp) {
+  }
+
+  // ##### 스키마 생성 #####
+  private void createSchema(String keyspace, String messageTable, String bucketTable, Duration timeToLive) {
+    session.execute("""
+        CREATE KEYSPACE IF NOT EXISTS %s
+        WITH replication = {'class': 'SimpleStrategy', 'replication_factor': 1}
+        """.formatted(keyspace));
+    session.execute("""
+        CREATE TABLE IF NOT EXISTS %s (
+          conversation_id text,
+          bucket timestamp,
+          message_ts timestamp,
+          type text,
+          content text,
+          PRIMARY KEY ((conversation_id, bucket), message_ts)
+        ) WITH CLUSTERING ORDER BY (message_ts DESC)
+          AND default_time_to_live = %d
+        """.formatted(messageTable, timeToLive.toSeconds()));
+    session.execute("""
+        CREATE TABLE IF NOT EXISTS %s (
+          conversation_id text,
+          bucket timestamp,
+          PRIMARY KEY (conversation_id, bucket)
+        ) WITH CLUSTERING ORDER BY (bucket DESC)
+          AND default_time_to_live = %d
+        """.formatted(bucketTable, timeToLive.toSeconds()));
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public List<String> findConversationIds() {
+    List<String> conversationIds = new ArrayList<>();
+    for (Row row : session.execute(selectConversationIds.bind())) {
+      conversationIds.add(row.getString("conversation_id"));
+    }
+    return conversationIds;
+  }
+
+  @Override
+  public List<Message> findByConversationId(String conversationId) {
+    return findRecentMessagesAsync(conversationId)
+        .thenApply(messages -> messages.stream().map(StoredMessage::message).toList())
+        .toCompletableFuture()
+        .join();
+  }
+
+  @Override
+  public void saveAll(String conversationId, List<Message> messages) {
+    findRecentMessagesAsync(conversationId)
+        .thenCompose(current -> appendAsync(conversationId, current, messages))
+        .toCompletableFuture()
+        .join();
+  }
+
+  @Override
+  public void deleteByConversationId(String conversationId) {
+    deleteAsync(conversationId).toCompletableFuture().join();
+  }
+
+  //-------------------------------------------------------------------------------
+  // ##### 최신 버킷부터 maxMessages개가 찰 때까지 읽는 메소드 #####
+  private CompletionStage<List<StoredMessage>> findRecentMessagesAsync(String conversationId) {
+    return session.executeAsync(selectBuckets.bind(conversationId, maxBuckets))
+        .thenCompose(rs -> {
+          List<Instant> buckets = new ArrayList<>();
+          rs.currentPage().forEach(row -> buckets.add(row.getInstant("bucket")));
+          return readBuckets(conversationId, buckets);
+        })
+        .thenApply(newestFirst -> {
+          Collections.reverse(newestFirst);
+          return newestFirst;
+        });
+  }
+
+  // 버킷은 최신순, 각 버킷의 행도 최신순(CLUSTERING ORDER DESC)
+  // 버킷마다 최대 maxMessages개를 동시에 조회하고, 최신순으로 이어 붙여서 maxMessages개만 남김
+  private CompletionStage<List<StoredMessage>> readBuckets(String conversationId, List<Instant> buckets) {
+    List<CompletableFuture<List<StoredMessage>>> futures = new ArrayList<>();
+    for (Instant bucket : buckets) {
+      futures.add(session.executeAsync(selectMessages.bind(conversationId, bucket, maxMessages))
+          .thenCompose(rs -> collectRows(rs, new ArrayList<>()))
+          .toCompletableFuture());
+    }
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .thenApply(ignored -> {
+          List<StoredMessage> collected = new ArrayList<>();
+          for (CompletableFuture<List<StoredMessage>> future : futures) {
+            List<StoredMessage> rows = future.join();
+            int remaining = maxMessages - collected.size();
+            if (remaining <= 0) {
+              break;
+            }
+            collected.addAll(rows.subList(0, Math.min(remaining, rows.size())));
+          }
+          return collected;
+        });
+  }
+
+  private CompletionStage<List<StoredMessage>> collectRows(AsyncResultSet rs, List<StoredMessage> collected) {
+    for (Row row : rs.currentPage()) {
+      collected.add(new StoredMessage(
+          ChatMemoryMessages.toMessage(row.getString("content"), MessageType.valueOf(row.getString("type"))),
+          row.getInstant("message_ts")));
+    }
+    return rs.hasMorePages()
+        ? rs.fetchNextPage().thenCompose(next -> collectRows(next, collected))
+        : CompletableFuture.completedFuture(collected);
+  }
+
+  // ##### 현재 윈도우에 없는 메시지만 추가하는 메소드 #####
+  private CompletionStage<Void> appendAsync(
+      String conversationId, List<StoredMessage> current, List<Message> messages) {
+    int start = ChatMemoryMessages.findOverlapStart(current, StoredMessage::message, messages);
+    if (start < 0) {
+      // 중간 메시지가 바뀐 경우(예: 시스템 메시지 교체): 대화를 지우고 전체를 다시 저장
+      return deleteAsync(conversationId)
+          .thenCompose(ignored -> insertAsync(conversationId, Instant.EPOCH, messages));
+    }
+    Instant last = current.isEmpty() ? Instant.EPOCH : current.get(current.size() - 1).timestamp();
+    return insertAsync(conversationId, last, messages.subList(current.size() - start, messages.size()));
+  }
+
+  private CompletionStage<Void> insertAsync(String conversationId, Instant last, List<Message> messages) {
+    if (messages.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // 같은 대화 안에서 message_ts가 항상 증가하도록 보정 (밀리초 정밀도)
+    Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    if (!timestamp.isAfter(last)) {
+      timestamp = last.plusMillis(1);
+    }
+
+    // 같은 파티션(버킷)의 INSERT는 UNLOGGED BATCH 한 번으로 보냄
+    List<CompletableFuture<AsyncResultSet>> futures = new ArrayList<>();
+    Instant currentBucket = null;
+    BatchStatementBuilder batch = null;
+    for (Message message : messages) {
+      Instant bucket = bucketOf(timestamp);
+      if (!bucket.equals(currentBucket)) {
+        if (batch != null) {
+          futures.add(session.executeAsync(batch.build()).toCompletableFuture());
+        }
+        currentBucket = bucket;
+        batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+        futures.add(session.executeAsync(insertBucket.bind(conversationId, bucket)).toCompletableFuture());
+      }
+      batch.addStatement(insertMessage.bind(
+          conversationId, bucket, timestamp, message.getMessageType().name(), message.getText()));
+      timestamp = timestamp.plusMillis(1);
+    }
+    futures.add(session.executeAsync(batch.build()).toCompletableFuture());
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+  }
+
+  // ##### 대화의 모든 버킷을 동시에 삭제하는 메소드 #####
+  private CompletionStage<Void> deleteAsync(String conversationId) {
+    return session.executeAsync(selectBuckets.bind(conversationId, Integer.MAX_VALUE))
+        .thenCompose(rs -> {
+          List<CompletableFuture<AsyncResultSet>> futures = new ArrayList<>();
+          rs.currentPage().forEach(row -> futures.add(session.executeAsync(
+              deleteBucket.bind(conversationId, row.getInstant("bucket"))).toCompletableFuture()));
+          return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        })
+        .thenCompose(ignored -> session.executeAsync(deleteBuckets.bind(conversationId)))
+        .thenApply(ignored -> null);
+  }
+
+  private Instant bucketOf(Instant timestamp) {
+    long epochMillis = timestamp.toEpochMilli();
+    return Instant.ofEpochMilli(epochMillis - Math.floorMod(epochMillis, bucketMillis));
+  }
+}
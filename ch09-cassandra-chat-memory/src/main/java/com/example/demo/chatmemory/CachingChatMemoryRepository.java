@@ -0,0 +1,216 @@
+package com.example.demo.chatmemory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 최근 대화를 JVM 메모리에 캐싱하는 ChatMemoryRepository 데코레이터
+ *  - 읽기: 캐시에 있으면 DB를 조회하지 않음 (활성 세션은 DB 읽기가 발생하지 않음)
+ *  - 쓰기: 원본 저장소에 먼저 저장하고 캐시도 갱신 (write-through)
+ *  - 제거: maxConversations 초과 시 가장 오래 사용하지 않은 대화부터 (LRU),
+ *          idleTimeout 동안 사용하지 않은 대화도 제거 (읽기/쓰기 때마다 가장 오래된 쪽부터 확인)
+ *  - 조회/저장/삭제가 겹칠 때: 대화별 버전을 두고, 원본 저장소 작업 중에 버전이 바뀌었으면
+ *    (다른 저장/삭제가 끼어들었으면) 캐싱하지 않고 제거해서 삭제된 대화나 이전 목록이 남지 않게 함
+ *  - 여러 노드로 운영할 때는 invalidationPublisher로 변경된 conversationId를 다른 노드에 알리고
+ *    (예: Redis Pub/Sub) 수신한 노드에서 invalidate()를 호출
+ */
+@Slf4j
+public class CachingChatMemoryRepository implements ChatMemoryRepository {
+  // ##### 필드 #####
+  private final ChatMemoryRepository delegate;
+  private final int maxConversations;
+  private final long idleTimeoutNanos;
+  private final Consumer<String> invalidationPublisher;
+  // accessOrder=true: 조회할 때마다 맨 뒤로 이동하므로 맨 앞이 가장 오래된 대화
+  private final LinkedHashMap<String, CacheEntry> cache = new LinkedHashMap<>(16, 0.75f, true);
+  // 원본 저장소 작업이 진행 중인 대화의 버전 (cache 잠금으로 보호, 진행 중인 작업이 없으면 제거)
+  private final Map<String, KeyState> states = new HashMap<>();
+
+  // ##### 생성자 #####
+  public CachingChatMemoryRepository(
+      ChatMemoryRepository delegate, int maxConversations, Duration idleTimeout) {
+    this(delegate, maxConversations, idleTimeout, conversationId -> {});
+  }
+
+  public CachingChatMemoryRepository(
+      ChatMemoryRepository delegate,
+      int maxConversations,
+      Duration idleTimeout,
+      Consumer<String> invalidationPublisher) {
+    this.delegate = delegate;
+    this.maxConversations = maxConversations;
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.invalidationPublisher = invalidationPublisher;
+  }
+
+  // ##### 캐시 항목 #####
+  private static class CacheEntry {
+    final List<Message> messages;
+    long lastAccess = System.nanoTime();
+
+    CacheEntry(List<Message> messages) {
+      this.messages = messages;
+    }
+  }
+
+  // ##### 대화별 버전 #####
+  private static class KeyState {
+    // 저장/삭제/무효화가 있을 때마다 증가
+    long version;
+    // 원본 저장소 작업이 진행 중인 조회/저장 수
+    int inFlight;
+    // 진행 중인 저장 수
+    int writers;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public List<String> findConversationIds() {
+    return delegate.findConversationIds();
+  }
+
+  @Override
+  public List<Message> findByConversationId(String conversationId) {
+    synchronized (cache) {
+      // 읽기만 계속되는 동안에도 유휴 항목이 남지 않도록 먼저 제거
+      evictExpired();
+      CacheEntry entry = cache.get(conversationId);
+      if (entry != null) {
+        entry.lastAccess = System.nanoTime();
+        return entry.messages;
+      }
+    }
+
+    // 캐시에 없으면 원본 저장소에서 읽어서 캐싱
+    long version;
+    synchronized (cache) {
+      version = acquire(conversationId).version;
+    }
+    List<Message> messages;
+    try {
+      messages = List.copyOf(delegate.findByConversationId(conversationId));
+    } catch (RuntimeException e) {
+      synchronized (cache) {
+        release(conversationId);
+      }
+      throw e;
+    }
+    synchronized (cache) {
+      KeyState state = release(conversationId);
+      // 읽는 동안 저장된 최신 목록이 있으면 덮어쓰지 않음
+      CacheEntry entry = cache.get(conversationId);
+      if (entry != null) {
+        return entry.messages;
+      }
+      // 읽는 동안 저장/삭제가 있었으면 읽은 목록이 최신이 아닐 수 있으므로 캐싱하지 않음
+      if (state.version == version) {
+        put(conversationId, messages);
+      }
+    }
+    return messages;
+  }
+
+  @Override
+  public void saveAll(String conversationId, List<Message> messages) {
+    long version;
+    boolean overlapped;
+    synchronized (cache) {
+      KeyState state = acquire(conversationId);
+      // 다른 저장이 진행 중이면 원본 저장소에 어느 쪽이 나중에 반영될지 알 수 없음
+      overlapped = state.writers > 0;
+      state.writers++;
+      version = ++state.version;
+    }
+    boolean saved = false;
+    try {
+      delegate.saveAll(conversationId, messages);
+      saved = true;
+    } finally {
+      synchronized (cache) {
+        KeyState state = release(conversationId);
+        state.writers--;
+        boolean latest = saved && !overlapped && state.version == version;
+        // 저장 중에 시작한 조회가 이전 목록을 캐싱하지 않도록 버전 증가
+        state.version++;
+        if (latest) {
+          put(conversationId, List.copyOf(messages));
+        } else {
+          cache.remove(conversationId);
+        }
+      }
+    }
+    invalidationPublisher.accept(conversationId);
+  }
+
+  @Override
+  public void deleteByConversationId(String conversationId) {
+    delegate.deleteByConversationId(conversationId);
+    invalidate(conversationId);
+    invalidationPublisher.accept(conversationId);
+  }
+
+  // ##### 다른 노드에서 변경된 대화를 캐시에서 제거하는 메소드 #####
+  public void invalidate(String conversationId) {
+    synchronized (cache) {
+      cache.remove(conversationId);
+      // 진행 중인 조회/저장이 변경 전 목록을 캐싱하지 않도록 버전 증가
+      KeyState state = states.get(conversationId);
+      if (state != null) {
+        state.version++;
+      }
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (cache) {
+      cache.clear();
+      states.values().forEach(state -> state.version++);
+    }
+  }
+
+  // ##### 원본 저장소 작업 시작/종료를 기록하는 메소드 (cache 잠금 안에서 호출) #####
+  private KeyState acquire(String conversationId) {
+    KeyState state = states.computeIfAbsent(conversationId, id -> new KeyState());
+    state.inFlight++;
+    return state;
+  }
+
+  private KeyState release(String conversationId) {
+    KeyState state = states.get(conversationId);
+    if (--state.inFlight == 0) {
+      states.remove(conversationId);
+    }
+    return state;
+  }
+
+  // ##### 캐시에 저장하고 오래된 항목을 제거하는 메소드 (cache 잠금 안에서 호출) #####
+  private void put(String conversationId, List<Message> messages) {
+    cache.put(conversationId, new CacheEntry(messages));
+    evictExpired();
+  }
+
+  // 맨 앞(가장 오래 사용하지 않은 대화)부터 크기 초과/유휴 항목을 제거
+  private void evictExpired() {
+    long now = System.nanoTime();
+    Iterator<CacheEntry> iterator = cache.values().iterator();
+    while (iterator.hasNext()) {
+      CacheEntry eldest = iterator.next();
+      boolean overflow = cache.size() > maxConversations;
+      boolean idle = now - eldest.lastAccess > idleTimeoutNanos;
+      if (!overflow && !idle) {
+        break;
+      }
+      iterator.remove();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.chatmemory;
+
+import java.time.Duration;
+
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.repository.cassandra.CassandraChatMemoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+@Configuration
+public class ChatMemoryConfig {
+  // ##### 대화 캐시 설정 #####
+  @Value("${app.chat-memory.cache.max-conversations:10000}")
+  private int cacheMaxConversations;
+  @Value("${app.chat-memory.cache.idle-timeout:30m}")
+  private Duration cacheIdleTimeout;
+
+  // ##### 시간 버킷 저장소 설정 #####
+  @Value("${app.chat-memory.bucketed.enabled:false}")
+  private boolean bucketedEnabled;
+  @Value("${spring.ai.chat.memory.repository.cassandra.keyspace:spring_ai}")
+  private String keyspace;
+  @Value("${app.chat-memory.bucketed.table:chat_memory_bucketed}")
+  private String bucketedTable;
+  @Value("${app.chat-memory.bucketed.bucket-size:1d}")
+  private Duration bucketSize;
+  @Value("${spring.ai.chat.memory.repository.cassandra.time-to-live:3600s}")
+  private Duration timeToLive;
+  @Value("${app.chat-memory.bucketed.max-messages:20}")
+  private int bucketedMaxMessages;
+  @Value("${app.chat-memory.bucketed.max-buckets:8}")
+  private int maxBuckets;
+  @Value("${spring.ai.chat.memory.repository.cassandra.initialize-schema:true}")
+  private boolean initializeSchema;
+
+  // ##### 서비스에서 사용할 기본 ChatMemoryRepository Bean #####
+  // Cassandra 자동 구성 Bean 또는 시간 버킷 저장소를 대화 캐시로 감쌈
+  @Bean
+  @Primary
+  public CachingChatMemoryRepository cachingChatMemoryRepository(
+      CassandraChatMemoryRepository cassandraChatMemoryRepository, CqlSession cqlSession) {
+    ChatMemoryRepository chatMemoryRepository = cassandraChatMemoryRepository;
+    if (bucketedEnabled) {
+      chatMemoryRepository = new BucketedCassandraChatMemoryRepository(
+          cqlSession, keyspace, bucketedTable, bucketSize, timeToLive,
+          bucketedMaxMessages, maxBuckets, initializeSchema);
+    }
+    return new CachingChatMemoryRepository(
+        chatMemoryRepository, cacheMaxConversations, cacheIdleTimeout);
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.chatmemory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+/*
+ * 저장소 구현들이 함께 사용하는 메시지 도우미
+ *  - toMessage(): DB에 저장된 내용과 타입으로 Message 생성
+ *  - findOverlapStart(): 저장된 윈도우와 새 윈도우가 겹치는 위치 찾기
+ *    (MessageWindowChatMemory는 매번 전체 윈도우를 저장하므로 겹치지 않는 뒷부분만 새 메시지)
+ */
+final class ChatMemoryMessages {
+  // ##### 생성자 #####
+  private ChatMemoryMessages() {
+  }
+
+  // ##### 저장된 내용과 타입으로 Message를 생성하는 메소드 #####
+  static Message toMessage(String content, MessageType type) {
+    return switch (type) {
+      case USER -> new UserMessage(content);
+      case ASSISTANT -> new AssistantMessage(content);
+      case SYSTEM -> new SystemMessage(content);
+      case TOOL -> ToolResponseMessage.builder().responses(List.of()).build();
+    };
+  }
+
+  // ##### stored[i..]가 messages의 앞부분과 같은 가장 작은 i 찾기 (없으면 -1) #####
+  // 겹치는 메시지가 하나도 없으면 이어 붙일 수 없으므로 -1 (저장된 메시지가 없을 때만 0)
+  static <T> int findOverlapStart(List<T> stored, Function<T, Message> messageOf, List<Message> messages) {
+    if (stored.isEmpty()) {
+      return 0;
+    }
+    for (int start = 0; start < stored.size(); start++) {
+      int length = stored.size() - start;
+      if (length > messages.size()) {
+        continue;
+      }
+      boolean matches = true;
+      for (int i = 0; i < length && matches; i++) {
+        matches = Objects.equals(messageOf.apply(stored.get(start + i)), messages.get(i));
+      }
+      if (matches) {
+        return start;
+      }
+    }
+    return -1;
+  }
+}
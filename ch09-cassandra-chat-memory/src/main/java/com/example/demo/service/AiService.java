@@ -5,10 +5,11 @@ import org.springframework.ai.chat.client.advisor.PromptChatMemoryAdvisor;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
-import org.springframework.ai.chat.memory.repository.cassandra.CassandraChatMemoryRepository;
 import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.chatmemory.CachingChatMemoryRepository;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -19,7 +20,8 @@ public class AiService {
   
   // ##### 생성자 #####
   public AiService(
-      CassandraChatMemoryRepository chatMemoryRepository,
+      // CassandraChatMemoryRepository chatMemoryRepository,
+      CachingChatMemoryRepository chatMemoryRepository,
       ChatClient.Builder chatClientBuilder) {
     
     ChatMemory chatMemory = MessageWindowChatMemory.builder()
@@ -0,0 +1,84 @@
+package com.example.demo.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.memory.repository.cassandra.CassandraChatMemoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.example.demo.chatmemory.BucketedCassandraChatMemoryRepository;
+
+/*
+ * 저장소별 부하 테스트 (benchmark 프로파일)
+ *  실행: docker compose up -d 후 ./gradlew benchmark (기본 test 태스크에서는 제외)
+ *  저장 공간은 측정하지 않음
+ *  (system.size_estimates는 memtable이 flush되고 주기적으로 갱신된 뒤에야 바뀌므로
+ *   한 번의 실행 안에서 비교하면 의미 없는 값이 나옴. 필요하면 nodetool flush 후 nodetool tablestats로 확인)
+ */
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@Tag("benchmark")
+class ChatMemoryBenchmarkTests {
+  // ##### 필드 #####
+  private static final Logger log = LoggerFactory.getLogger(ChatMemoryBenchmarkTests.class);
+  private static final String BUCKETED_TABLE = "chat_memory_benchmark";
+
+  @Autowired
+  private CqlSession cqlSession;
+  @Autowired
+  private CassandraChatMemoryRepository cassandraChatMemoryRepository;
+
+  @Value("${spring.ai.chat.memory.repository.cassandra.keyspace:spring_ai}")
+  private String keyspace;
+  @Value("${spring.ai.chat.memory.repository.cassandra.time-to-live:3600s}")
+  private Duration timeToLive;
+
+  @Value("${app.benchmark.users:50}")
+  private int users;
+  @Value("${app.benchmark.turns-per-user:20}")
+  private int turnsPerUser;
+  @Value("${app.benchmark.max-messages:20}")
+  private int maxMessages;
+  @Value("${app.benchmark.message-length:400}")
+  private int messageLength;
+
+  // ##### 테스트 #####
+  @Test
+  void compareRepositories() throws Exception {
+    BucketedCassandraChatMemoryRepository bucketedRepository = new BucketedCassandraChatMemoryRepository(
+        cqlSession, keyspace, BUCKETED_TABLE, Duration.ofDays(1), timeToLive, maxMessages, 8, true);
+    try {
+      List<ChatMemoryBenchmark.Target> targets = new ArrayList<>();
+      targets.add(new ChatMemoryBenchmark.Target(
+          "InMemory", new InMemoryChatMemoryRepository(), () -> -1));
+      targets.add(new ChatMemoryBenchmark.Target(
+          "Cassandra", cassandraChatMemoryRepository, () -> -1));
+      targets.add(new ChatMemoryBenchmark.Target(
+          "Cassandra(Bucketed)", bucketedRepository, () -> -1));
+
+      ChatMemoryBenchmark benchmark = new ChatMemoryBenchmark(users, turnsPerUser, maxMessages, messageLength);
+      List<ChatMemoryBenchmark.Result> results = new ArrayList<>();
+      for (ChatMemoryBenchmark.Target target : targets) {
+        results.add(benchmark.run(target));
+      }
+
+      log.info("===== 부하 테스트 결과 (users={}, turns/user={}, maxMessages={}) =====",
+          users, turnsPerUser, maxMessages);
+      results.forEach(result -> log.info(result.toString()));
+    } finally {
+      // 부하 테스트용으로 만든 테이블 삭제
+      cqlSession.execute("DROP TABLE IF EXISTS " + keyspace + "." + BUCKETED_TABLE);
+      cqlSession.execute("DROP TABLE IF EXISTS " + keyspace + "." + BUCKETED_TABLE + "_buckets");
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.chatmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+class CachingChatMemoryRepositoryTests {
+  // ##### 상수 #####
+  private static final String CONVERSATION_ID = "user1";
+  private static final List<Message> OLD = List.of(new UserMessage("안녕"));
+  private static final List<Message> NEW = List.of(new UserMessage("안녕"), new UserMessage("서울 맛집 추천"));
+
+  // ##### 첫 번째 조회/저장이 끝난 뒤 반환하기 전에 멈춰 둘 수 있는 원본 저장소 #####
+  static class PausingRepository implements ChatMemoryRepository {
+    final InMemoryChatMemoryRepository store = new InMemoryChatMemoryRepository();
+    final AtomicInteger reads = new AtomicInteger();
+    final AtomicInteger writes = new AtomicInteger();
+    final CountDownLatch paused = new CountDownLatch(1);
+    final CountDownLatch resume = new CountDownLatch(1);
+    volatile boolean pauseFirstRead;
+    volatile boolean pauseFirstWrite;
+
+    @Override
+    public List<String> findConversationIds() {
+      return store.findConversationIds();
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+      List<Message> messages = store.findByConversationId(conversationId);
+      if (reads.getAndIncrement() == 0 && pauseFirstRead) {
+        pause();
+      }
+      return messages;
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+      store.saveAll(conversationId, messages);
+      if (writes.getAndIncrement() == 0 && pauseFirstWrite) {
+        pause();
+      }
+    }
+
+    @Override
+    public void deleteByConversationId(String conversationId) {
+      store.deleteByConversationId(conversationId);
+    }
+
+    private void pause() {
+      paused.countDown();
+      try {
+        resume.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void readRacingDeleteDoesNotRecacheDeletedConversation() throws Exception {
+    PausingRepository delegate = new PausingRepository();
+    delegate.store.saveAll(CONVERSATION_ID, OLD);
+    delegate.pauseFirstRead = true;
+    CachingChatMemoryRepository repository = new CachingChatMemoryRepository(delegate, 10, Duration.ofMinutes(1));
+
+    // 삭제 전 목록을 읽은 조회가 삭제가 끝난 뒤에 캐싱을 시도
+    CompletableFuture<List<Message>> read = CompletableFuture.supplyAsync(
+        () -> repository.findByConversationId(CONVERSATION_ID));
+    assertThat(delegate.paused.await(5, TimeUnit.SECONDS)).isTrue();
+    repository.deleteByConversationId(CONVERSATION_ID);
+    delegate.resume.countDown();
+    assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo(OLD);
+
+    assertThat(repository.findByConversationId(CONVERSATION_ID)).isEmpty();
+    assertThat(delegate.reads).hasValue(2);
+  }
+
+  @Test
+  void overlappingSavesDoNotLeaveOlderListCached() throws Exception {
+    PausingRepository delegate = new PausingRepository();
+    delegate.pauseFirstWrite = true;
+    CachingChatMemoryRepository repository = new CachingChatMemoryRepository(delegate, 10, Duration.ofMinutes(1));
+
+    // 먼저 원본 저장소에 반영된 저장이 캐시는 나중에 갱신하려고 함
+    CompletableFuture<Void> first = CompletableFuture.runAsync(
+        () -> repository.saveAll(CONVERSATION_ID, NEW));
+    assertThat(delegate.paused.await(5, TimeUnit.SECONDS)).isTrue();
+    repository.saveAll(CONVERSATION_ID, OLD);
+    delegate.resume.countDown();
+    first.get(5, TimeUnit.SECONDS);
+
+    // 캐시는 원본 저장소와 같은 목록을 돌려줌
+    assertThat(repository.findByConversationId(CONVERSATION_ID))
+        .isEqualTo(delegate.store.findByConversationId(CONVERSATION_ID));
+  }
+
+  @Test
+  void saveIsCachedWithoutContention() {
+    PausingRepository delegate = new PausingRepository();
+    CachingChatMemoryRepository repository = new CachingChatMemoryRepository(delegate, 10, Duration.ofMinutes(1));
+
+    repository.saveAll(CONVERSATION_ID, NEW);
+
+    assertThat(repository.findByConversationId(CONVERSATION_ID)).isEqualTo(NEW);
+    assertThat(delegate.reads).hasValue(0);
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.chatmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+class ChatMemoryMessagesTests {
+  // ##### 필드 #####
+  private static final Message U1 = new UserMessage("안녕");
+  private static final Message A1 = new AssistantMessage("안녕하세요");
+  private static final Message U2 = new UserMessage("서울 맛집 추천");
+  private static final Message A2 = new AssistantMessage("을지로 노포를 추천합니다");
+  private static final Message U3 = new UserMessage("부산은?");
+
+  // ##### 테스트 #####
+  @Test
+  void emptyStoredAppendsEverything() {
+    assertThat(overlapStart(List.of(), List.of(U1, A1))).isZero();
+  }
+
+  @Test
+  void slidingWindowOverlapsStoredTail() {
+    // 윈도우에서 U1, A1이 밀려나고 U3가 추가됨
+    assertThat(overlapStart(List.of(U1, A1, U2, A2), List.of(U2, A2, U3))).isEqualTo(2);
+    // 그대로 다시 저장
+    assertThat(overlapStart(List.of(U1, A1, U2), List.of(U1, A1, U2))).isZero();
+  }
+
+  @Test
+  void noOverlapRequiresRewrite() {
+    // 시스템 메시지 교체 등으로 저장된 뒷부분과 전혀 겹치지 않으면 이어 붙이지 않음
+    Message replacedSystem = new SystemMessage("새 시스템 메시지");
+    assertThat(overlapStart(List.of(U1, A1, U2), List.of(replacedSystem, U3))).isEqualTo(-1);
+    assertThat(overlapStart(List.of(U1, A1, U2), List.of(U3))).isEqualTo(-1);
+    // 빈 목록으로 교체
+    assertThat(overlapStart(List.of(U1, A1, U2), List.of())).isEqualTo(-1);
+  }
+
+  @Test
+  void changedMiddleMessageRequiresRewrite() {
+    Message editedA1 = new AssistantMessage("수정된 답변");
+    assertThat(overlapStart(List.of(U1, A1, U2), List.of(U1, editedA1, U2, U3))).isEqualTo(-1);
+  }
+
+  // ##### 도우미 메소드 #####
+  private static int overlapStart(List<Message> stored, List<Message> messages) {
+    return ChatMemoryMessages.findOverlapStart(stored, Function.identity(), messages);
+  }
+}
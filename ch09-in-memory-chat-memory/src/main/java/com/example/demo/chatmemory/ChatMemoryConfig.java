@@ -0,0 +1,40 @@
+package com.example.demo.chatmemory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ChatMemoryConfig {
+  // ##### 토큰 예산 설정 #####
+  @Value("${app.chat-memory.token-budget.max-tokens:2000}")
+  private int maxTokens;
+  @Value("${app.chat-memory.token-budget.summary-max-tokens:300}")
+  private int summaryMaxTokens;
+
+  // ##### 서비스에서 사용할 ChatMemory Bean #####
+  // 자동 구성되는 MessageWindowChatMemory(maxMessages=20) 대신 사용
+  // 요약은 가상 스레드에서 실행되므로 요청 처리 스레드를 막지 않음
+  @Bean
+  public ChatMemory chatMemory(
+      ChatMemoryRepository chatMemoryRepository, ChatClient.Builder chatClientBuilder,
+      ExecutorService chatMemorySummaryExecutor) {
+    return new TokenBudgetSummarizingChatMemory(
+        chatMemoryRepository, chatClientBuilder, new JTokkitTokenCountEstimator(),
+        maxTokens, summaryMaxTokens, chatMemorySummaryExecutor);
+  }
+
+  // ##### 요약 작업용 가상 스레드 Executor #####
+  // 애플리케이션 종료 시 close()로 실행 중인 요약 작업을 마무리하고 닫음
+  @Bean(destroyMethod = "close")
+  public ExecutorService chatMemorySummaryExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+}
@@ -0,0 +1,208 @@
+package com.example.demo.chatmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 토큰 수로 윈도우 크기를 제한하고, 밀려난 메시지는 요약으로 남기는 ChatMemory
+ *  - MessageWindowChatMemory는 메시지 개수(maxMessages)로만 제한하므로
+ *    긴 문서를 한 번 붙여 넣으면 이후 모든 프롬프트가 커짐
+ *  - 윈도우 토큰 합계가 maxTokens를 넘으면 오래된 메시지부터 제거 (시스템 메시지와 최신 메시지는 유지)
+ *  - 제거된 메시지는 요청 처리와 별개로 백그라운드에서 기존 요약과 합쳐 새 요약으로 만들고 대화별로 캐싱
+ *  - get()은 [요약 시스템 메시지] + [윈도우 메시지]를 반환
+ *    → 한 번의 프롬프트에 들어가는 대화 기록은 최대 maxTokens + summaryMaxTokens
+ *  - 요약은 윈도우와 함께 제거: clear()뿐 아니라 저장소에서 윈도우가 사라진 대화의 요약도 제거
+ */
+@Slf4j
+public class TokenBudgetSummarizingChatMemory implements ChatMemory {
+  // ##### 상수 #####
+  private static final String SUMMARY_PROMPT = """
+      다음은 이전 대화 요약과 그 이후에 오간 대화입니다.
+      두 내용을 합쳐서 앞으로의 대화에 필요한 사실, 사용자의 요구 사항, 결정된 내용 위주로
+      %d 토큰 이내의 한국어로 간결하게 요약하세요.
+
+      [이전 요약]
+      %s
+
+      [대화]
+      %s
+      """;
+
+  // ##### 필드 #####
+  private final ChatMemoryRepository chatMemoryRepository;
+  private final ChatClient summaryChatClient;
+  private final TokenCountEstimator tokenCountEstimator;
+  private final int maxTokens;
+  private final int summaryMaxTokens;
+  private final Executor executor;
+  private final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+
+  // ##### 생성자 #####
+  public TokenBudgetSummarizingChatMemory(
+      ChatMemoryRepository chatMemoryRepository,
+      ChatClient.Builder chatClientBuilder,
+      TokenCountEstimator tokenCountEstimator,
+      int maxTokens,
+      int summaryMaxTokens,
+      Executor executor) {
+    this.chatMemoryRepository = chatMemoryRepository;
+    this.summaryChatClient = chatClientBuilder
+        .defaultOptions(ChatOptions.builder().maxTokens(summaryMaxTokens).build())
+        .build();
+    this.tokenCountEstimator = tokenCountEstimator;
+    this.maxTokens = maxTokens;
+    this.summaryMaxTokens = summaryMaxTokens;
+    this.executor = executor;
+  }
+
+  // ##### 대화별 요약 상태 #####
+  private static class Summary {
+    volatile String text = "";
+    // 아직 요약에 반영되지 않은 제거된 메시지
+    final List<Message> pending = new ArrayList<>();
+    boolean running;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public void add(String conversationId, List<Message> messages) {
+    List<Message> memoryMessages = chatMemoryRepository.findByConversationId(conversationId);
+
+    // 새 시스템 메시지가 있으면 기존 시스템 메시지는 교체
+    boolean hasNewSystemMessage = messages.stream().anyMatch(SystemMessage.class::isInstance);
+    List<Message> window = new ArrayList<>();
+    for (Message message : memoryMessages) {
+      if (!(hasNewSystemMessage && message instanceof SystemMessage)) {
+        window.add(message);
+      }
+    }
+    window.addAll(messages);
+
+    // 토큰 예산을 넘으면 오래된 메시지부터 제거
+    int[] tokens = window.stream().mapToInt(this::countTokens).toArray();
+    int total = 0;
+    for (int count : tokens) {
+      total += count;
+    }
+    List<Message> kept = new ArrayList<>();
+    List<Message> evicted = new ArrayList<>();
+    for (int i = 0; i < window.size(); i++) {
+      Message message = window.get(i);
+      boolean last = i == window.size() - 1;
+      if (total > maxTokens && !last && !(message instanceof SystemMessage)) {
+        evicted.add(message);
+        total -= tokens[i];
+      } else {
+        kept.add(message);
+      }
+    }
+
+    chatMemoryRepository.saveAll(conversationId, kept);
+    if (!evicted.isEmpty()) {
+      summarizeAsync(conversationId, evicted);
+    }
+  }
+
+  @Override
+  public List<Message> get(String conversationId) {
+    List<Message> messages = chatMemoryRepository.findByConversationId(conversationId);
+    Summary summary = summaries.get(conversationId);
+    if (summary == null) {
+      return messages;
+    }
+    if (messages.isEmpty()) {
+      // 윈도우가 저장소에서 제거된 대화: 요약도 함께 제거
+      summaries.remove(conversationId, summary);
+      return messages;
+    }
+    if (summary.text.isEmpty()) {
+      return messages;
+    }
+    List<Message> result = new ArrayList<>(messages.size() + 1);
+    result.add(new SystemMessage("이전 대화 요약: " + summary.text));
+    result.addAll(messages);
+    return result;
+  }
+
+  @Override
+  public void clear(String conversationId) {
+    chatMemoryRepository.deleteByConversationId(conversationId);
+    summaries.remove(conversationId);
+  }
+
+  // ##### 제거된 메시지를 백그라운드에서 요약에 합치는 메소드 #####
+  // 대화마다 요약 작업은 하나만 실행하고, 실행 중에 들어온 메시지는 다음 작업에서 함께 처리
+  private void summarizeAsync(String conversationId, List<Message> evicted) {
+    Summary summary = summaries.computeIfAbsent(conversationId, id -> new Summary());
+    synchronized (summary) {
+      summary.pending.addAll(evicted);
+      if (summary.running) {
+        return;
+      }
+      summary.running = true;
+    }
+    try {
+      executor.execute(() -> runSummary(conversationId, summary));
+    } catch (RejectedExecutionException e) {
+      // 실행하지 못하면 다음 요약 요청에서 다시 시도할 수 있도록 상태를 되돌림 (pending은 유지)
+      synchronized (summary) {
+        summary.running = false;
+      }
+      log.warn("대화 요약 작업을 시작하지 못했습니다 (conversationId={}): {}", conversationId, e.getMessage());
+    }
+  }
+
+  private void runSummary(String conversationId, Summary summary) {
+    while (true) {
+      List<Message> batch;
+      synchronized (summary) {
+        if (summary.pending.isEmpty() || summaries.get(conversationId) != summary) {
+          summary.running = false;
+          return;
+        }
+        batch = new ArrayList<>(summary.pending);
+        summary.pending.clear();
+      }
+
+      try {
+        String transcript = batch.stream()
+            .map(message -> message.getMessageType().name() + ": " + message.getText())
+            .collect(Collectors.joining("\n"));
+        String text = summaryChatClient.prompt()
+            .user(SUMMARY_PROMPT.formatted(summaryMaxTokens, summary.text, transcript))
+            .call()
+            .content();
+        if (text != null) {
+          summary.text = text;
+        }
+        // 요약하는 동안 윈도우가 저장소에서 제거되었으면 요약도 제거
+        if (chatMemoryRepository.findByConversationId(conversationId).isEmpty()) {
+          summaries.remove(conversationId, summary);
+        }
+      } catch (RuntimeException e) {
+        // 요약에 실패하면 제거된 메시지는 버리고 기존 요약을 유지
+        log.warn("대화 요약 실패 (conversationId={}): {}", conversationId, e.getMessage());
+      }
+    }
+  }
+
+  private int countTokens(Message message) {
+    String text = message.getText();
+    return text == null ? 0 : tokenCountEstimator.estimate(text);
+  }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.chatmemory;
+
+import java.time.Duration;
+
+import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.example.demo.chatmemory.PartitionedChatMemoryMaintenance.Granularity;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@EnableScheduling
+@Slf4j
+public class ChatMemoryConfig {
+  // ##### 쓰기 지연 저장소 설정 #####
+  @Value("${app.chat-memory.write-behind.table-name:SPRING_AI_CHAT_MEMORY}")
+  private String tableName;
+  @Value("${app.chat-memory.write-behind.flush-interval:200ms}")
+  private Duration flushInterval;
+  @Value("${app.chat-memory.write-behind.max-pending-messages:500}")
+  private int maxPendingMessages;
+  @Value("${app.chat-memory.write-behind.max-cached-conversations:10000}")
+  private int maxCachedConversations;
+
+  // ##### 대화 캐시 설정 #####
+  @Value("${app.chat-memory.cache.max-conversations:10000}")
+  private int cacheMaxConversations;
+  @Value("${app.chat-memory.cache.idle-timeout:30m}")
+  private Duration cacheIdleTimeout;
+
+  // ##### 시간 파티션 저장소 설정 #####
+  @Value("${app.chat-memory.partitioned.max-messages:20}")
+  private int partitionedMaxMessages;
+  @Value("${app.chat-memory.partitioned.granularity:DAY}")
+  private Granularity partitionGranularity;
+  @Value("${app.chat-memory.partitioned.partitions-ahead:3}")
+  private int partitionsAhead;
+  @Value("${app.chat-memory.partitioned.retention:30d}")
+  private Duration partitionRetention;
+  @Value("${app.chat-memory.partitioned.initialize-schema:false}")
+  private boolean partitionedInitializeSchema;
+
+  // ##### 서비스에서 사용할 기본 ChatMemoryRepository Bean #####
+  // 종료 시 close()가 호출되어 대기 중인 메시지를 모두 DB에 반영
+  @Bean
+  @Primary
+  public WriteBehindChatMemoryRepository writeBehindChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+    return new WriteBehindChatMemoryRepository(
+        jdbcTemplate, tableName, flushInterval, maxPendingMessages, maxCachedConversations);
+  }
+
+  // ##### AiService2에서 사용할 ChatMemoryRepository Bean #####
+  // 사용자 정의 Dialect로 만든 JdbcChatMemoryRepository를 대화 캐시로 감쌈
+  @Bean
+  public CachingChatMemoryRepository customDialectChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+    JdbcChatMemoryRepository chatMemoryRepository = JdbcChatMemoryRepository.builder()
+        .jdbcTemplate(jdbcTemplate)
+        .dialect(new CustomChatMemoryRepositoryDialect())
+        .build();
+    return new CachingChatMemoryRepository(
+        chatMemoryRepository, cacheMaxConversations, cacheIdleTimeout);
+  }
+
+  // ##### AiService3에서 사용할 ChatMemoryRepository Bean #####
+  // 시간 파티션 + 추가 전용 스키마 (resources/jdbc/schema-postgresql-partitioned.sql)
+  @Bean
+  public PartitionedChatMemoryRepository partitionedChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+    return new PartitionedChatMemoryRepository(
+        jdbcTemplate, new PartitionedChatMemoryRepositoryDialect(),
+        partitionedMaxMessages, partitionRetention);
+  }
+
+  // 파티션 관리는 항상 실행하고, 스키마 생성만 app.chat-memory.partitioned.initialize-schema=true일 때 실행
+  // (스키마를 직접 만든 경우에도 파티션이 미리 생성되지 않으면 INSERT가 실패함)
+  @Bean
+  public PartitionedChatMemoryMaintenance partitionedChatMemoryMaintenance(JdbcTemplate jdbcTemplate) {
+    if (partitionedInitializeSchema) {
+      new ResourceDatabasePopulator(new ClassPathResource("jdbc/schema-postgresql-partitioned.sql"))
+          .execute(jdbcTemplate.getDataSource());
+    }
+    PartitionedChatMemoryMaintenance maintenance = new PartitionedChatMemoryMaintenance(
+        jdbcTemplate, new PartitionedChatMemoryRepositoryDialect(),
+        partitionGranularity, partitionsAhead, partitionRetention);
+    try {
+      maintenance.run();
+    } catch (RuntimeException e) {
+      // 스키마가 아직 없으면 시작은 계속하고 다음 예약 실행에서 다시 시도
+      log.warn("시간 파티션 관리 실패: {}", e.getMessage());
+    }
+    return maintenance;
+  }
+}
@@ -0,0 +1,270 @@
+package com.example.demo.chatmemory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 오래 사용하지 않은 대화를 정리하는 스케줄 작업
+ *  - 요약(compact-after): 마지막 메시지 이후 일정 시간이 지난 대화는 메시지들을 요약 SYSTEM 메시지 1개로 교체
+ *  - 삭제(delete-after): 더 오래 지난 대화는 모든 메시지를 삭제
+ *  - 대상 대화는 conversation_id 순서로 batchSize개씩 이어서 찾고(conversation_id, "timestamp" 인덱스 사용)
+ *    한 번의 정리에서 같은 대화를 다시 시도하지 않고, 끝까지 훑으면 종료
+ *  - 대화 하나씩 FOR UPDATE SKIP LOCKED로 잠근 뒤 짧은 트랜잭션으로 삭제/교체
+ *    → 채팅 중인 트랜잭션이 잡고 있는 대화는 건너뛰고, 대화의 일부만 지워지지 않으며,
+ *      긴 트랜잭션이 없어서 autovacuum이 바로 공간을 회수
+ *  - 배치 사이에 batchPause만큼 쉬어서 채팅 트래픽과 I/O를 나눠 씀
+ *  - 메트릭: chat.memory.sweeper.rows (action=deleted|compacted), chat.memory.sweeper.duration
+ *    (/actuator/metrics에서 확인)
+ */
+@Component
+@Slf4j
+public class ChatMemorySweeper {
+  // ##### 상수 #####
+  private static final String SUMMARY_PROMPT = """
+      다음 대화에서 이후 대화에 필요한 사실, 사용자의 요구 사항, 결정된 내용을
+      한국어로 간결하게 요약하세요.
+
+      %s
+      """;
+
+  // ##### 필드 #####
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ChatClient chatClient;
+  private final ObjectProvider<WriteBehindChatMemoryRepository> writeBehindChatMemoryRepository;
+  private final ObjectProvider<CachingChatMemoryRepository> cachingChatMemoryRepository;
+  private final Counter deletedRows;
+  private final Counter compactedRows;
+  private final Timer sweepTimer;
+
+  @Value("${app.chat-memory.sweeper.table-name:SPRING_AI_CHAT_MEMORY}")
+  private String tableName;
+  @Value("${app.chat-memory.sweeper.compact-after:0s}")
+  private Duration compactAfter;
+  @Value("${app.chat-memory.sweeper.delete-after:7d}")
+  private Duration deleteAfter;
+  @Value("${app.chat-memory.sweeper.batch-size:1000}")
+  private int batchSize;
+  @Value("${app.chat-memory.sweeper.batch-pause:100ms}")
+  private Duration batchPause;
+
+  // ##### 생성자 #####
+  public ChatMemorySweeper(
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      ChatClient.Builder chatClientBuilder,
+      ObjectProvider<WriteBehindChatMemoryRepository> writeBehindChatMemoryRepository,
+      ObjectProvider<CachingChatMemoryRepository> cachingChatMemoryRepository,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.chatClient = chatClientBuilder.build();
+    this.writeBehindChatMemoryRepository = writeBehindChatMemoryRepository;
+    this.cachingChatMemoryRepository = cachingChatMemoryRepository;
+    this.deletedRows = Counter.builder("chat.memory.sweeper.rows")
+        .tag("action", "deleted")
+        .description("정리 작업으로 회수한 행 수")
+        .register(meterRegistry);
+    this.compactedRows = Counter.builder("chat.memory.sweeper.rows")
+        .tag("action", "compacted")
+        .description("요약으로 대체된 행 수")
+        .register(meterRegistry);
+    this.sweepTimer = Timer.builder("chat.memory.sweeper.duration")
+        .description("정리 작업 소요 시간")
+        .register(meterRegistry);
+  }
+
+  // ##### 정리 작업 (기본: 10분마다) #####
+  @Scheduled(
+      fixedDelayString = "${app.chat-memory.sweeper.interval:10m}",
+      initialDelayString = "${app.chat-memory.sweeper.initial-delay:1m}")
+  public void sweep() {
+    sweepTimer.record(() -> {
+      try {
+        long deleted = deleteIdleConversations();
+        long compacted = compactIdleConversations();
+        log.info("대화 정리 완료: 삭제 {}행, 요약 {}행", deleted, compacted);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        log.error("대화 정리 실패: {}", e.getMessage());
+      }
+    });
+  }
+
+  // ##### deleteAfter 동안 새 메시지가 없는 대화를 하나씩 삭제 #####
+  public long deleteIdleConversations() throws InterruptedException {
+    Timestamp cutoff = Timestamp.from(Instant.now().minus(deleteAfter));
+    long total = 0;
+    // 이번 정리에서 이미 시도한 대화 다음부터 찾음
+    String after = "";
+    List<String> conversationIds;
+    do {
+      conversationIds = findIdleConversationIds(after, cutoff, 1);
+      for (String conversationId : conversationIds) {
+        try {
+          total += delete(conversationId, cutoff);
+        } catch (RuntimeException e) {
+          log.warn("대화 삭제 실패: conversationId={}, {}", conversationId, e.getMessage());
+        }
+      }
+      if (!conversationIds.isEmpty()) {
+        after = conversationIds.get(conversationIds.size() - 1);
+      }
+      pause(conversationIds.size());
+    } while (conversationIds.size() == batchSize);
+    return total;
+  }
+
+  private long delete(String conversationId, Timestamp cutoff) {
+    Long deleted = transactionTemplate.execute(status -> {
+      // 사용 중인 행이 있거나 찾은 뒤에 새 메시지가 들어왔으면 건너뜀
+      List<Timestamp> locked = jdbcTemplate.queryForList("""
+          SELECT "timestamp" FROM %s WHERE conversation_id = ?
+          FOR UPDATE SKIP LOCKED
+          """.formatted(tableName), Timestamp.class, conversationId);
+      Integer rows = jdbcTemplate.queryForObject(
+          "SELECT count(*) FROM %s WHERE conversation_id = ?".formatted(tableName), Integer.class, conversationId);
+      if (locked.isEmpty() || rows == null || locked.size() != rows
+          || locked.stream().anyMatch(ts -> !ts.before(cutoff))) {
+        return 0L;
+      }
+      return (long) jdbcTemplate.update(
+          "DELETE FROM %s WHERE conversation_id = ?".formatted(tableName), conversationId);
+    });
+
+    long count = deleted == null ? 0 : deleted;
+    if (count > 0) {
+      deletedRows.increment(count);
+      // 메모리에 들고 있는 삭제된 대화도 제거
+      evictFromMemory(conversationId);
+    }
+    return count;
+  }
+
+  // ##### compactAfter 동안 새 메시지가 없는 대화를 요약 메시지 1개로 교체 #####
+  public long compactIdleConversations() throws InterruptedException {
+    if (compactAfter.isZero()) {
+      return 0;
+    }
+    Timestamp cutoff = Timestamp.from(Instant.now().minus(compactAfter));
+    long total = 0;
+    // 이번 정리에서 이미 시도한 대화 다음부터 찾음 (실패하거나 건너뛴 대화를 다시 시도하지 않음)
+    String after = "";
+    List<String> conversationIds;
+    do {
+      conversationIds = findIdleConversationIds(after, cutoff, 2);
+      for (String conversationId : conversationIds) {
+        try {
+          total += compact(conversationId);
+        } catch (RuntimeException e) {
+          log.warn("대화 요약 실패: conversationId={}, {}", conversationId, e.getMessage());
+        }
+      }
+      if (!conversationIds.isEmpty()) {
+        after = conversationIds.get(conversationIds.size() - 1);
+      }
+      pause(conversationIds.size());
+    } while (conversationIds.size() == batchSize);
+    return total;
+  }
+
+  // ##### after 다음부터 마지막 메시지가 cutoff 이전이고 행이 minRows개 이상인 대화를 batchSize개 찾기 #####
+  private List<String> findIdleConversationIds(String after, Timestamp cutoff, int minRows) {
+    // conversation_id를 인덱스 순서로 하나씩 건너뛰며 찾고(loose index scan),
+    // 대화마다 마지막 시각과 행 수(minRows개까지)도 인덱스로 확인
+    String sql = """
+        WITH RECURSIVE ids AS (
+          (SELECT conversation_id FROM %1$s WHERE conversation_id > ? ORDER BY conversation_id LIMIT 1)
+          UNION ALL
+          SELECT (SELECT conversation_id FROM %1$s
+                  WHERE conversation_id > ids.conversation_id ORDER BY conversation_id LIMIT 1)
+          FROM ids WHERE ids.conversation_id IS NOT NULL
+        )
+        SELECT conversation_id FROM ids
+        WHERE conversation_id IS NOT NULL
+          AND (SELECT max("timestamp") FROM %1$s m WHERE m.conversation_id = ids.conversation_id) < ?
+          AND (SELECT count(*) FROM (SELECT 1 FROM %1$s m WHERE m.conversation_id = ids.conversation_id
+                                     LIMIT ?) n) >= ?
+        LIMIT ?
+        """.formatted(tableName);
+    return jdbcTemplate.queryForList(sql, String.class, after, cutoff, minRows, minRows, batchSize);
+  }
+
+  private long compact(String conversationId) {
+    record Row(String type, String content, Timestamp timestamp) {
+    }
+    List<Row> rows = jdbcTemplate.query("""
+        SELECT type, content, "timestamp" FROM %s
+        WHERE conversation_id = ? ORDER BY "timestamp"
+        """.formatted(tableName),
+        (rs, rowNum) -> new Row(rs.getString("type"), rs.getString("content"), rs.getTimestamp("timestamp")),
+        conversationId);
+    if (rows.size() <= 1) {
+      return 0;
+    }
+
+    // LLM 호출은 트랜잭션 밖에서 실행 (행 잠금을 오래 잡지 않도록)
+    String transcript = rows.stream()
+        .map(row -> row.type() + ": " + row.content())
+        .collect(Collectors.joining("\n"));
+    String summary = chatClient.prompt()
+        .user(SUMMARY_PROMPT.formatted(transcript))
+        .call()
+        .content();
+    Timestamp last = rows.get(rows.size() - 1).timestamp();
+
+    Long replaced = transactionTemplate.execute(status -> {
+      // 요약하는 동안 새 메시지가 들어왔거나 사용 중인 행이 있으면 건너뜀
+      List<Timestamp> locked = jdbcTemplate.queryForList("""
+          SELECT "timestamp" FROM %s WHERE conversation_id = ?
+          FOR UPDATE SKIP LOCKED
+          """.formatted(tableName), Timestamp.class, conversationId);
+      if (locked.size() != rows.size() || locked.stream().anyMatch(ts -> ts.after(last))) {
+        return 0L;
+      }
+      int count = jdbcTemplate.update("DELETE FROM %s WHERE conversation_id = ?".formatted(tableName),
+          conversationId);
+      // 요약 메시지는 마지막 메시지 시각을 유지해서 삭제 기준(deleteAfter)이 그대로 적용되게 함
+      jdbcTemplate.update("""
+          INSERT INTO %s (conversation_id, content, type, "timestamp") VALUES (?, ?, 'SYSTEM', ?)
+          """.formatted(tableName), conversationId, "이전 대화 요약: " + summary, last);
+      return (long) count - 1;
+    });
+
+    long compacted = replaced == null ? 0 : replaced;
+    if (compacted > 0) {
+      compactedRows.increment(compacted);
+      evictFromMemory(conversationId);
+    }
+    return compacted;
+  }
+
+  // ##### DB에서 바뀐 대화를 메모리(쓰기 지연 저장소, 읽기 캐시)에서 제거 #####
+  private void evictFromMemory(String conversationId) {
+    writeBehindChatMemoryRepository.ifAvailable(repository -> repository.forget(conversationId));
+    cachingChatMemoryRepository.ifAvailable(repository -> repository.invalidate(conversationId));
+  }
+
+  private void pause(int processed) throws InterruptedException {
+    if (processed > 0 && !batchPause.isZero()) {
+      Thread.sleep(batchPause);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.chatmemory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 시간 파티션 메시지 테이블 관리
+ *  - 앞으로 사용할 파티션을 미리 생성 (INSERT 시점에 파티션이 없어서 실패하지 않도록)
+ *  - 보관 기간이 지난 파티션은 DROP TABLE로 한 번에 삭제
+ *    (행 단위 DELETE와 달리 테이블 팽창이나 VACUUM 부담이 없음)
+ */
+@Slf4j
+public class PartitionedChatMemoryMaintenance {
+  // ##### 상수 #####
+  public enum Granularity {
+    DAY(ChronoUnit.DAYS, "yyyyMMdd"),
+    MONTH(ChronoUnit.MONTHS, "yyyyMM");
+
+    private final ChronoUnit unit;
+    private final DateTimeFormatter formatter;
+
+    Granularity(ChronoUnit unit, String pattern) {
+      this.unit = unit;
+      this.formatter = DateTimeFormatter.ofPattern(pattern);
+    }
+
+    LocalDate truncate(LocalDate date) {
+      return this == MONTH ? date.withDayOfMonth(1) : date;
+    }
+
+    LocalDate parse(String suffix) {
+      return this == MONTH
+          ? LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE)
+          : LocalDate.parse(suffix, formatter);
+    }
+  }
+
+  private static final String PARTITION_PREFIX =
+      PartitionedChatMemoryRepositoryDialect.MESSAGE_TABLE_NAME.toLowerCase() + "_p";
+
+  // ##### 필드 #####
+  private final JdbcTemplate jdbcTemplate;
+  private final PartitionedChatMemoryRepositoryDialect dialect;
+  private final Granularity granularity;
+  private final int partitionsAhead;
+  private final Duration retention;
+
+  // ##### 생성자 #####
+  public PartitionedChatMemoryMaintenance(
+      JdbcTemplate jdbcTemplate,
+      PartitionedChatMemoryRepositoryDialect dialect,
+      Granularity granularity,
+      int partitionsAhead,
+      Duration retention) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.dialect = dialect;
+    this.granularity = granularity;
+    this.partitionsAhead = partitionsAhead;
+    this.retention = retention;
+  }
+
+  // ##### 파티션 생성과 보관 기간이 지난 파티션 삭제 (기본: 매일 00:10) #####
+  @Scheduled(cron = "${app.chat-memory.partitioned.maintenance-cron:0 10 0 * * *}")
+  public void run() {
+    createPartitions();
+    dropExpiredPartitions();
+  }
+
+  // ##### 현재부터 partitionsAhead개 이후까지 파티션을 생성하는 메소드 #####
+  public void createPartitions() {
+    LocalDate start = granularity.truncate(LocalDate.now());
+    for (int i = 0; i <= partitionsAhead; i++) {
+      LocalDate from = start.plus(i, granularity.unit);
+      LocalDate to = from.plus(1, granularity.unit);
+      jdbcTemplate.execute(dialect.getCreatePartitionSql(
+          PARTITION_PREFIX + from.format(granularity.formatter), from.toString(), to.toString()));
+    }
+  }
+
+  // ##### 모든 행이 보관 기간을 넘긴 파티션을 삭제하는 메소드 #####
+  public int dropExpiredPartitions() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    int dropped = 0;
+    for (String partitionName : jdbcTemplate.queryForList(
+        dialect.getSelectPartitionNamesSql(), String.class)) {
+      if (!partitionName.startsWith(PARTITION_PREFIX)) {
+        continue;
+      }
+      LocalDate from;
+      try {
+        from = granularity.parse(partitionName.substring(PARTITION_PREFIX.length()));
+      } catch (DateTimeParseException e) {
+        continue;
+      }
+      // 파티션의 상한(다음 파티션 시작)이 기준 시각 이전이면 삭제
+      if (!from.plus(1, granularity.unit).atStartOfDay().isAfter(cutoff)) {
+        jdbcTemplate.execute(dialect.getDropPartitionSql(partitionName));
+        dropped++;
+        log.info("보관 기간이 지난 파티션 삭제: {}", partitionName);
+      }
+    }
+
+    // 대화 목록도 보관 기간이 지난 대화는 삭제 (작은 테이블이므로 행 단위로 처리)
+    jdbcTemplate.update(dialect.getDeleteExpiredConversationsSql(), Timestamp.valueOf(cutoff));
+    return dropped;
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.chatmemory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 시간 파티션 + 추가 전용(append-only) 스키마를 사용하는 ChatMemoryRepository
+ *  - 조회: 최근 maxMessages개만 LIMIT으로 읽음 (전체 이력을 읽고 정렬하지 않음)
+ *  - 저장: 현재 윈도우와 비교해서 새로 추가된 메시지만 INSERT (기존 행은 DELETE 하지 않음)
+ *  - 대화 목록: SELECT DISTINCT 대신 대화 목록 테이블을 조회
+ *  - 오래된 메시지는 행 단위 DELETE 대신 PartitionedChatMemoryMaintenance가 파티션째 삭제
+ */
+@Slf4j
+public class PartitionedChatMemoryRepository implements ChatMemoryRepository {
+  // ##### 필드 #####
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PartitionedChatMemoryRepositoryDialect dialect;
+  private final int maxMessages;
+  private final Duration retention;
+
+  // ##### 생성자 #####
+  public PartitionedChatMemoryRepository(
+      JdbcTemplate jdbcTemplate,
+      PartitionedChatMemoryRepositoryDialect dialect,
+      int maxMessages,
+      Duration retention) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(
+        new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    this.dialect = dialect;
+    this.maxMessages = maxMessages;
+    this.retention = retention;
+  }
+
+  // ##### 저장된 메시지 (메시지 + 저장 시각) #####
+  private record StoredMessage(Message message, Instant timestamp) {
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public List<String> findConversationIds() {
+    return jdbcTemplate.queryForList(dialect.getSelectConversationIdsSql(), String.class);
+  }
+
+  @Override
+  public List<Message> findByConversationId(String conversationId) {
+    return findRecentMessages(conversationId).stream().map(StoredMessage::message).toList();
+  }
+
+  @Override
+  public void saveAll(String conversationId, List<Message> messages) {
+    transactionTemplate.executeWithoutResult(status -> {
+      List<StoredMessage> current = findRecentMessages(conversationId);
+
+      // 현재 윈도우의 뒷부분과 겹치지 않는 메시지만 추가
+      int start = ChatMemoryMessages.findOverlapStart(current, StoredMessage::message, messages);
+      List<Message> appended;
+      if (start < 0) {
+        // 중간 메시지가 바뀐 경우(예: 시스템 메시지 교체): 대화를 새로 시작
+        jdbcTemplate.update(dialect.getDeleteConversationSql(), conversationId);
+        appended = messages;
+      } else {
+        appended = messages.subList(current.size() - start, messages.size());
+      }
+      if (appended.isEmpty()) {
+        return;
+      }
+
+      // 같은 대화 안에서 "timestamp"가 항상 증가하도록 보정 (마이크로초 정밀도)
+      Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+      if (!current.isEmpty()) {
+        Instant last = current.get(current.size() - 1).timestamp();
+        if (!timestamp.isAfter(last)) {
+          timestamp = last.plus(1, ChronoUnit.MICROS);
+        }
+      }
+      List<Object[]> batchArgs = new ArrayList<>(appended.size());
+      for (Message message : appended) {
+        batchArgs.add(new Object[] {
+            conversationId,
+            message.getText(),
+            message.getMessageType().name(),
+            Timestamp.from(timestamp)
+        });
+        timestamp = timestamp.plus(1, ChronoUnit.MICROS);
+      }
+      jdbcTemplate.batchUpdate(dialect.getInsertMessageSql(), batchArgs);
+    });
+  }
+
+  @Override
+  public void deleteByConversationId(String conversationId) {
+    jdbcTemplate.update(dialect.getDeleteConversationSql(), conversationId);
+  }
+
+  // ##### 최근 maxMessages개 메시지를 조회하는 메소드 #####
+  private List<StoredMessage> findRecentMessages(String conversationId) {
+    Timestamp from = Timestamp.from(Instant.now().minus(retention));
+    return jdbcTemplate.query(dialect.getSelectRecentMessagesSql(),
+        (rs, rowNum) -> new StoredMessage(
+            ChatMemoryMessages.toMessage(rs.getString("content"), MessageType.valueOf(rs.getString("type"))),
+            rs.getTimestamp("timestamp").toInstant()),
+        conversationId, from, maxMessages);
+  }
+
+}
@@ -0,0 +1,95 @@
+package com.example.demo.chatmemory;
+
+/*
+ * 시간 파티션 + 추가 전용(append-only) 스키마용 SQL
+ * (resources/jdbc/schema-postgresql-partitioned.sql)
+ *
+ * JdbcChatMemoryRepositoryDialect는 저장할 때마다 대화 전체를 DELETE 후 INSERT 하는 구조라서
+ * 추가 전용 스키마에는 맞지 않으므로 PartitionedChatMemoryRepository에서 사용하는 별도 Dialect로 작성
+ */
+public class PartitionedChatMemoryRepositoryDialect {
+  // ##### 상수 #####
+  public static final String MESSAGE_TABLE_NAME = "SPRING_AI_CHAT_MESSAGE";
+  public static final String CONVERSATION_TABLE_NAME = "SPRING_AI_CHAT_CONVERSATION";
+
+  // ##### 최근 N개 메시지를 시간순으로 조회 #####
+  // 파라미터: conversation_id, 조회 시작 시각(보관 기간), LIMIT
+  // "timestamp" 하한 조건으로 보관 기간이 지난 파티션은 실행 시점에 제외(pruning)됨
+  public String getSelectRecentMessagesSql() {
+    return """
+        SELECT content, type, "timestamp" FROM (
+          SELECT m.content, m.type, m."timestamp"
+          FROM SPRING_AI_CHAT_MESSAGE m
+          JOIN SPRING_AI_CHAT_CONVERSATION c ON c.conversation_id = m.conversation_id
+          WHERE m.conversation_id = ?
+            AND m."timestamp" >= ?
+            AND m."timestamp" >= c.started_at
+          ORDER BY m."timestamp" DESC
+          LIMIT ?
+        ) recent
+        ORDER BY "timestamp"
+    """;
+  }
+
+  // ##### 메시지 추가와 대화 목록 갱신을 한 문장으로 처리 #####
+  // 파라미터: conversation_id, content, type, "timestamp"
+  public String getInsertMessageSql() {
+    return """
+        WITH inserted AS (
+          INSERT INTO SPRING_AI_CHAT_MESSAGE
+          (conversation_id, content, type, "timestamp")
+          VALUES (?, ?, ?, ?)
+          RETURNING conversation_id, "timestamp"
+        )
+        INSERT INTO SPRING_AI_CHAT_CONVERSATION (conversation_id, started_at, last_message_at)
+        SELECT conversation_id, "timestamp", "timestamp" FROM inserted
+        ON CONFLICT (conversation_id)
+        DO UPDATE SET last_message_at = GREATEST(
+          SPRING_AI_CHAT_CONVERSATION.last_message_at, EXCLUDED.last_message_at)
+    """;
+  }
+
+  public String getSelectConversationIdsSql() {
+    return """
+        SELECT conversation_id FROM SPRING_AI_CHAT_CONVERSATION
+    """;
+  }
+
+  // ##### 대화 삭제: 메시지 행은 그대로 두고 대화 목록에서만 제거 #####
+  // 같은 ID로 다시 저장하면 started_at이 새로 기록되어 이전 메시지는 조회되지 않음
+  public String getDeleteConversationSql() {
+    return """
+        DELETE FROM SPRING_AI_CHAT_CONVERSATION WHERE conversation_id = ?
+    """;
+  }
+
+  // ##### 보관 기간이 지난 대화 목록 삭제 #####
+  public String getDeleteExpiredConversationsSql() {
+    return """
+        DELETE FROM SPRING_AI_CHAT_CONVERSATION WHERE last_message_at < ?
+    """;
+  }
+
+  // ##### 파티션 관리 #####
+  public String getCreatePartitionSql(String partitionName, String from, String to) {
+    return """
+        CREATE TABLE IF NOT EXISTS %s PARTITION OF SPRING_AI_CHAT_MESSAGE
+        FOR VALUES FROM ('%s') TO ('%s')
+    """.formatted(partitionName, from, to);
+  }
+
+  public String getSelectPartitionNamesSql() {
+    return """
+        SELECT child.relname FROM pg_inherits
+        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = lower('SPRING_AI_CHAT_MESSAGE')
+    """;
+  }
+
+  public String getDropPartitionSql(String partitionName) {
+    return """
+        DROP TABLE IF EXISTS %s
+    """.formatted(partitionName);
+  }
+}
@@ -0,0 +1,472 @@
+package com.example.demo.chatmemory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 쓰기 지연(write-behind) 방식의 JDBC ChatMemoryRepository
+ *
+ * JdbcChatMemoryRepository는 saveAll() 때마다 대화 전체를 DELETE 후 다시 INSERT 하지만,
+ * 이 저장소는 이전에 저장한 목록과 비교해서
+ *  - 새로 추가된 메시지만 INSERT 대기열에 넣고
+ *  - 윈도우에서 밀려난 메시지는 "timestamp" 기준 DELETE 한 문장으로 처리
+ * 대기열은 flushInterval 주기 또는 maxPendingMessages 개가 쌓이면 JDBC 배치로 한 번에 반영
+ *
+ * 같은 conversationId의 읽기는 메모리의 최신 목록을 반환하므로 쓰기 결과를 바로 읽을 수 있음
+ * 시스템 메시지는 윈도우에서 밀려나지 않으므로(MessageWindowChatMemory) 비교할 때 따로 맞춰 보고,
+ * 밀려난 메시지 삭제에서도 제외
+ *
+ * 생성자에서 flush 스케줄러를 시작하므로 하위 클래스가 초기화되기 전에 실행되지 않도록 final로 선언
+ */
+@Slf4j
+public final class WriteBehindChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
+  // ##### 필드 #####
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final String tableName;
+  private final int maxPendingMessages;
+  private final int maxCachedConversations;
+
+  private final Map<String, ConversationState> states = new ConcurrentHashMap<>();
+  private final Set<String> dirtyConversationIds = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger pendingMessages = new AtomicInteger();
+  // 메모리에서 제거한 대화 수 (DB에서 읽는 동안 제거가 있었는지 확인할 때 사용)
+  private final AtomicLong evictions = new AtomicLong();
+  private final ScheduledExecutorService scheduler;
+  private final Object flushLock = new Object();
+
+  // ##### 생성자 #####
+  public WriteBehindChatMemoryRepository(
+      JdbcTemplate jdbcTemplate,
+      String tableName,
+      Duration flushInterval,
+      int maxPendingMessages,
+      int maxCachedConversations) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(
+        new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    this.tableName = tableName;
+    this.maxPendingMessages = maxPendingMessages;
+    this.maxCachedConversations = maxCachedConversations;
+
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "chat-memory-write-behind");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = flushInterval.toMillis();
+    this.scheduler.scheduleWithFixedDelay(
+        this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  // ##### 저장된 메시지 (메시지 + 저장 시각) #####
+  private record StoredMessage(Message message, Instant timestamp) {
+  }
+
+  // ##### 대화별 메모리 상태와 DB 반영 대기 작업 #####
+  private static class ConversationState {
+    // 현재 윈도우 (DB에 반영될 최종 상태)
+    List<StoredMessage> messages = new ArrayList<>();
+    // DB 반영 대기 작업: deleteAll → evictBefore 이전 삭제 → inserts 순서로 실행
+    boolean deleteAll;
+    Instant evictBefore;
+    List<StoredMessage> inserts = new ArrayList<>();
+    Instant lastTimestamp = Instant.EPOCH;
+    volatile long lastAccess = System.nanoTime();
+    // 메모리에서 제거된 상태 (잠금을 잡은 뒤 이 값이 true면 상태를 다시 읽어야 함)
+    boolean evicted;
+
+    boolean hasPendingWork() {
+      return deleteAll || evictBefore != null || !inserts.isEmpty();
+    }
+
+    Instant nextTimestamp() {
+      // PostgreSQL TIMESTAMP 정밀도(마이크로초)에서도 순서가 유지되도록 증가
+      Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+      lastTimestamp = now.isAfter(lastTimestamp) ? now : lastTimestamp.plus(1, ChronoUnit.MICROS);
+      return lastTimestamp;
+    }
+  }
+
+  // ##### DB에 반영하기 위해 꺼낸 작업 #####
+  private record PendingWork(String conversationId, boolean deleteAll, Instant evictBefore,
+      List<StoredMessage> inserts) {
+  }
+
+  //-------------------------------------------------------------------------------
+  @Override
+  public List<String> findConversationIds() {
+    // 대기 중인 작업을 먼저 반영해야 DB 조회 결과가 정확함
+    flush();
+    return jdbcTemplate.queryForList(
+        "SELECT DISTINCT conversation_id FROM %s".formatted(tableName), String.class);
+  }
+
+  @Override
+  public List<Message> findByConversationId(String conversationId) {
+    return withState(conversationId, this::loadState, state -> {
+      state.lastAccess = System.nanoTime();
+      return state.messages.stream().map(StoredMessage::message).toList();
+    });
+  }
+
+  @Override
+  public void saveAll(String conversationId, List<Message> messages) {
+    int added = withState(conversationId, this::loadState, state -> {
+      state.lastAccess = System.nanoTime();
+      List<StoredMessage> old = state.messages;
+
+      // 이전 목록에서 그대로 남은 메시지를 찾아서 새 윈도우 구성
+      List<StoredMessage> updated = reuse(old, messages);
+      List<StoredMessage> newMessages = new ArrayList<>();
+      if (updated == null) {
+        // 중간 메시지가 바뀐 경우(예: 시스템 메시지 교체): 대화 전체를 다시 저장
+        state.deleteAll = true;
+        state.evictBefore = null;
+        pendingMessages.addAndGet(-state.inserts.size());
+        state.inserts.clear();
+        updated = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+          newMessages.add(new StoredMessage(message, state.nextTimestamp()));
+        }
+        updated.addAll(newMessages);
+      } else {
+        // 재사용하지 않은(null) 자리는 새 메시지
+        for (int i = 0; i < updated.size(); i++) {
+          if (updated.get(i) == null) {
+            StoredMessage stored = new StoredMessage(messages.get(i), state.nextTimestamp());
+            updated.set(i, stored);
+            newMessages.add(stored);
+          }
+        }
+
+        // 윈도우에서 밀려난 메시지 삭제 예약 (아직 INSERT 전이면 대기열에서만 제거)
+        List<StoredMessage> kept = nonSystem(updated).stream()
+            .filter(stored -> !newMessages.contains(stored)).toList();
+        int evicted = nonSystem(old).size() - kept.size();
+        if (evicted > 0) {
+          // 남은 메시지가 없으면 새 메시지보다 앞선 행은 모두 삭제
+          Instant cutoff = !kept.isEmpty() ? kept.get(0).timestamp()
+              : newMessages.isEmpty() ? state.lastTimestamp.plus(1, ChronoUnit.MICROS)
+              : newMessages.get(0).timestamp();
+          state.evictBefore = cutoff;
+          int before = state.inserts.size();
+          state.inserts.removeIf(stored -> isEvicted(stored, cutoff));
+          pendingMessages.addAndGet(state.inserts.size() - before);
+        }
+      }
+      state.inserts.addAll(newMessages);
+      state.messages = updated;
+      return newMessages.size();
+    });
+
+    dirtyConversationIds.add(conversationId);
+    if (pendingMessages.addAndGet(added) >= maxPendingMessages) {
+      scheduler.execute(this::flushQuietly);
+    }
+  }
+
+  @Override
+  public void deleteByConversationId(String conversationId) {
+    withState(conversationId, id -> states.computeIfAbsent(id, key -> new ConversationState()), state -> {
+      pendingMessages.addAndGet(-state.inserts.size());
+      state.messages = new ArrayList<>();
+      state.inserts.clear();
+      state.evictBefore = null;
+      state.deleteAll = true;
+      return null;
+    });
+    dirtyConversationIds.add(conversationId);
+  }
+
+  // ##### 제거되지 않은 상태를 잠그고 작업을 실행하는 메소드 #####
+  // 상태를 얻은 뒤 잠그기 전에 메모리에서 제거되었으면 다시 얻어서 실행
+  private <T> T withState(String conversationId, Function<String, ConversationState> loader,
+      Function<ConversationState, T> action) {
+    while (true) {
+      ConversationState state = loader.apply(conversationId);
+      synchronized (state) {
+        if (!state.evicted) {
+          return action.apply(state);
+        }
+      }
+    }
+  }
+
+  // ##### 새 목록의 각 자리에 재사용할 이전 메시지를 채운 목록 (새 메시지 자리는 null, 비교할 수 없으면 null) #####
+  // - 시스템 메시지는 이전과 같은 순서로 모두 같아야 함
+  // - 시스템 메시지를 뺀 나머지는 이전 목록의 뒷부분이 새 목록의 앞부분과 같아야 함
+  private List<StoredMessage> reuse(List<StoredMessage> old, List<Message> messages) {
+    List<StoredMessage> oldSystem = old.stream()
+        .filter(stored -> stored.message().getMessageType() == MessageType.SYSTEM).toList();
+    List<Message> newSystem = messages.stream()
+        .filter(message -> message.getMessageType() == MessageType.SYSTEM).toList();
+    if (oldSystem.size() != newSystem.size()) {
+      return null;
+    }
+    for (int i = 0; i < oldSystem.size(); i++) {
+      if (!Objects.equals(oldSystem.get(i).message(), newSystem.get(i))) {
+        return null;
+      }
+    }
+
+    List<StoredMessage> oldTail = nonSystem(old);
+    List<Message> newTail = messages.stream()
+        .filter(message -> message.getMessageType() != MessageType.SYSTEM).toList();
+    int start = ChatMemoryMessages.findOverlapStart(oldTail, StoredMessage::message, newTail);
+    if (start < 0) {
+      return null;
+    }
+
+    List<StoredMessage> updated = new ArrayList<>(messages.size());
+    int systemIndex = 0;
+    int tailIndex = start;
+    Instant last = null;
+    boolean seenNew = false;
+    for (Message message : messages) {
+      StoredMessage stored = message.getMessageType() == MessageType.SYSTEM ? oldSystem.get(systemIndex++)
+          : tailIndex < oldTail.size() ? oldTail.get(tailIndex++) : null;
+      if (stored != null) {
+        // DB 조회 순서("timestamp")가 새 목록 순서와 같아야 재사용 가능
+        if (seenNew || (last != null && !stored.timestamp().isAfter(last))) {
+          return null;
+        }
+        last = stored.timestamp();
+      } else {
+        seenNew = true;
+      }
+      updated.add(stored);
+    }
+    return updated;
+  }
+
+  private List<StoredMessage> nonSystem(List<StoredMessage> messages) {
+    return messages.stream()
+        .filter(stored -> stored.message().getMessageType() != MessageType.SYSTEM).toList();
+  }
+
+  // 밀려난 메시지 삭제 대상인지 확인 (시스템 메시지는 삭제하지 않음)
+  private boolean isEvicted(StoredMessage stored, Instant cutoff) {
+    return stored.timestamp().isBefore(cutoff) && stored.message().getMessageType() != MessageType.SYSTEM;
+  }
+
+  // ##### 메모리에 없으면 DB에서 읽어서 상태를 만드는 메소드 #####
+  // DB 조회는 맵 밖에서 실행 (computeIfAbsent 안에서 조회하면 같은 해시 구간의 다른 대화까지 기다리게 됨)
+  private ConversationState loadState(String conversationId) {
+    while (true) {
+      ConversationState state = states.get(conversationId);
+      if (state != null) {
+        return state;
+      }
+      long evictionsBefore = evictions.get();
+      ConversationState loaded = readState(conversationId);
+      // 읽는 동안 다른 스레드가 먼저 만든 상태가 있으면 그것을 사용
+      ConversationState existing = states.putIfAbsent(conversationId, loaded);
+      if (existing != null) {
+        return existing;
+      }
+      // 읽는 동안 메모리에서 제거된 대화가 있으면 제거 직전에 반영된 내용을 못 읽었을 수 있으므로 다시 읽음
+      if (evictions.get() != evictionsBefore) {
+        states.computeIfPresent(conversationId, (id, current) -> current == loaded ? evictIfIdle(current) : current);
+        continue;
+      }
+      return loaded;
+    }
+  }
+
+  private ConversationState readState(String conversationId) {
+    ConversationState state = new ConversationState();
+    state.messages = new ArrayList<>(jdbcTemplate.query("""
+        SELECT content, type, "timestamp" FROM %s
+        WHERE conversation_id = ? ORDER BY "timestamp"
+        """.formatted(tableName),
+        (rs, rowNum) -> new StoredMessage(
+            ChatMemoryMessages.toMessage(rs.getString("content"), MessageType.valueOf(rs.getString("type"))),
+            rs.getTimestamp("timestamp").toInstant()),
+        conversationId));
+    if (!state.messages.isEmpty()) {
+      state.lastTimestamp = state.messages.get(state.messages.size() - 1).timestamp();
+    }
+    return state;
+  }
+
+  // ##### DB에서 직접 정리된 대화를 메모리에서 제거하는 메소드 (반영 대기 작업이 있으면 유지) #####
+  public void forget(String conversationId) {
+    states.computeIfPresent(conversationId, (id, state) -> evictIfIdle(state));
+  }
+
+  // 반영 대기 작업이 없으면 제거 표시를 하고 null(맵에서 제거)을 반환
+  private ConversationState evictIfIdle(ConversationState state) {
+    synchronized (state) {
+      if (state.hasPendingWork()) {
+        return state;
+      }
+      // 맵에서 제거되기 전에 증가시켜서 loadState()가 제거를 놓치지 않게 함
+      evictions.incrementAndGet();
+      state.evicted = true;
+      return null;
+    }
+  }
+
+  //-------------------------------------------------------------------------------
+  // ##### 대기 중인 작업을 DB에 반영하는 메소드 #####
+  public void flush() {
+    synchronized (flushLock) {
+      List<PendingWork> works = takePendingWork();
+      if (works.isEmpty()) {
+        return;
+      }
+      try {
+        writeToDatabase(works);
+      } catch (RuntimeException e) {
+        // 실패한 작업은 다시 대기열에 넣어서 다음 주기에 재시도
+        works.forEach(this::requeue);
+        throw e;
+      }
+      evictIdleConversations();
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.error("대화 메시지를 DB에 반영하지 못했습니다: {}", e.getMessage());
+    }
+  }
+
+  private List<PendingWork> takePendingWork() {
+    List<PendingWork> works = new ArrayList<>();
+    for (String conversationId : List.copyOf(dirtyConversationIds)) {
+      dirtyConversationIds.remove(conversationId);
+      ConversationState state = states.get(conversationId);
+      if (state == null) {
+        continue;
+      }
+      synchronized (state) {
+        if (!state.hasPendingWork()) {
+          continue;
+        }
+        works.add(new PendingWork(conversationId, state.deleteAll, state.evictBefore, state.inserts));
+        pendingMessages.addAndGet(-state.inserts.size());
+        state.deleteAll = false;
+        state.evictBefore = null;
+        state.inserts = new ArrayList<>();
+      }
+    }
+    return works;
+  }
+
+  private void writeToDatabase(List<PendingWork> works) {
+    List<Object[]> deleteAllArgs = new ArrayList<>();
+    List<Object[]> evictArgs = new ArrayList<>();
+    List<Object[]> insertArgs = new ArrayList<>();
+    for (PendingWork work : works) {
+      if (work.deleteAll()) {
+        deleteAllArgs.add(new Object[] { work.conversationId() });
+      }
+      if (work.evictBefore() != null) {
+        evictArgs.add(new Object[] { work.conversationId(), Timestamp.from(work.evictBefore()) });
+      }
+      for (StoredMessage stored : work.inserts()) {
+        insertArgs.add(new Object[] {
+            work.conversationId(),
+            stored.message().getText(),
+            stored.message().getMessageType().name(),
+            Timestamp.from(stored.timestamp())
+        });
+      }
+    }
+
+    // 모든 대화의 작업을 한 트랜잭션, 문장 종류별 JDBC 배치로 실행
+    transactionTemplate.executeWithoutResult(status -> {
+      if (!deleteAllArgs.isEmpty()) {
+        jdbcTemplate.batchUpdate(
+            "DELETE FROM %s WHERE conversation_id = ?".formatted(tableName), deleteAllArgs);
+      }
+      if (!evictArgs.isEmpty()) {
+        jdbcTemplate.batchUpdate(
+            "DELETE FROM %s WHERE conversation_id = ? AND \"timestamp\" < ? AND type <> 'SYSTEM'"
+                .formatted(tableName),
+            evictArgs);
+      }
+      if (!insertArgs.isEmpty()) {
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO %s (conversation_id, content, type, "timestamp")
+            VALUES (?, ?, ?, ?)
+            """.formatted(tableName), insertArgs);
+      }
+    });
+    log.debug("대화 {}개, 메시지 {}개를 DB에 반영했습니다.", works.size(), insertArgs.size());
+  }
+
+  private void requeue(PendingWork work) {
+    withState(work.conversationId(), id -> states.computeIfAbsent(id, key -> new ConversationState()), state -> {
+      if (!state.deleteAll) {
+        // 실패한 작업이 먼저 실행되어야 하므로 앞쪽에 다시 넣음
+        List<StoredMessage> inserts = new ArrayList<>(work.inserts());
+        if (state.evictBefore != null) {
+          Instant cutoff = state.evictBefore;
+          inserts.removeIf(stored -> isEvicted(stored, cutoff));
+        }
+        inserts.addAll(state.inserts);
+        pendingMessages.addAndGet(inserts.size() - state.inserts.size());
+        state.inserts = inserts;
+        state.deleteAll = work.deleteAll();
+        if (state.evictBefore == null) {
+          state.evictBefore = work.evictBefore();
+        }
+      }
+      return null;
+    });
+    dirtyConversationIds.add(work.conversationId());
+  }
+
+  // ##### 반영할 작업이 없는 오래된 대화는 메모리에서 제거 #####
+  private void evictIdleConversations() {
+    int overflow = states.size() - maxCachedConversations;
+    if (overflow <= 0) {
+      return;
+    }
+    Map<String, Long> idle = new HashMap<>();
+    states.forEach((id, state) -> {
+      if (!dirtyConversationIds.contains(id)) {
+        idle.put(id, state.lastAccess);
+      }
+    });
+    idle.entrySet().stream()
+        .sorted(Map.Entry.comparingByValue())
+        .limit(overflow)
+        .forEach(entry -> states.computeIfPresent(entry.getKey(), (id, state) -> evictIfIdle(state)));
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdown();
+    flush();
+  }
+}
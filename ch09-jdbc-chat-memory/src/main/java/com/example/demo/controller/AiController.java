@@ -22,6 +22,9 @@ public class AiController {
   
   // @Autowired
   // private AiService2 aiService;
+
+  // @Autowired
+  // private AiService3 aiService;
   
   // ##### 요청 매핑 메소드 #####
   @PostMapping(
@@ -5,11 +5,12 @@ import org.springframework.ai.chat.client.advisor.PromptChatMemoryAdvisor;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
-import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
 import org.springframework.core.Ordered;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.chatmemory.WriteBehindChatMemoryRepository;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -20,7 +21,8 @@ public class AiService {
 
   // ##### 생성자 #####
   public AiService(
-      JdbcChatMemoryRepository chatMemoryRepository,
+      // JdbcChatMemoryRepository chatMemoryRepository,
+      WriteBehindChatMemoryRepository chatMemoryRepository,
       ChatClient.Builder chatClientBuilder) {    
     ChatMemory chatMemory = MessageWindowChatMemory.builder()
         .chatMemoryRepository(chatMemoryRepository)
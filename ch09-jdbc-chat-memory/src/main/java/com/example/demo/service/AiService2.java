@@ -5,12 +5,10 @@ import org.springframework.ai.chat.client.advisor.PromptChatMemoryAdvisor;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
-import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
 import org.springframework.core.Ordered;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import com.example.demo.chatmemory.CustomChatMemoryRepositoryDialect;
+import com.example.demo.chatmemory.CachingChatMemoryRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,12 +19,10 @@ public class AiService2 {
   private ChatClient chatClient;
 
   // ##### 생성자 #####
-  public AiService2(JdbcTemplate jdbcTemplate, ChatClient.Builder chatClientBuilder) {   
-    JdbcChatMemoryRepository chatMemoryRepository = JdbcChatMemoryRepository.builder()
-        .jdbcTemplate(jdbcTemplate)
-        .dialect(new CustomChatMemoryRepositoryDialect())
-        .build();
-    
+  public AiService2(
+      CachingChatMemoryRepository chatMemoryRepository,
+      ChatClient.Builder chatClientBuilder) {   
+    // 사용자 정의 Dialect로 만든 JdbcChatMemoryRepository를 대화 캐시로 감싼 Bean (ChatMemoryConfig)
     ChatMemory chatMemory = MessageWindowChatMemory.builder()
         .chatMemoryRepository(chatMemoryRepository)
         .maxMessages(20)
@@ -0,0 +1,50 @@
+package com.example.demo.service;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.PromptChatMemoryAdvisor;
+import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.chatmemory.PartitionedChatMemoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class AiService3 {
+  // ##### 필드 ##### 
+  private ChatClient chatClient;
+
+  // ##### 생성자 #####
+  public AiService3(
+      PartitionedChatMemoryRepository chatMemoryRepository,
+      ChatClient.Builder chatClientBuilder) {   
+    // 시간 파티션 + 추가 전용 스키마를 사용하는 저장소 Bean (ChatMemoryConfig)
+    // 최근 N개만 LIMIT으로 읽으므로 maxMessages는 app.chat-memory.partitioned.max-messages와 같게 설정
+    ChatMemory chatMemory = MessageWindowChatMemory.builder()
+        .chatMemoryRepository(chatMemoryRepository)
+        .maxMessages(20)
+        .build();
+
+    this.chatClient = chatClientBuilder
+        .defaultAdvisors(
+            PromptChatMemoryAdvisor.builder(chatMemory).build(),
+            new SimpleLoggerAdvisor(Ordered.LOWEST_PRECEDENCE-1)
+        )
+        .build();
+  }    
+
+  public String chat(String userText, String conversationId) {
+    String answer = chatClient.prompt()
+      .user(userText)
+      .advisors(advisorSpec -> advisorSpec.param(
+        ChatMemory.CONVERSATION_ID, conversationId
+      ))
+      .call()
+      .content();
+    return answer;
+  }
+}
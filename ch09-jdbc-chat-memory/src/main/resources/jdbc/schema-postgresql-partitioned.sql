@@ -0,0 +1,23 @@
+-- 메시지 테이블: "timestamp" 기준 범위 파티션, 추가(INSERT)만 하고 수정/삭제하지 않음
+-- 파티션(일 또는 월 단위)은 PartitionedChatMemoryMaintenance가 미리 생성하고 보관 기간이 지나면 삭제
+CREATE TABLE IF NOT EXISTS SPRING_AI_CHAT_MESSAGE (
+    conversation_id VARCHAR(36) NOT NULL,
+    content TEXT NOT NULL,
+    type VARCHAR(10) NOT NULL CHECK (type IN ('USER', 'ASSISTANT', 'SYSTEM', 'TOOL')),
+    "timestamp" TIMESTAMP NOT NULL
+    ) PARTITION BY RANGE ("timestamp");
+
+-- 최신 메시지부터 LIMIT N개를 읽기 위한 인덱스 (각 파티션에 자동 생성)
+CREATE INDEX IF NOT EXISTS SPRING_AI_CHAT_MESSAGE_CONVERSATION_ID_TIMESTAMP_IDX
+ON SPRING_AI_CHAT_MESSAGE(conversation_id, "timestamp" DESC);
+
+-- 대화 목록 테이블: SELECT DISTINCT 대신 사용
+-- started_at 이전 메시지는 삭제된 대화로 간주하므로 메시지 행을 지우지 않아도 됨
+CREATE TABLE IF NOT EXISTS SPRING_AI_CHAT_CONVERSATION (
+    conversation_id VARCHAR(36) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL,
+    last_message_at TIMESTAMP NOT NULL
+    );
+
+CREATE INDEX IF NOT EXISTS SPRING_AI_CHAT_CONVERSATION_LAST_MESSAGE_AT_IDX
+ON SPRING_AI_CHAT_CONVERSATION(last_message_at);
@@ -0,0 +1,203 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+/*
+ * ChatMemoryRepository 부하 테스트
+ *  - users개의 대화를 동시에 진행하고, 대화마다 turnsPerUser번 질문/답변을 주고받음
+ *  - 실제 서비스와 같이 ChatClient + MessageChatMemoryAdvisor + MessageWindowChatMemory를 사용하고
+ *    LLM 대신 고정된 답변을 바로 반환하는 StubChatModel을 사용 (저장소 성능만 측정)
+ *  - 결과: 초당 저장소 호출 수, 읽기/쓰기 지연 시간(p50, p99), 1,000턴당 저장 공간 증가량
+ */
+class ChatMemoryBenchmark {
+  // ##### 필드 #####
+  private static final Logger log = LoggerFactory.getLogger(ChatMemoryBenchmark.class);
+  private final int users;
+  private final int turnsPerUser;
+  private final int maxMessages;
+  private final String question;
+  private final String answer;
+
+  // ##### 생성자 #####
+  public ChatMemoryBenchmark(int users, int turnsPerUser, int maxMessages, int messageLength) {
+    this.users = users;
+    this.turnsPerUser = turnsPerUser;
+    this.maxMessages = maxMessages;
+    this.question = "질문".repeat(Math.max(1, messageLength / 8));
+    this.answer = "스프링 AI 답변입니다. ".repeat(Math.max(1, messageLength / 13));
+  }
+
+  // ##### 측정 대상 #####
+  // storageBytes: 저장 공간 크기 (측정할 수 없으면 -1), beforeMeasure: 측정 전 실행 (예: 쓰기 지연 저장소 flush)
+  public record Target(
+      String name, ChatMemoryRepository repository, LongSupplier storageBytes, Runnable beforeMeasure) {
+    public Target(String name, ChatMemoryRepository repository, LongSupplier storageBytes) {
+      this(name, repository, storageBytes, () -> {});
+    }
+  }
+
+  // ##### 측정 결과 #####
+  public record Result(
+      String name, long turns, double opsPerSecond,
+      double readP50Millis, double readP99Millis,
+      double writeP50Millis, double writeP99Millis,
+      long storageBytesPer1kTurns) {
+    @Override
+    public String toString() {
+      return "%-28s turns=%,d ops/s=%,.0f read p50=%.2fms p99=%.2fms write p50=%.2fms p99=%.2fms storage/1k turns=%s"
+          .formatted(name, turns, opsPerSecond, readP50Millis, readP99Millis, writeP50Millis, writeP99Millis,
+              storageBytesPer1kTurns < 0 ? "-" : "%,d bytes".formatted(storageBytesPer1kTurns));
+    }
+  }
+
+  // ##### LLM 대신 고정 답변을 반환하는 ChatModel #####
+  private class StubChatModel implements ChatModel {
+    @Override
+    public ChatResponse call(Prompt prompt) {
+      return new ChatResponse(List.of(new Generation(new AssistantMessage(answer))));
+    }
+  }
+
+  // ##### 호출 시간을 기록하는 ChatMemoryRepository #####
+  private static class TimingRepository implements ChatMemoryRepository {
+    private final ChatMemoryRepository delegate;
+    private final long[] readNanos;
+    private final long[] writeNanos;
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    TimingRepository(ChatMemoryRepository delegate, int capacity) {
+      this.delegate = delegate;
+      this.readNanos = new long[capacity];
+      this.writeNanos = new long[capacity];
+    }
+
+    @Override
+    public List<String> findConversationIds() {
+      return delegate.findConversationIds();
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+      long start = System.nanoTime();
+      List<Message> messages = delegate.findByConversationId(conversationId);
+      record(readNanos, reads, System.nanoTime() - start);
+      return messages;
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+      long start = System.nanoTime();
+      delegate.saveAll(conversationId, messages);
+      record(writeNanos, writes, System.nanoTime() - start);
+    }
+
+    @Override
+    public void deleteByConversationId(String conversationId) {
+      delegate.deleteByConversationId(conversationId);
+    }
+
+    private void record(long[] samples, AtomicLong count, long nanos) {
+      long index = count.getAndIncrement();
+      if (index < samples.length) {
+        samples[(int) index] = nanos;
+      }
+    }
+  }
+
+  // ##### 대상 저장소에 부하를 주고 결과를 반환하는 메소드 #####
+  public Result run(Target target) throws Exception {
+    long turns = (long) users * turnsPerUser;
+    // MessageChatMemoryAdvisor는 한 턴에 읽기 3번(조회, 질문 추가, 답변 추가), 쓰기 2번(질문, 답변)
+    TimingRepository repository = new TimingRepository(target.repository(), (int) turns * 3);
+    ChatMemory chatMemory = MessageWindowChatMemory.builder()
+        .chatMemoryRepository(repository)
+        .maxMessages(maxMessages)
+        .build();
+    ChatClient chatClient = ChatClient.builder(new StubChatModel())
+        .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build())
+        .build();
+
+    String runId = UUID.randomUUID().toString().substring(0, 8);
+    List<String> conversationIds = new ArrayList<>();
+    for (int user = 0; user < users; user++) {
+      conversationIds.add("bench-" + runId + "-" + user);
+    }
+
+    target.beforeMeasure().run();
+    long storageBefore = target.storageBytes().getAsLong();
+
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newFixedThreadPool(users)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (String conversationId : conversationIds) {
+        futures.add(executor.submit(() -> {
+          for (int turn = 0; turn < turnsPerUser; turn++) {
+            chatClient.prompt()
+                .user(question)
+                .advisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, conversationId))
+                .call()
+                .content();
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    target.beforeMeasure().run();
+    long storageAfter = target.storageBytes().getAsLong();
+
+    // 측정이 끝난 대화는 삭제
+    conversationIds.forEach(target.repository()::deleteByConversationId);
+    target.beforeMeasure().run();
+
+    long operations = repository.reads.get() + repository.writes.get();
+    long storagePer1kTurns = storageBefore < 0 || storageAfter < 0
+        ? -1 : (storageAfter - storageBefore) * 1000 / turns;
+    Result result = new Result(
+        target.name(), turns, operations / elapsedSeconds,
+        percentile(repository.readNanos, repository.reads.get(), 0.50),
+        percentile(repository.readNanos, repository.reads.get(), 0.99),
+        percentile(repository.writeNanos, repository.writes.get(), 0.50),
+        percentile(repository.writeNanos, repository.writes.get(), 0.99),
+        storagePer1kTurns);
+    log.info(result.toString());
+    return result;
+  }
+
+  private double percentile(long[] samples, long count, double percentile) {
+    int size = (int) Math.min(count, samples.length);
+    if (size == 0) {
+      return 0;
+    }
+    long[] sorted = Arrays.copyOf(samples, size);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile * size) - 1;
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.chatmemory.CustomChatMemoryRepositoryDialect;
+import com.example.demo.chatmemory.PartitionedChatMemoryRepository;
+import com.example.demo.chatmemory.WriteBehindChatMemoryRepository;
+
+/*
+ * 저장소별 부하 테스트 (benchmark 프로파일)
+ *  실행: ./gradlew benchmark (기본 test 태스크에서는 제외)
+ *  PostgreSQL은 application.properties의 spring.datasource.* 설정을 사용
+ */
+@SpringBootTest
+@ActiveProfiles("benchmark")
+@Tag("benchmark")
+class ChatMemoryBenchmarkTests {
+  // ##### 필드 #####
+  private static final Logger log = LoggerFactory.getLogger(ChatMemoryBenchmarkTests.class);
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private JdbcChatMemoryRepository jdbcChatMemoryRepository;
+  @Autowired
+  private WriteBehindChatMemoryRepository writeBehindChatMemoryRepository;
+  @Autowired
+  private PartitionedChatMemoryRepository partitionedChatMemoryRepository;
+
+  @Value("${app.benchmark.users:50}")
+  private int users;
+  @Value("${app.benchmark.turns-per-user:20}")
+  private int turnsPerUser;
+  @Value("${app.benchmark.max-messages:20}")
+  private int maxMessages;
+  @Value("${app.benchmark.message-length:400}")
+  private int messageLength;
+  @Value("${app.benchmark.include-partitioned:false}")
+  private boolean includePartitioned;
+
+  // ##### 테스트 #####
+  @Test
+  void compareRepositories() throws Exception {
+    // CustomChatMemoryRepositoryDialect가 사용하는 TABLE_NAME 테이블 생성
+    new ResourceDatabasePopulator(new ClassPathResource("jdbc/schema-postgresql.sql"))
+        .execute(jdbcTemplate.getDataSource());
+    JdbcChatMemoryRepository customDialectRepository = JdbcChatMemoryRepository.builder()
+        .jdbcTemplate(jdbcTemplate)
+        .dialect(new CustomChatMemoryRepositoryDialect())
+        .build();
+
+    List<ChatMemoryBenchmark.Target> targets = new ArrayList<>();
+    targets.add(new ChatMemoryBenchmark.Target(
+        "InMemory", new InMemoryChatMemoryRepository(), () -> -1));
+    targets.add(new ChatMemoryBenchmark.Target(
+        "Jdbc", jdbcChatMemoryRepository, () -> tableSize("spring_ai_chat_memory")));
+    targets.add(new ChatMemoryBenchmark.Target(
+        "Jdbc(CustomDialect)", customDialectRepository, () -> tableSize("table_name")));
+    targets.add(new ChatMemoryBenchmark.Target(
+        "Jdbc(WriteBehind)", writeBehindChatMemoryRepository,
+        () -> tableSize("spring_ai_chat_memory"), writeBehindChatMemoryRepository::flush));
+    if (includePartitioned) {
+      // app.chat-memory.partitioned.initialize-schema=true로 스키마를 만든 경우에만 측정
+      targets.add(new ChatMemoryBenchmark.Target(
+          "Jdbc(Partitioned)", partitionedChatMemoryRepository, this::partitionedTableSize));
+    }
+
+    ChatMemoryBenchmark benchmark = new ChatMemoryBenchmark(users, turnsPerUser, maxMessages, messageLength);
+    List<ChatMemoryBenchmark.Result> results = new ArrayList<>();
+    for (ChatMemoryBenchmark.Target target : targets) {
+      results.add(benchmark.run(target));
+    }
+
+    log.info("===== 부하 테스트 결과 (users={}, turns/user={}, maxMessages={}) =====",
+        users, turnsPerUser, maxMessages);
+    results.forEach(result -> log.info(result.toString()));
+  }
+
+  // ##### 도우미 메소드 #####
+  // 테이블 + 인덱스 크기
+  private long tableSize(String tableName) {
+    Long size = jdbcTemplate.queryForObject(
+        "SELECT pg_total_relation_size(to_regclass(?))", Long.class, tableName);
+    return size == null ? -1 : size;
+  }
+
+  private long partitionedTableSize() {
+    Long size = jdbcTemplate.queryForObject("""
+        SELECT coalesce(sum(pg_total_relation_size(inhrelid)), 0) FROM pg_inherits
+        WHERE inhparent = to_regclass('spring_ai_chat_message')
+        """, Long.class);
+    return size == null ? -1 : size;
+  }
+}
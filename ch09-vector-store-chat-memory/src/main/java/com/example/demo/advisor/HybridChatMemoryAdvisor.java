@@ -0,0 +1,204 @@
+package com.example.demo.advisor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.springframework.ai.chat.client.ChatClientMessageAggregator;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.AdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.BaseChatMemoryAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.core.Ordered;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * 최근 대화(ChatMemory) + 의미 검색(VectorStore)을 함께 사용하는 대화 기억 Advisor
+ *  - 최근 K개 메시지와 질문과 유사한 과거 메시지 M개를 동시에(병렬로) 조회
+ *  - 최근 메시지에 이미 있는 내용은 검색 결과에서 제외
+ *  - 토큰 예산 안에서 최근 메시지(최신순)를 먼저 채우고, 남은 예산을 유사도 높은 검색 결과로 채움
+ *  - 최근 메시지는 대화 메시지로, 검색 결과는 시스템 메시지의 장기 기억 섹션으로 추가
+ *  - 질문과 답변은 ChatMemory와 VectorStore 모두에 저장
+ */
+@Slf4j
+public class HybridChatMemoryAdvisor implements BaseChatMemoryAdvisor {
+  // ##### 상수 #####
+  private static final String CONVERSATION_ID_METADATA = "conversationId";
+  private static final String MESSAGE_TYPE_METADATA = "messageType";
+  private static final String LONG_TERM_MEMORY = """
+
+      아래 LONG_TERM_MEMORY는 이 대화의 이전 내용 중 질문과 관련된 부분입니다. 답변에 참고하세요.
+      ---------------------
+      LONG_TERM_MEMORY:
+      %s
+      ---------------------
+      """;
+
+  // ##### 필드 #####
+  private final ChatMemory chatMemory;
+  private final VectorStore vectorStore;
+  private final TokenCountEstimator tokenCountEstimator;
+  private final int semanticTopK;
+  private final int maxTokens;
+  private final Executor executor;
+
+  // ##### 생성자 #####
+  public HybridChatMemoryAdvisor(
+      ChatMemory chatMemory,
+      VectorStore vectorStore,
+      TokenCountEstimator tokenCountEstimator,
+      int semanticTopK,
+      int maxTokens,
+      Executor executor) {
+    this.chatMemory = chatMemory;
+    this.vectorStore = vectorStore;
+    this.tokenCountEstimator = tokenCountEstimator;
+    this.semanticTopK = semanticTopK;
+    this.maxTokens = maxTokens;
+    this.executor = executor;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE + 1000;
+  }
+
+  @Override
+  public ChatClientRequest before(ChatClientRequest request, AdvisorChain chain) {
+    String conversationId = getConversationId(request.context(), ChatMemory.DEFAULT_CONVERSATION_ID);
+    UserMessage userMessage = request.prompt().getUserMessage();
+    String query = userMessage.getText() != null ? userMessage.getText() : "";
+
+    // 최근 대화와 의미 검색을 동시에 실행
+    CompletableFuture<List<Message>> recentFuture = CompletableFuture.supplyAsync(
+        () -> chatMemory.get(conversationId), executor);
+    CompletableFuture<List<Document>> semanticFuture = CompletableFuture.supplyAsync(
+        () -> vectorStore.similaritySearch(SearchRequest.builder()
+            .query(query)
+            .topK(semanticTopK)
+            // 문자열로 조립하지 않으므로 conversationId에 따옴표가 있어도 필터가 깨지지 않음
+            .filterExpression(new FilterExpressionBuilder().eq(CONVERSATION_ID_METADATA, conversationId).build())
+            .build()), executor)
+        .exceptionally(e -> {
+          log.warn("대화 기억 검색 실패: {}", e.getMessage());
+          return List.of();
+        });
+    List<Message> recentMessages = recentFuture.join();
+    List<Document> documents = semanticFuture.join();
+
+    // 토큰 예산: 최근 메시지를 최신순으로 먼저 채움
+    int budget = maxTokens;
+    List<Message> selectedMessages = new ArrayList<>();
+    for (int i = recentMessages.size() - 1; i >= 0; i--) {
+      int tokens = countTokens(recentMessages.get(i).getText());
+      if (tokens > budget) {
+        break;
+      }
+      budget -= tokens;
+      selectedMessages.add(recentMessages.get(i));
+    }
+    Collections.reverse(selectedMessages);
+
+    // 남은 예산: 최근 메시지와 겹치지 않는 검색 결과를 유사도순으로 채움
+    Set<String> seen = new HashSet<>();
+    recentMessages.forEach(message -> seen.add(message.getText()));
+    List<String> memories = new ArrayList<>();
+    for (Document document : documents) {
+      String text = document.getText();
+      if (text == null || !seen.add(text)) {
+        continue;
+      }
+      int tokens = countTokens(text);
+      if (tokens > budget) {
+        continue;
+      }
+      budget -= tokens;
+      memories.add(document.getMetadata().get(MESSAGE_TYPE_METADATA) + ": " + text);
+    }
+
+    Prompt prompt = request.prompt();
+    if (!memories.isEmpty()) {
+      String systemText = prompt.getSystemMessage().getText();
+      prompt = prompt.augmentSystemMessage(
+          systemText + LONG_TERM_MEMORY.formatted(String.join(System.lineSeparator(), memories)));
+    }
+    List<Message> messages = new ArrayList<>(selectedMessages);
+    messages.addAll(prompt.getInstructions());
+    ChatClientRequest processedRequest = request.mutate()
+        .prompt(prompt.mutate().messages(messages).build())
+        .build();
+
+    // 질문 저장 (검색이 끝난 뒤 저장하므로 자기 자신이 검색되지 않음)
+    save(conversationId, List.of(userMessage));
+    return processedRequest;
+  }
+
+  @Override
+  public ChatClientResponse after(ChatClientResponse response, AdvisorChain chain) {
+    if (response.chatResponse() == null) {
+      return response;
+    }
+    List<Message> assistantMessages = response.chatResponse().getResults().stream()
+        .map(Generation::getOutput)
+        .map(Message.class::cast)
+        .toList();
+    save(getConversationId(response.context(), ChatMemory.DEFAULT_CONVERSATION_ID), assistantMessages);
+    return response;
+  }
+
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    // 스트림 조각마다 저장하지 않도록 전체 응답을 모은 뒤 after() 실행
+    return Mono.just(request)
+        .publishOn(getScheduler())
+        .map(req -> before(req, chain))
+        .flatMapMany(chain::nextStream)
+        .transform(flux -> new ChatClientMessageAggregator()
+            .aggregateChatClientResponse(flux, response -> after(response, chain)));
+  }
+
+  // ##### ChatMemory와 VectorStore에 메시지를 저장하는 메소드 #####
+  private void save(String conversationId, List<Message> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    chatMemory.add(conversationId, messages);
+    List<Document> documents = messages.stream()
+        .filter(message -> message.getText() != null && !message.getText().isBlank())
+        .map(message -> Document.builder()
+            .text(message.getText())
+            .metadata(Map.of(
+                CONVERSATION_ID_METADATA, conversationId,
+                MESSAGE_TYPE_METADATA, message.getMessageType().name()))
+            .build())
+        .collect(Collectors.toList());
+    if (!documents.isEmpty()) {
+      vectorStore.add(documents);
+    }
+  }
+
+  private int countTokens(String text) {
+    return text == null ? 0 : tokenCountEstimator.estimate(text);
+  }
+}
@@ -0,0 +1,247 @@
+package com.example.demo.chatmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgvector.PGvector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * VectorStoreChatMemoryAdvisor용 비동기 인덱싱 VectorStore
+ *  - add(): 메시지 Document를 큐에 넣고 바로 반환 (임베딩 + INSERT가 채팅 응답 경로에서 빠짐)
+ *  - 백그라운드 스레드가 batchSize개 또는 flushInterval마다 모아서
+ *    임베딩 한 번 + INSERT 배치 한 번으로 저장
+ *  - 큐가 가득 차면 호출한 스레드에서 바로 저장 (메시지를 버리지 않음)
+ *  - 저장에 실패한 배치는 간격을 늘려 가며 MAX_ATTEMPTS번까지 다시 시도
+ *  - close() 이후의 add()는 호출한 스레드에서 바로 저장
+ *  - conversationId == 'X' 필터 검색은 conversationId 인덱스로 해당 대화의 행만 읽어서 거리순 정렬
+ *    (HNSW 인덱스 검색 후 필터링하면 대화가 많을 때 결과가 topK보다 적게 나올 수 있음)
+ *  - 큐에 있는 메시지는 저장되기 전까지 검색되지 않음 (최근 대화는 flushInterval만큼 늦게 반영)
+ */
+@Slf4j
+public class AsyncChatMemoryVectorStore implements VectorStore, AutoCloseable {
+  // ##### 상수 #####
+  private static final String CONVERSATION_ID = "conversationId";
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long RETRY_BACKOFF_MILLIS = 500;
+
+  // ##### 필드 #####
+  private final VectorStore delegate;
+  private final JdbcTemplate jdbcTemplate;
+  private final EmbeddingModel embeddingModel;
+  private final String tableName;
+  private final int batchSize;
+  private final long flushIntervalMillis;
+  private final BlockingQueue<Document> queue;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Thread worker;
+  private volatile boolean running = true;
+
+  // ##### 생성자 #####
+  public AsyncChatMemoryVectorStore(
+      VectorStore delegate,
+      JdbcTemplate jdbcTemplate,
+      EmbeddingModel embeddingModel,
+      String tableName,
+      int batchSize,
+      long flushIntervalMillis,
+      int queueCapacity) {
+    this.delegate = delegate;
+    this.jdbcTemplate = jdbcTemplate;
+    this.embeddingModel = embeddingModel;
+    this.tableName = tableName;
+    this.batchSize = batchSize;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+    this.worker = new Thread(this::runWorker, "chat-memory-vector-indexer");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  // ##### conversationId 조회용 인덱스 생성 #####
+  public void createConversationIdIndex() {
+    jdbcTemplate.execute("""
+        CREATE INDEX IF NOT EXISTS %s_conversation_id_idx
+        ON %s ((metadata->>'%s'))
+        """.formatted(tableName, tableName, CONVERSATION_ID));
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public void add(List<Document> documents) {
+    if (!running) {
+      // 종료된 뒤에는 큐에 넣어도 저장할 스레드가 없으므로 바로 저장
+      delegate.add(documents);
+      return;
+    }
+    for (int i = 0; i < documents.size(); i++) {
+      if (!queue.offer(documents.get(i))) {
+        // 큐가 가득 찼으면 나머지는 현재 스레드에서 저장
+        log.warn("인덱싱 큐가 가득 차서 동기 방식으로 저장합니다.");
+        delegate.add(documents.subList(i, documents.size()));
+        return;
+      }
+    }
+    if (!running) {
+      // 큐에 넣는 사이에 close()가 호출됐으면 남은 메시지를 직접 저장
+      flushRemaining();
+    }
+  }
+
+  @Override
+  public void delete(List<String> idList) {
+    delegate.delete(idList);
+  }
+
+  @Override
+  public void delete(Filter.Expression filterExpression) {
+    delegate.delete(filterExpression);
+  }
+
+  @Override
+  public List<Document> similaritySearch(SearchRequest request) {
+    String conversationId = findConversationId(request.getFilterExpression());
+    if (conversationId == null) {
+      return delegate.similaritySearch(request);
+    }
+
+    // 해당 대화의 행만 인덱스로 읽고 코사인 거리순으로 정렬
+    PGvector embedding = new PGvector(embeddingModel.embed(request.getQuery()));
+    return jdbcTemplate.query("""
+        SELECT id, content, metadata::text AS metadata, embedding <=> ? AS distance
+        FROM %s
+        WHERE metadata->>'%s' = ?
+        ORDER BY distance
+        LIMIT ?
+        """.formatted(tableName, CONVERSATION_ID),
+        (rs, rowNum) -> {
+          double score = 1 - rs.getDouble("distance");
+          Map<String, Object> metadata = toMap(rs.getString("metadata"));
+          metadata.put("distance", rs.getDouble("distance"));
+          return Document.builder()
+              .id(rs.getString("id"))
+              .text(rs.getString("content"))
+              .metadata(metadata)
+              .score(score)
+              .build();
+        },
+        embedding, conversationId, request.getTopK())
+        .stream()
+        .filter(document -> document.getScore() >= request.getSimilarityThreshold())
+        .toList();
+  }
+
+  // ##### 필터가 conversationId == 'X' 형태이면 X를 반환 #####
+  private String findConversationId(Filter.Expression expression) {
+    if (expression != null
+        && expression.type() == Filter.ExpressionType.EQ
+        && expression.left() instanceof Filter.Key key
+        && CONVERSATION_ID.equals(key.key())
+        && expression.right() instanceof Filter.Value value
+        && value.value() instanceof String conversationId) {
+      return conversationId;
+    }
+    return null;
+  }
+
+  private Map<String, Object> toMap(String json) {
+    try {
+      return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+    } catch (Exception e) {
+      throw new IllegalStateException("메타데이터를 읽을 수 없습니다.", e);
+    }
+  }
+
+  //-------------------------------------------------------------------------------
+  // ##### 큐에서 모아서 저장하는 백그라운드 작업 #####
+  private void runWorker() {
+    List<Document> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        Document first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        // 첫 문서가 들어온 뒤 flushInterval 동안 더 모아서 한 번에 저장
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+          long remaining = deadline - System.nanoTime();
+          Document next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        store(batch);
+      } catch (InterruptedException e) {
+        running = false;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void store(List<Document> batch) throws InterruptedException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        // PgVectorStore.add(): 배치 전체를 임베딩한 뒤 배치 INSERT
+        delegate.add(new ArrayList<>(batch));
+        log.debug("채팅 메시지 {}개를 인덱싱했습니다.", batch.size());
+        return;
+      } catch (RuntimeException e) {
+        if (attempt >= MAX_ATTEMPTS) {
+          log.error("채팅 메시지 {}개를 {}번 시도했지만 인덱싱하지 못했습니다: {}",
+              batch.size(), attempt, e.getMessage());
+          return;
+        }
+        log.warn("채팅 메시지 {}개 인덱싱 실패, 다시 시도합니다 ({}/{}): {}",
+            batch.size(), attempt, MAX_ATTEMPTS, e.getMessage());
+        Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+      }
+    }
+  }
+
+  // ##### 큐에 남은 메시지를 현재 스레드에서 저장하는 메소드 #####
+  private void flushRemaining() {
+    List<Document> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    if (!remaining.isEmpty()) {
+      delegate.add(remaining);
+    }
+  }
+
+  @Override
+  public void close() {
+    // 큐에 남은 메시지를 모두 저장한 뒤 종료
+    running = false;
+    try {
+      worker.join(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException e) {
+      // 기다리지 못해도 남은 메시지는 저장하고, 인터럽트 상태는 호출한 쪽에 그대로 전달
+      Thread.currentThread().interrupt();
+    }
+    // 작업 스레드가 끝난 뒤(또는 시간 초과/인터럽트) 남은 메시지는 직접 저장
+    flushRemaining();
+  }
+}
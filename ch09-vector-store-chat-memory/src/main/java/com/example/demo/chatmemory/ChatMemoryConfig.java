@@ -0,0 +1,84 @@
+package com.example.demo.chatmemory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.advisor.HybridChatMemoryAdvisor;
+
+@Configuration
+public class ChatMemoryConfig {
+  // ##### 상수 #####
+  private static final String TABLE_NAME = "chat_memory_vector_store";
+
+  // ##### 비동기 인덱싱 설정 #####
+  @Value("${app.chat-memory.vector-store.async-indexing:true}")
+  private boolean asyncIndexing;
+  @Value("${app.chat-memory.vector-store.batch-size:64}")
+  private int batchSize;
+  @Value("${app.chat-memory.vector-store.flush-interval-millis:200}")
+  private long flushIntervalMillis;
+  @Value("${app.chat-memory.vector-store.queue-capacity:10000}")
+  private int queueCapacity;
+
+  // ##### 최근 대화 + 의미 검색 설정 #####
+  @Value("${app.chat-memory.hybrid.recent-messages:6}")
+  private int recentMessages;
+  @Value("${app.chat-memory.hybrid.semantic-top-k:5}")
+  private int semanticTopK;
+  @Value("${app.chat-memory.hybrid.max-tokens:2000}")
+  private int hybridMaxTokens;
+
+  // ##### VectorStoreChatMemoryAdvisor에서 사용할 VectorStore Bean #####
+  @Bean
+  public VectorStore chatMemoryVectorStore(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
+    VectorStore vectorStore = PgVectorStore.builder(jdbcTemplate, embeddingModel)
+        .initializeSchema(false)
+        .schemaName("public")
+        .vectorTableName(TABLE_NAME)
+        .build();
+    if (!asyncIndexing) {
+      return vectorStore;
+    }
+
+    AsyncChatMemoryVectorStore asyncVectorStore = new AsyncChatMemoryVectorStore(
+        vectorStore, jdbcTemplate, embeddingModel, TABLE_NAME,
+        batchSize, flushIntervalMillis, queueCapacity);
+    asyncVectorStore.createConversationIdIndex();
+    return asyncVectorStore;
+  }
+
+  // ##### AiService2에서 사용할 Advisor Bean #####
+  // 최근 메시지는 메모리 저장소(ChatMemoryRepository 자동 구성 Bean)에서, 과거 메시지는 벡터 저장소에서 조회
+  @Bean
+  public HybridChatMemoryAdvisor hybridChatMemoryAdvisor(
+      ChatMemoryRepository chatMemoryRepository,
+      @Qualifier("chatMemoryVectorStore") VectorStore vectorStore,
+      ExecutorService hybridChatMemoryExecutor) {
+    MessageWindowChatMemory recentChatMemory = MessageWindowChatMemory.builder()
+        .chatMemoryRepository(chatMemoryRepository)
+        .maxMessages(recentMessages)
+        .build();
+    return new HybridChatMemoryAdvisor(
+        recentChatMemory, vectorStore, new JTokkitTokenCountEstimator(),
+        semanticTopK, hybridMaxTokens, hybridChatMemoryExecutor);
+  }
+
+  // ##### 최근 대화 조회와 의미 검색을 동시에 실행할 가상 스레드 Executor #####
+  // 애플리케이션 종료 시 close()로 실행 중인 조회를 마무리하고 닫음
+  @Bean(destroyMethod = "close")
+  public ExecutorService hybridChatMemoryExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+}
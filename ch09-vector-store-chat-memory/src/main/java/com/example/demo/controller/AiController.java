@@ -20,6 +20,9 @@ public class AiController {
   // ##### 필드 ##### 
   @Autowired
   private AiService aiService;
+
+  // @Autowired
+  // private AiService2 aiService;
   
   // ##### 요청 매핑 메소드 #####
   @PostMapping(
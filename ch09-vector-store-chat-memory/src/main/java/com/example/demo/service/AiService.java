@@ -4,11 +4,9 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.client.advisor.vectorstore.VectorStoreChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.Ordered;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
@@ -21,16 +19,10 @@ public class AiService {
 
   // ##### 생성자 #####
   public AiService(
-      JdbcTemplate jdbcTemplate,
-      EmbeddingModel embeddingModel,
+      // chat_memory_vector_store 테이블을 사용하는 VectorStore Bean (ChatMemoryConfig)
+      @Qualifier("chatMemoryVectorStore") VectorStore vectorStore,
       ChatClient.Builder chatClientBuilder) {
 
-    VectorStore vectorStore = PgVectorStore.builder(jdbcTemplate, embeddingModel)
-        .initializeSchema(false)
-        .schemaName("public")
-        .vectorTableName("chat_memory_vector_store")
-        .build();
-
     this.chatClient = chatClientBuilder
         .defaultAdvisors(
             VectorStoreChatMemoryAdvisor.builder(vectorStore)
@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.advisor.HybridChatMemoryAdvisor;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class AiService2 {
+  // ##### 필드 #####
+  private ChatClient chatClient;
+
+  // ##### 생성자 #####
+  public AiService2(
+      // 최근 대화 + 의미 검색을 함께 사용하는 Advisor Bean (ChatMemoryConfig)
+      HybridChatMemoryAdvisor hybridChatMemoryAdvisor,
+      ChatClient.Builder chatClientBuilder) {
+
+    this.chatClient = chatClientBuilder
+        .defaultAdvisors(
+            hybridChatMemoryAdvisor,
+            new SimpleLoggerAdvisor(Ordered.LOWEST_PRECEDENCE - 1)
+          )
+        .build();
+  }
+
+  public String chat(String userText, String conversationId) {
+    String answer = chatClient.prompt()
+        .user(userText)
+        .advisors(advisorSpec -> advisorSpec.param(
+            ChatMemory.CONVERSATION_ID, conversationId))
+        .call()
+        .content();
+    return answer;
+  }
+}
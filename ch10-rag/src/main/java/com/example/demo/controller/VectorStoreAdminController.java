@@ -0,0 +1,86 @@
+package com.example.demo.controller;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.demo.vectorstore.VectorStoreSnapshotService;
+import com.example.demo.vectorstore.VectorStoreSnapshotService.SnapshotResult;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 벡터 저장소 스냅샷 내보내기/가져오기 관리용 컨트롤러
+ *  - app.vectorstore.snapshot-admin.enabled=true일 때만 등록
+ *  - 서버 자신(루프백 주소)에서 온 요청만 처리
+ *  - 파일은 경로가 아니라 스냅샷 디렉토리(app.vectorstore.snapshot-dir) 안의 이름으로 지정
+ */
+@RestController
+@RequestMapping("/admin/vector-store")
+@ConditionalOnProperty(name = "app.vectorstore.snapshot-admin.enabled", havingValue = "true")
+@Slf4j
+public class VectorStoreAdminController {
+  // ##### 필드 #####
+  private final VectorStoreSnapshotService vectorStoreSnapshotService;
+
+  // ##### 생성자 #####
+  public VectorStoreAdminController(VectorStoreSnapshotService vectorStoreSnapshotService) {
+    this.vectorStoreSnapshotService = vectorStoreSnapshotService;
+  }
+
+  // ##### 요청 매핑 메소드 #####
+  @PostMapping(
+    value = "/export",
+    consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE,
+    produces = MediaType.TEXT_PLAIN_VALUE
+  )
+  public String export(@RequestParam("name") String name, HttpServletRequest request) {
+    checkLocalRequest(request);
+    SnapshotResult result = vectorStoreSnapshotService.exportSnapshot(name);
+    return "%d개의 Document를 내보냈습니다. (%d바이트, %dms)".formatted(
+        result.rows(), result.bytes(), result.elapsedMillis());
+  }
+
+  @PostMapping(
+    value = "/import",
+    consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE,
+    produces = MediaType.TEXT_PLAIN_VALUE
+  )
+  public String importSnapshot(@RequestParam("name") String name, HttpServletRequest request) {
+    checkLocalRequest(request);
+    SnapshotResult result = vectorStoreSnapshotService.importSnapshot(name);
+    return "%d개의 Document를 적재했습니다. (%dms)".formatted(
+        result.rows(), result.elapsedMillis());
+  }
+
+  // ##### 잘못된 스냅샷 이름 #####
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public String badRequest(IllegalArgumentException e) {
+    return e.getMessage();
+  }
+
+  // ##### 루프백 주소에서 온 요청인지 확인하는 메소드 #####
+  private void checkLocalRequest(HttpServletRequest request) {
+    try {
+      if (InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+        return;
+      }
+    } catch (UnknownHostException e) {
+      // 아래에서 거절
+    }
+    log.warn("스냅샷 관리 요청 거절: {}", request.getRemoteAddr());
+    throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+  }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * LLM API 호출의 동시 실행 수를 조절하는 리미터
+ *  - AIMD: 성공하면 한도를 조금씩(1/한도) 늘리고, 429를 받으면 절반으로 줄임
+ *  - 응답 헤더의 남은 요청 수/토큰 수가 예비분 이하로 떨어지면 리셋 시각까지 새 호출을 멈춤
+ *  - 우선순위: BACKGROUND는 한도의 일부만 사용하고, INTERACTIVE가 기다리는 동안에는 시작하지 않음
+ *  - 대기열 길이와 대기 시간을 제한해서, 한도 안에 들어갈 수 없는 호출은 바로 거절
+ *    (사용자 요청은 짧게, 백그라운드 작업은 길게 기다림)
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+  // ##### 필드 #####
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backgroundShare;
+  private final long interactiveMaxWaitNanos;
+  private final long backgroundMaxWaitNanos;
+  private final int maxQueued;
+  private final long requestReserve;
+  private final long tokenReserve;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition interactiveTurn = lock.newCondition();
+  private final Condition backgroundTurn = lock.newCondition();
+  private double limit;
+  private int inFlight;
+  private int waitingInteractive;
+  private int waitingBackground;
+  private long pausedUntilNanos;
+
+  // ##### 생성자 #####
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, double backgroundShare,
+      Duration interactiveMaxWait, Duration backgroundMaxWait,
+      int maxQueued, long requestReserve, long tokenReserve) {
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backgroundShare = backgroundShare;
+    this.interactiveMaxWaitNanos = interactiveMaxWait.toNanos();
+    this.backgroundMaxWaitNanos = backgroundMaxWait.toNanos();
+    this.maxQueued = maxQueued;
+    this.requestReserve = requestReserve;
+    this.tokenReserve = tokenReserve;
+    this.pausedUntilNanos = System.nanoTime();
+  }
+
+  // ##### 실행 허가 #####
+  public class Permit {
+    private boolean released;
+
+    // 정상 응답: 한도를 조금 늘림
+    public void success() {
+      release(() -> limit = Math.min(maxLimit, limit + 1 / limit));
+    }
+
+    // 429 응답: 한도를 절반으로 줄이고 retryAfter 동안 새 호출을 멈춤
+    public void rateLimited(Duration retryAfter) {
+      release(() -> {
+        limit = Math.max(minLimit, limit / 2);
+        pauseUntil(System.nanoTime() + retryAfter.toNanos());
+        log.warn("LLM 호출 한도 초과(429): 동시 실행 한도 {}, {}ms 동안 대기",
+            (int) limit, retryAfter.toMillis());
+      });
+    }
+
+    // 그 밖의 실패: 한도는 그대로 두고 반환만 함
+    public void failed() {
+      release(() -> {
+      });
+    }
+
+    private void release(Runnable adjust) {
+      lock.lock();
+      try {
+        if (released) {
+          return;
+        }
+        released = true;
+        inFlight--;
+        adjust.run();
+        signalWaiters();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  // ##### 실행 허가를 얻는 메소드 (한도 안에 들어갈 수 없으면 LlmLimitExceededException) #####
+  public Permit acquire(LlmPriority priority) {
+    long deadline = System.nanoTime()
+        + (priority == LlmPriority.INTERACTIVE ? interactiveMaxWaitNanos : backgroundMaxWaitNanos);
+    lock.lock();
+    try {
+      if (waiting(priority) >= maxQueued) {
+        throw reject(priority, "대기열이 가득 찼습니다.");
+      }
+      addWaiting(priority, 1);
+      try {
+        while (!canStart(priority)) {
+          long now = System.nanoTime();
+          long remaining = deadline - now;
+          if (remaining <= 0) {
+            throw reject(priority, "대기 시간을 초과했습니다.");
+          }
+          // 대기 시간 안에 분당 한도가 풀리지 않으면 기다리지 않고 거절
+          if (pausedUntilNanos - deadline > 0) {
+            throw reject(priority, "분당 요청/토큰 한도에 도달했습니다.", Duration.ofNanos(pausedUntilNanos - now));
+          }
+          long wait = pausedUntilNanos - now > 0 ? Math.min(remaining, pausedUntilNanos - now) : remaining;
+          condition(priority).awaitNanos(wait);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw reject(priority, "대기 중 인터럽트되었습니다.");
+      } finally {
+        addWaiting(priority, -1);
+      }
+      inFlight++;
+      return new Permit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // ##### 응답 헤더의 남은 요청 수/토큰 수를 반영하는 메소드 #####
+  public void updateBudget(Long remainingRequests, Duration resetRequests,
+      Long remainingTokens, Duration resetTokens) {
+    lock.lock();
+    try {
+      long now = System.nanoTime();
+      if (remainingRequests != null && resetRequests != null && remainingRequests <= requestReserve) {
+        pauseUntil(now + resetRequests.toNanos());
+      }
+      if (remainingTokens != null && resetTokens != null && remainingTokens <= tokenReserve) {
+        pauseUntil(now + resetTokens.toNanos());
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // ##### 현재 상태 #####
+  public int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // ##### lock을 잡은 상태에서만 호출하는 메소드 #####
+  private boolean canStart(LlmPriority priority) {
+    if (System.nanoTime() - pausedUntilNanos < 0) {
+      return false;
+    }
+    if (priority == LlmPriority.INTERACTIVE) {
+      return inFlight < (int) limit;
+    }
+    int backgroundLimit = Math.max(1, (int) (limit * backgroundShare));
+    return waitingInteractive == 0 && inFlight < backgroundLimit;
+  }
+
+  private void pauseUntil(long untilNanos) {
+    if (untilNanos - pausedUntilNanos > 0) {
+      pausedUntilNanos = untilNanos;
+    }
+  }
+
+  private void signalWaiters() {
+    // 한도와 우선순위 조건이 바뀌었으므로 모두 깨워서 다시 확인하게 함
+    interactiveTurn.signalAll();
+    backgroundTurn.signalAll();
+  }
+
+  private int waiting(LlmPriority priority) {
+    return priority == LlmPriority.INTERACTIVE ? waitingInteractive : waitingBackground;
+  }
+
+  private void addWaiting(LlmPriority priority, int delta) {
+    if (priority == LlmPriority.INTERACTIVE) {
+      waitingInteractive += delta;
+    } else {
+      waitingBackground += delta;
+      return;
+    }
+    // INTERACTIVE 대기가 끝나면 BACKGROUND가 시작할 수 있는지 다시 확인
+    if (waitingInteractive == 0) {
+      backgroundTurn.signalAll();
+    }
+  }
+
+  private Condition condition(LlmPriority priority) {
+    return priority == LlmPriority.INTERACTIVE ? interactiveTurn : backgroundTurn;
+  }
+
+  private LlmLimitExceededException reject(LlmPriority priority, String reason) {
+    return reject(priority, reason, null);
+  }
+
+  private LlmLimitExceededException reject(LlmPriority priority, String reason, Duration retryAfter) {
+    log.warn("LLM 호출 거절({}): {} 동시 실행 {}/{}", priority, reason, inFlight, (int) limit);
+    return new LlmLimitExceededException("LLM 호출이 거절되었습니다: " + reason, retryAfter);
+  }
+}
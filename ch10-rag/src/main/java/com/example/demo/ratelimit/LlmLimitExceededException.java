@@ -0,0 +1,28 @@
+package com.example.demo.ratelimit;
+
+import java.time.Duration;
+
+/*
+ * 동시 호출 한도나 분당 요청/토큰 한도 때문에 LLM 호출을 바로 거절할 때 발생하는 예외
+ *  - retryAfter: 분당 한도 때문에 거절한 경우 한도가 풀리기까지 남은 시간 (그 밖의 경우 null)
+ * LlmLimitExceptionHandler가 429(분당 한도) 또는 503(동시 실행 한도)으로 응답
+ */
+public class LlmLimitExceededException extends RuntimeException {
+  // ##### 필드 #####
+  private final Duration retryAfter;
+
+  // ##### 생성자 #####
+  public LlmLimitExceededException(String message) {
+    this(message, null);
+  }
+
+  public LlmLimitExceededException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  // ##### 메소드 #####
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
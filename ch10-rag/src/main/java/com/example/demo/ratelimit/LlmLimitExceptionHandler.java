@@ -0,0 +1,31 @@
+package com.example.demo.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/*
+ * LLM 호출이 리미터에서 거절되었을 때의 HTTP 응답
+ *  - 분당 요청/토큰 한도: 429 + Retry-After(초)
+ *  - 동시 실행 한도(대기열 가득 참, 대기 시간 초과): 503
+ */
+@RestControllerAdvice
+public class LlmLimitExceptionHandler {
+  // ##### 예외 처리 메소드 #####
+  @ExceptionHandler(LlmLimitExceededException.class)
+  public ResponseEntity<String> handle(LlmLimitExceededException e) {
+    if (e.getRetryAfter() != null) {
+      long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+          .contentType(MediaType.TEXT_PLAIN)
+          .body(e.getMessage());
+    }
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .contentType(MediaType.TEXT_PLAIN)
+        .body(e.getMessage());
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.ratelimit;
+
+import java.util.function.Supplier;
+
+/*
+ * LLM 호출의 우선순위
+ *  - INTERACTIVE: 사용자가 응답을 기다리는 요청 (기본값)
+ *  - BACKGROUND: ETL 키워드 추출, 임베딩 적재, 대화 요약처럼 늦어져도 되는 작업
+ * 호출하는 스레드에 우선순위를 지정하면 AdaptiveConcurrencyLimiter가 그 값을 사용
+ */
+public enum LlmPriority {
+  INTERACTIVE, BACKGROUND;
+
+  // ##### 필드 #####
+  private static final ThreadLocal<LlmPriority> CURRENT = new ThreadLocal<>();
+
+  // ##### 현재 스레드의 우선순위를 반환하는 메소드 #####
+  public static LlmPriority current() {
+    LlmPriority priority = CURRENT.get();
+    return priority != null ? priority : INTERACTIVE;
+  }
+
+  // ##### 지정한 우선순위로 작업을 실행하는 메소드 #####
+  public static <T> T callAs(LlmPriority priority, Supplier<T> task) {
+    LlmPriority previous = CURRENT.get();
+    CURRENT.set(priority);
+    try {
+      return task.get();
+    } finally {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    }
+  }
+
+  public static void runAs(LlmPriority priority, Runnable task) {
+    callAs(priority, () -> {
+      task.run();
+      return null;
+    });
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.llm.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+  // ##### 리미터 설정 #####
+  @Value("${app.llm.limiter.initial-limit:8}")
+  private int initialLimit;
+  @Value("${app.llm.limiter.min-limit:1}")
+  private int minLimit;
+  @Value("${app.llm.limiter.max-limit:64}")
+  private int maxLimit;
+  @Value("${app.llm.limiter.background-share:0.5}")
+  private double backgroundShare;
+  @Value("${app.llm.limiter.interactive-max-wait:2s}")
+  private Duration interactiveMaxWait;
+  @Value("${app.llm.limiter.background-max-wait:60s}")
+  private Duration backgroundMaxWait;
+  @Value("${app.llm.limiter.max-queued:32}")
+  private int maxQueued;
+  @Value("${app.llm.limiter.request-reserve:1}")
+  private long requestReserve;
+  @Value("${app.llm.limiter.token-reserve:2000}")
+  private long tokenReserve;
+
+  // ##### ChatModel과 EmbeddingModel이 공유하는 리미터 #####
+  @Bean
+  public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+    return new AdaptiveConcurrencyLimiter(
+        initialLimit, minLimit, maxLimit, backgroundShare,
+        interactiveMaxWait, backgroundMaxWait, maxQueued, requestReserve, tokenReserve);
+  }
+
+  // ##### OpenAI 모델들이 사용하는 RestClient에 인터셉터 등록 #####
+  // HttpCaptureLogger의 RestClient.Builder도 RestClientBuilderConfigurer를 거치므로 함께 적용됨
+  @Bean
+  public RestClientCustomizer rateLimitRestClientCustomizer(AdaptiveConcurrencyLimiter limiter) {
+    return builder -> builder.requestInterceptor(new RateLimitInterceptor(limiter));
+  }
+}
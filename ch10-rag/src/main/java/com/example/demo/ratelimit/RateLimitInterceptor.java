@@ -0,0 +1,121 @@
+package com.example.demo.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/*
+ * OpenAI 채팅/임베딩 HTTP 호출 앞에서 AdaptiveConcurrencyLimiter를 적용하는 인터셉터
+ *  - ChatModel과 EmbeddingModel이 공유하는 RestClient에 등록되므로 두 모델 호출을 함께 제한
+ *  - Spring AI의 재시도도 HTTP 호출마다 다시 허가를 얻음
+ *  - 응답 헤더(x-ratelimit-*)로 남은 요청 수/토큰 수를 리미터에 전달
+ *  - 429는 retry-after(없으면 리셋 시간) 만큼 새 호출을 멈추고 한도를 줄임
+ */
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+  // ##### 필드 #####
+  // 예) "1s", "6m0s", "20ms", "1h2m3.5s"
+  private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|s|m|h)");
+  private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  // ##### 생성자 #####
+  public RateLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+      throws IOException {
+    if (!isModelCall(request)) {
+      return execution.execute(request, body);
+    }
+
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(LlmPriority.current());
+    try {
+      ClientHttpResponse response = execution.execute(request, body);
+
+      HttpHeaders headers = response.getHeaders();
+      limiter.updateBudget(
+          parseLong(headers.getFirst("x-ratelimit-remaining-requests")),
+          parseDuration(headers.getFirst("x-ratelimit-reset-requests")),
+          parseLong(headers.getFirst("x-ratelimit-remaining-tokens")),
+          parseDuration(headers.getFirst("x-ratelimit-reset-tokens")));
+
+      if (response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+        permit.rateLimited(retryAfter(headers));
+      } else if (response.getStatusCode().isError()) {
+        permit.failed();
+      } else {
+        permit.success();
+      }
+      return response;
+    } finally {
+      // 위에서 반환하지 못한 경우(예외, 헤더 처리 오류)에도 허가를 반납 (이미 반납했으면 무시됨)
+      permit.failed();
+    }
+  }
+
+  private boolean isModelCall(HttpRequest request) {
+    String path = request.getURI().getPath();
+    return path.endsWith("/chat/completions") || path.endsWith("/embeddings");
+  }
+
+  private Duration retryAfter(HttpHeaders headers) {
+    Long retryAfterMs = parseLong(headers.getFirst("retry-after-ms"));
+    if (retryAfterMs != null) {
+      return Duration.ofMillis(retryAfterMs);
+    }
+    Long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+    if (retryAfter != null) {
+      return Duration.ofSeconds(retryAfter);
+    }
+    Duration resetTokens = parseDuration(headers.getFirst("x-ratelimit-reset-tokens"));
+    Duration resetRequests = parseDuration(headers.getFirst("x-ratelimit-reset-requests"));
+    Duration reset = resetTokens;
+    if (reset == null || (resetRequests != null && resetRequests.compareTo(reset) > 0)) {
+      reset = resetRequests;
+    }
+    return reset != null ? reset : DEFAULT_RETRY_AFTER;
+  }
+
+  private static Long parseLong(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static Duration parseDuration(String value) {
+    if (value == null) {
+      return null;
+    }
+    Matcher matcher = DURATION.matcher(value);
+    double millis = 0;
+    boolean found = false;
+    while (matcher.find()) {
+      found = true;
+      double amount = Double.parseDouble(matcher.group(1));
+      millis += switch (matcher.group(2)) {
+        case "ms" -> amount;
+        case "s" -> amount * 1000;
+        case "m" -> amount * 60_000;
+        default -> amount * 3_600_000;
+      };
+    }
+    return found ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+  }
+}
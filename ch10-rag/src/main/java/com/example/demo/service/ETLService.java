@@ -24,6 +24,8 @@ import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.demo.ratelimit.LlmPriority;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -60,11 +62,11 @@ public class ETLService {
     }
 
     // 변환하기
-    documents = transform(documents);
-    log.info("변환된 Document 수: {} 개", documents.size());
+    List<Document> transformedDocuments = transform(documents);
+    log.info("변환된 Document 수: {} 개", transformedDocuments.size());
 
-    // 적재하기
-    vectorStore.add(documents);
+    // 적재하기 (임베딩은 사용자 요청보다 낮은 우선순위로 호출)
+    LlmPriority.runAs(LlmPriority.BACKGROUND, () -> vectorStore.add(transformedDocuments));
 
     return "올린 문서를 추출-변환-적재 완료 했습니다.";
   }
@@ -101,9 +103,12 @@ public class ETLService {
     transformedDocuments = tokenTextSplitter.apply(documents);
 
     // 메타데이터에 키워드 추가하기
+    // 사용자 요청보다 낮은 우선순위로 LLM 호출
     KeywordMetadataEnricher keywordMetadataEnricher = 
         new KeywordMetadataEnricher(chatModel, 5);
-    transformedDocuments = keywordMetadataEnricher.apply(transformedDocuments);
+    List<Document> splitDocuments = transformedDocuments;
+    transformedDocuments = LlmPriority.callAs(LlmPriority.BACKGROUND,
+        () -> keywordMetadataEnricher.apply(splitDocuments));
 
     return transformedDocuments;
   }
@@ -135,7 +140,7 @@ public class ETLService {
     log.info("변환된 Document 수: {} 개", transformedDocuments.size());
 
     // L: 적재하기
-    vectorStore.add(transformedDocuments);
+    LlmPriority.runAs(LlmPriority.BACKGROUND, () -> vectorStore.add(transformedDocuments));
 
     return "HTML에서 추출-변환-적재 완료 했습니다.";
   }
@@ -178,7 +183,7 @@ public class ETLService {
     log.info("변환된 Document 수: {} 개", transformedDocuments.size());
 
     // L: 적재하기
-    vectorStore.add(transformedDocuments);
+    LlmPriority.runAs(LlmPriority.BACKGROUND, () -> vectorStore.add(transformedDocuments));
 
     return "JSON에서 추출-변환-적재 완료 했습니다.";
   }
@@ -14,6 +14,7 @@ import org.springframework.ai.transformer.splitter.TokenTextSplitter;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
@@ -22,6 +23,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.demo.vectorstore.CachingVectorStore;
+import com.example.demo.vectorstore.QuantizedPgVectorStore;
+import com.example.demo.vectorstore.TenantRoutingVectorStore;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -31,6 +36,8 @@ public class RagService1 {
   private ChatClient chatClient;
   @Autowired private VectorStore vectorStore;
   @Autowired private JdbcTemplate jdbcTemplate;
+  @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}")
+  private String pgVectorTableName;
 
   // ##### 생성자 #####
   public RagService1(ChatClient.Builder chatClientBuilder) {
@@ -43,7 +50,29 @@ public class RagService1 {
 
   // ##### 벡터 저장소의 데이터를 모두 삭제하는 메소드 #####
   public void clearVectorStore() {
-    jdbcTemplate.update("TRUNCATE TABLE vector_store");
+    // 멀티 테넌트이면 현재 테넌트의 테이블과 저장소를 대상으로 함
+    VectorStore target = vectorStore;
+    String tableName = null;
+    if (vectorStore instanceof TenantRoutingVectorStore tenantRoutingVectorStore) {
+      target = tenantRoutingVectorStore.currentVectorStore();
+      tableName = tenantRoutingVectorStore.currentTableName();
+    }
+    if (tableName == null) {
+      tableName = tableNameOf(target);
+    }
+    jdbcTemplate.update("TRUNCATE TABLE " + tableName);
+    // VectorStore를 거치지 않고 삭제했으므로 검색 결과 캐시를 직접 무효화
+    if (target instanceof CachingVectorStore cachingVectorStore) {
+      cachingVectorStore.invalidateAll();
+    }
+  }
+
+  // 실제 데이터가 저장된 테이블 (양자화 저장소를 사용하면 그 테이블)
+  private String tableNameOf(VectorStore target) {
+    VectorStore store = target instanceof CachingVectorStore cachingVectorStore
+        ? cachingVectorStore.getDelegate() : target;
+    return store instanceof QuantizedPgVectorStore quantizedVectorStore
+        ? quantizedVectorStore.getTableName() : pgVectorTableName;
   }
 
   // ##### PDF 파일을 ETL 처리하는 메소드 #####
@@ -18,6 +18,8 @@ import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import jakarta.annotation.PostConstruct;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -32,6 +34,13 @@ public class RagService2 {
   @Autowired
   private ChatMemory chatMemory;
 
+  // 요청마다 새로 만들지 않고 시작할 때 한 번 만들어서 공유하는 쿼리 변환기/확장기
+  // (생성 후 변경되지 않으므로 여러 스레드에서 동시에 사용해도 안전)
+  private CompressionQueryTransformer compressionQueryTransformer;
+  private RewriteQueryTransformer rewriteQueryTransformer;
+  private TranslationQueryTransformer translationQueryTransformer;
+  private MultiQueryExpander multiQueryExpander;
+
   // ##### 생성자 #####
   public RagService2(ChatClient.Builder chatClientBuilder) {
     this.chatClient = chatClientBuilder
@@ -41,6 +50,15 @@ public class RagService2 {
       .build();
   }
 
+  // ##### 쿼리 변환기/확장기를 미리 생성하는 메소드 #####
+  @PostConstruct
+  public void init() {
+    this.compressionQueryTransformer = createCompressionQueryTransformer();
+    this.rewriteQueryTransformer = createRewriteQueryTransformer();
+    this.translationQueryTransformer = createTranslationQueryTransformer();
+    this.multiQueryExpander = createMultiQueryExpander();
+  }
+
   // ##### VectorStoreDocumentRetriever 생성하고 반환하는 메소드 #####
   private VectorStoreDocumentRetriever createVectorStoreDocumentRetriever(
     double score, String source) {
@@ -84,7 +102,7 @@ public class RagService2 {
     // RetrievalAugmentationAdvisor 생성
     RetrievalAugmentationAdvisor retrievalAugmentationAdvisor = 
         RetrievalAugmentationAdvisor.builder()
-            .queryTransformers(createCompressionQueryTransformer())
+            .queryTransformers(compressionQueryTransformer)
             .documentRetriever(createVectorStoreDocumentRetriever(score, source))
             .build();
 
@@ -124,7 +142,7 @@ public class RagService2 {
     // RetrievalAugmentationAdvisor 생성
     RetrievalAugmentationAdvisor retrievalAugmentationAdvisor = 
         RetrievalAugmentationAdvisor.builder()
-            .queryTransformers(createRewriteQueryTransformer())
+            .queryTransformers(rewriteQueryTransformer)
             .documentRetriever(createVectorStoreDocumentRetriever(score, source))
             .build();
 
@@ -161,7 +179,7 @@ public class RagService2 {
     // RetrievalAugmentationAdvisor 생성
     RetrievalAugmentationAdvisor retrievalAugmentationAdvisor = 
         RetrievalAugmentationAdvisor.builder()
-            .queryTransformers(createTranslationQueryTransformer())
+            .queryTransformers(translationQueryTransformer)
             .documentRetriever(createVectorStoreDocumentRetriever(score, source))
             .build();
 
@@ -199,7 +217,7 @@ public class RagService2 {
     // RetrievalAugmentationAdvisor 생성
     RetrievalAugmentationAdvisor retrievalAugmentationAdvisor = 
         RetrievalAugmentationAdvisor.builder()
-            .queryExpander(createMultiQueryExpander())
+            .queryExpander(multiQueryExpander)
             .documentRetriever(createVectorStoreDocumentRetriever(score, source))
             .build();
 
@@ -0,0 +1,85 @@
+package com.example.demo.tenant;
+
+import java.util.regex.Pattern;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ThreadLocalAccessor;
+
+/*
+ * 현재 요청의 테넌트(고객사) ID를 스레드별로 보관하는 클래스
+ * 테넌트 ID는 테이블/스키마 이름에 사용되므로 영문 소문자, 숫자, _ 만 허용
+ *  - 테넌트 헤더가 없는 요청은 setDefaultTenant()로 "기본 저장소 사용"을 명시
+ *    (아무것도 설정되지 않은 스레드와 구분해서, 컨텍스트가 유실된 경우를 잡아냄)
+ *  - Micrometer ContextRegistry에 등록하므로 ContextPropagatingTaskDecorator를 쓰는 실행기
+ *    (예: RetrievalAugmentationAdvisor의 문서 검색 스레드)로 테넌트가 전파됨
+ */
+public final class TenantContext {
+  // ##### 필드 #####
+  public static final String CONTEXT_KEY = "app.tenant.id";
+  private static final Pattern TENANT_ID_PATTERN = Pattern.compile("[a-z0-9_]{1,32}");
+  // 기본 저장소를 사용하는 요청의 표시 (테넌트 ID 패턴과 겹치지 않음)
+  private static final String DEFAULT_TENANT = "";
+  private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+  static {
+    ContextRegistry.getInstance().registerThreadLocalAccessor(new TenantThreadLocalAccessor());
+  }
+
+  // ##### 생성자 #####
+  private TenantContext() {
+  }
+
+  // ##### 메소드 #####
+  public static void setTenantId(String tenantId) {
+    if (!isValidTenantId(tenantId)) {
+      throw new IllegalArgumentException("잘못된 테넌트 ID입니다: " + tenantId);
+    }
+    CURRENT_TENANT.set(tenantId);
+  }
+
+  public static void setDefaultTenant() {
+    CURRENT_TENANT.set(DEFAULT_TENANT);
+  }
+
+  // 테넌트 ID (기본 저장소를 사용하거나 설정되지 않았으면 null)
+  public static String getTenantId() {
+    String tenantId = CURRENT_TENANT.get();
+    return DEFAULT_TENANT.equals(tenantId) ? null : tenantId;
+  }
+
+  // 테넌트 또는 기본 저장소 사용이 설정되어 있는지 여부
+  public static boolean isPresent() {
+    return CURRENT_TENANT.get() != null;
+  }
+
+  public static boolean isValidTenantId(String tenantId) {
+    return tenantId != null && TENANT_ID_PATTERN.matcher(tenantId).matches();
+  }
+
+  public static void clear() {
+    CURRENT_TENANT.remove();
+  }
+
+  // ##### 다른 스레드로 테넌트를 전파하는 ThreadLocalAccessor #####
+  private static class TenantThreadLocalAccessor implements ThreadLocalAccessor<String> {
+    @Override
+    public Object key() {
+      return CONTEXT_KEY;
+    }
+
+    @Override
+    public String getValue() {
+      return CURRENT_TENANT.get();
+    }
+
+    @Override
+    public void setValue(String value) {
+      CURRENT_TENANT.set(value);
+    }
+
+    @Override
+    public void setValue() {
+      CURRENT_TENANT.remove();
+    }
+  }
+}
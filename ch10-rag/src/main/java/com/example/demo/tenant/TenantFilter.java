@@ -0,0 +1,59 @@
+package com.example.demo.tenant;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * 요청 헤더에서 테넌트 ID를 읽어서 TenantContext에 저장하는 필터
+ * 헤더가 없으면 테넌트 없이(기본 벡터 저장소로) 처리
+ * 허용 목록(app.tenant.allowed-ids)에 없는 테넌트의 요청은 403으로 거절
+ *  - 멀티 테넌트 저장소를 사용하면 허용 목록이 비어 있어도 거절 (TenantRoutingVectorStore와 같은 기준)
+ *  - 사용하지 않으면 허용 목록을 지정했을 때만 거절
+ */
+@Component
+public class TenantFilter extends OncePerRequestFilter {
+  // ##### 필드 #####
+  @Value("${app.tenant.header-name:X-Tenant-Id}")
+  private String headerName;
+  @Value("${app.tenant.allowed-ids:}")
+  private Set<String> allowedIds;
+  @Value("${app.vectorstore.tenant.enabled:false}")
+  private boolean tenantEnabled;
+
+  // ##### 메소드 #####
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    String tenantId = request.getHeader(headerName);
+    try {
+      if (StringUtils.hasText(tenantId)) {
+        try {
+          TenantContext.setTenantId(tenantId.strip().toLowerCase());
+        } catch (IllegalArgumentException e) {
+          response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+          return;
+        }
+        boolean checkAllowed = tenantEnabled || !allowedIds.isEmpty();
+        if (checkAllowed && !allowedIds.contains(TenantContext.getTenantId())) {
+          response.sendError(HttpServletResponse.SC_FORBIDDEN, "허용되지 않은 테넌트입니다.");
+          return;
+        }
+      } else {
+        TenantContext.setDefaultTenant();
+      }
+      filterChain.doFilter(request, response);
+    } finally {
+      TenantContext.clear();
+    }
+  }
+}
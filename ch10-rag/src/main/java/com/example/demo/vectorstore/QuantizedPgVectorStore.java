@@ -0,0 +1,272 @@
+package com.example.demo.vectorstore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.pgvector.PgVectorFilterExpressionConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 차원 축소(Matryoshka) + 양자화 저장을 지원하는 PGVector 저장소
+ *  - 임베딩 벡터를 앞에서부터 dimensions 개만 잘라서 정규화한 후 저장
+ *  - HALFVEC: 2바이트 부동소수(halfvec)로 저장 (VECTOR 대비 디스크/메모리 절반, HNSW 4000차원까지 가능)
+ *  - binaryQuantization: binary_quantize() 식 인덱스(bit, 해밍 거리)로 1차 후보 검색 후
+ *    저장된 벡터로 코사인 거리를 다시 계산해서 최종 순위 결정 (HNSW 64000차원까지 가능)
+ */
+@Slf4j
+public class QuantizedPgVectorStore implements VectorStore {
+  // ##### 상수 #####
+  public enum StorageType {
+    VECTOR("vector", "vector_cosine_ops", 2000),
+    HALFVEC("halfvec", "halfvec_cosine_ops", 4000);
+
+    private final String columnType;
+    private final String cosineOps;
+    private final int maxHnswDimensions;
+
+    StorageType(String columnType, String cosineOps, int maxHnswDimensions) {
+      this.columnType = columnType;
+      this.cosineOps = cosineOps;
+      this.maxHnswDimensions = maxHnswDimensions;
+    }
+  }
+
+  private static final int MAX_BIT_HNSW_DIMENSIONS = 64000;
+
+  // ##### 필드 #####
+  private final JdbcTemplate jdbcTemplate;
+  private final EmbeddingModel embeddingModel;
+  private final String tableName;
+  private final int dimensions;
+  private final StorageType storageType;
+  private final boolean binaryQuantization;
+  private final int oversampling;
+  private final PgVectorFilterExpressionConverter filterExpressionConverter =
+      new PgVectorFilterExpressionConverter();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  // ##### 생성자 #####
+  public QuantizedPgVectorStore(
+      JdbcTemplate jdbcTemplate,
+      EmbeddingModel embeddingModel,
+      String tableName,
+      int dimensions,
+      StorageType storageType,
+      boolean binaryQuantization,
+      int oversampling) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.embeddingModel = embeddingModel;
+    this.tableName = tableName;
+    this.dimensions = dimensions;
+    this.storageType = storageType;
+    this.binaryQuantization = binaryQuantization;
+    this.oversampling = Math.max(1, oversampling);
+  }
+
+  // ##### 테이블과 인덱스를 생성하는 메소드 #####
+  public void initializeSchema() {
+    jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS vector");
+    jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+    jdbcTemplate.execute("""
+        CREATE TABLE IF NOT EXISTS %s (
+          id uuid DEFAULT uuid_generate_v4() PRIMARY KEY,
+          content text,
+          metadata json,
+          embedding %s(%d)
+        )
+        """.formatted(tableName, storageType.columnType, dimensions));
+
+    if (binaryQuantization && dimensions <= MAX_BIT_HNSW_DIMENSIONS) {
+      // 이진 양자화 식 인덱스: 차원당 1비트만 인덱스에 저장
+      jdbcTemplate.execute("""
+          CREATE INDEX IF NOT EXISTS %s_bq_idx ON %s
+          USING hnsw ((binary_quantize(embedding)::bit(%d)) bit_hamming_ops)
+          """.formatted(tableName, tableName, dimensions));
+    } else if (dimensions <= storageType.maxHnswDimensions) {
+      jdbcTemplate.execute("""
+          CREATE INDEX IF NOT EXISTS %s_hnsw_idx ON %s
+          USING hnsw (embedding %s)
+          """.formatted(tableName, tableName, storageType.cosineOps));
+    } else {
+      log.warn("{} 타입은 {}차원까지만 HNSW 인덱스를 만들 수 있습니다. 인덱스 없이 사용합니다.",
+          storageType.columnType, storageType.maxHnswDimensions);
+    }
+    log.info("양자화 벡터 저장소 초기화: table={}, type={}({}), binaryQuantization={}",
+        tableName, storageType.columnType, dimensions, binaryQuantization);
+  }
+
+  // ##### 메소드 #####
+  public String getTableName() {
+    return tableName;
+  }
+
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public void add(List<Document> documents) {
+    // 임베딩하기 (토큰 수 기준으로 나누어서 요청)
+    List<float[]> embeddings = embeddingModel.embed(
+        documents, EmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+
+    // 차원 축소 후 일괄 저장
+    List<Object[]> batchArgs = new ArrayList<>(documents.size());
+    for (int i = 0; i < documents.size(); i++) {
+      Document document = documents.get(i);
+      batchArgs.add(new Object[] {
+          UUID.fromString(document.getId()),
+          document.getText(),
+          toJson(document.getMetadata()),
+          toVectorLiteral(truncate(embeddings.get(i)))
+      });
+    }
+    jdbcTemplate.batchUpdate("""
+        INSERT INTO %s (id, content, metadata, embedding)
+        VALUES (?, ?, ?::json, ?::%s)
+        ON CONFLICT (id) DO UPDATE SET
+          content = EXCLUDED.content,
+          metadata = EXCLUDED.metadata,
+          embedding = EXCLUDED.embedding
+        """.formatted(tableName, storageType.columnType), batchArgs);
+  }
+
+  @Override
+  public void delete(List<String> idList) {
+    List<Object[]> batchArgs = idList.stream()
+        .map(id -> new Object[] { UUID.fromString(id) })
+        .toList();
+    jdbcTemplate.batchUpdate("DELETE FROM %s WHERE id = ?".formatted(tableName), batchArgs);
+  }
+
+  @Override
+  public void delete(Filter.Expression filterExpression) {
+    String jsonPath = filterExpressionConverter.convertExpression(filterExpression);
+    jdbcTemplate.update("DELETE FROM %s WHERE metadata::jsonb @@ '%s'::jsonpath"
+        .formatted(tableName, jsonPath));
+  }
+
+  @Override
+  public List<Document> similaritySearch(SearchRequest request) {
+    // 질문 임베딩 후 차원 축소
+    String queryVector = toVectorLiteral(truncate(embeddingModel.embed(request.getQuery())));
+    double maxDistance = 1 - request.getSimilarityThreshold();
+
+    // 메타데이터 필터 조건
+    String where = "";
+    if (request.hasFilterExpression()) {
+      String jsonPath = filterExpressionConverter.convertExpression(request.getFilterExpression());
+      if (StringUtils.hasText(jsonPath)) {
+        where = "WHERE metadata::jsonb @@ '%s'::jsonpath".formatted(jsonPath);
+      }
+    }
+
+    String sql;
+    List<Object> args = new ArrayList<>();
+    if (binaryQuantization) {
+      // 1차: 해밍 거리로 topK * oversampling 개 후보 검색
+      // 2차: 저장된 벡터로 코사인 거리를 다시 계산해서 topK 개 선택
+      sql = """
+          SELECT id, content, metadata, distance FROM (
+            SELECT id, content, metadata, embedding <=> ?::%1$s AS distance
+            FROM (
+              SELECT id, content, metadata, embedding FROM %2$s %3$s
+              ORDER BY binary_quantize(embedding)::bit(%4$d) <~> binary_quantize(?::%1$s)
+              LIMIT ?
+            ) candidates
+          ) rescored
+          WHERE distance <= ?
+          ORDER BY distance
+          LIMIT ?
+          """.formatted(storageType.columnType, tableName, where, dimensions);
+      args.addAll(List.of(queryVector, queryVector, request.getTopK() * oversampling,
+          maxDistance, request.getTopK()));
+    } else {
+      sql = """
+          SELECT id, content, metadata, distance FROM (
+            SELECT id, content, metadata, embedding <=> ?::%1$s AS distance
+            FROM %2$s %3$s
+            ORDER BY embedding <=> ?::%1$s
+            LIMIT ?
+          ) nearest
+          WHERE distance <= ?
+          ORDER BY distance
+          """.formatted(storageType.columnType, tableName, where);
+      args.addAll(List.of(queryVector, queryVector, request.getTopK(), maxDistance));
+    }
+
+    return jdbcTemplate.query(sql, (rs, rowNum) -> {
+      Map<String, Object> metadata = fromJson(rs.getString("metadata"));
+      double distance = rs.getDouble("distance");
+      metadata.put("distance", distance);
+      return Document.builder()
+          .id(rs.getString("id"))
+          .text(rs.getString("content"))
+          .metadata(metadata)
+          .score(1 - distance)
+          .build();
+    }, args.toArray());
+  }
+
+  // ##### 앞쪽 dimensions 개 차원만 남기고 다시 정규화하는 메소드 #####
+  float[] truncate(float[] embedding) {
+    if (embedding.length < dimensions) {
+      throw new IllegalArgumentException(
+          "임베딩 차원(%d)이 저장 차원(%d)보다 작습니다.".formatted(embedding.length, dimensions));
+    }
+    float[] truncated = Arrays.copyOf(embedding, dimensions);
+    double norm = 0;
+    for (float value : truncated) {
+      norm += value * value;
+    }
+    norm = Math.sqrt(norm);
+    if (norm > 0) {
+      for (int i = 0; i < truncated.length; i++) {
+        truncated[i] = (float) (truncated[i] / norm);
+      }
+    }
+    return truncated;
+  }
+
+  private String toVectorLiteral(float[] vector) {
+    return Arrays.toString(vector).replace(" ", "");
+  }
+
+  private String toJson(Map<String, Object> metadata) {
+    try {
+      return objectMapper.writeValueAsString(metadata);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("메타데이터를 JSON으로 변환할 수 없습니다.", e);
+    }
+  }
+
+  private Map<String, Object> fromJson(String json) {
+    if (json == null) {
+      return new HashMap<>();
+    }
+    try {
+      return objectMapper.readValue(json, new TypeReference<HashMap<String, Object>>() {});
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("메타데이터 JSON을 읽을 수 없습니다.", e);
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package com.example.demo.vectorstore;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.tenant.TenantContext;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 요청의 테넌트 ID에 따라 테넌트 전용 PgVectorStore로 라우팅하는 VectorStore
+ *  - TABLE 모드: public.vector_store_{테넌트}, SCHEMA 모드: tenant_{테넌트}.vector_store
+ *  - 테넌트마다 검색용/적재용 커넥션 풀을 따로 만들어서
+ *    한 테넌트의 대량 적재가 다른 테넌트(또는 자신의) 검색 커넥션을 빼앗지 못하게 함
+ *  - 한 번 만든 PgVectorStore는 캐싱해서 재사용
+ *  - 테넌트 저장소는 항상 표준 PgVectorStore(vector 타입)를 사용
+ *    (app.vectorstore.quantized.enabled는 테넌트 헤더가 없는 기본 저장소에만 적용)
+ *  - 설정에 등록된 테넌트만 허용하므로 저장소(커넥션 풀) 수는 등록된 테넌트 수를 넘지 않음
+ *  - 테넌트 헤더가 없는 요청(TenantContext.setDefaultTenant())은 기본 VectorStore로 처리
+ *  - 테넌트 컨텍스트가 아예 없으면(다른 스레드로 전파되지 않은 경우 등) 기본 저장소로 가지 않고 예외
+ */
+@Slf4j
+public class TenantRoutingVectorStore implements VectorStore, AutoCloseable {
+  // ##### 상수 #####
+  public enum Mode {
+    TABLE, SCHEMA
+  }
+
+  // ##### 필드 #####
+  private final VectorStore defaultVectorStore;
+  private final DataSourceProperties dataSourceProperties;
+  private final EmbeddingModel embeddingModel;
+  private final Mode mode;
+  private final int searchPoolSize;
+  private final int ingestPoolSize;
+  private final UnaryOperator<VectorStore> decorator;
+  private final Set<String> allowedTenantIds;
+  private final Map<String, TenantVectorStore> tenantVectorStores = new ConcurrentHashMap<>();
+  // 테넌트 저장소 생성(테이블 생성 포함)은 한 번에 하나씩
+  private final Object creationLock = new Object();
+
+  // ##### 생성자 #####
+  public TenantRoutingVectorStore(
+      VectorStore defaultVectorStore,
+      DataSourceProperties dataSourceProperties,
+      EmbeddingModel embeddingModel,
+      Mode mode,
+      int searchPoolSize,
+      int ingestPoolSize,
+      UnaryOperator<VectorStore> decorator,
+      Set<String> allowedTenantIds) {
+    this.defaultVectorStore = defaultVectorStore;
+    this.dataSourceProperties = dataSourceProperties;
+    this.embeddingModel = embeddingModel;
+    this.mode = mode;
+    this.searchPoolSize = searchPoolSize;
+    this.ingestPoolSize = ingestPoolSize;
+    this.decorator = decorator;
+    this.allowedTenantIds = Set.copyOf(allowedTenantIds);
+    if (this.allowedTenantIds.isEmpty()) {
+      log.warn("허용된 테넌트가 없습니다. 테넌트 ID가 있는 요청은 모두 거절됩니다.");
+    }
+  }
+
+  // ##### 테넌트별 검색/적재 저장소 #####
+  private static class TenantVectorStore implements VectorStore {
+    private final VectorStore searchStore;
+    private final VectorStore ingestStore;
+    private final HikariDataSource searchDataSource;
+    private final HikariDataSource ingestDataSource;
+    private final String tableName;
+    // 캐시 등으로 감싼 저장소 (라우팅 대상)
+    private VectorStore decorated;
+
+    TenantVectorStore(VectorStore searchStore, VectorStore ingestStore,
+        HikariDataSource searchDataSource, HikariDataSource ingestDataSource, String tableName) {
+      this.searchStore = searchStore;
+      this.ingestStore = ingestStore;
+      this.searchDataSource = searchDataSource;
+      this.ingestDataSource = ingestDataSource;
+      this.tableName = tableName;
+    }
+
+    @Override
+    public void add(List<Document> documents) {
+      ingestStore.add(documents);
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+      ingestStore.delete(idList);
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+      ingestStore.delete(filterExpression);
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+      return searchStore.similaritySearch(request);
+    }
+
+    void close() {
+      searchDataSource.close();
+      ingestDataSource.close();
+    }
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public void add(List<Document> documents) {
+    currentVectorStore().add(documents);
+  }
+
+  @Override
+  public void delete(List<String> idList) {
+    currentVectorStore().delete(idList);
+  }
+
+  @Override
+  public void delete(Filter.Expression filterExpression) {
+    currentVectorStore().delete(filterExpression);
+  }
+
+  @Override
+  public List<Document> similaritySearch(SearchRequest request) {
+    return currentVectorStore().similaritySearch(request);
+  }
+
+  // ##### 현재 테넌트의 VectorStore를 반환하는 메소드 #####
+  public VectorStore currentVectorStore() {
+    String tenantId = currentTenantId();
+    if (tenantId == null) {
+      return defaultVectorStore;
+    }
+    return tenantVectorStore(tenantId).decorated;
+  }
+
+  // ##### 현재 테넌트의 테이블 이름을 반환하는 메소드 (기본 저장소를 사용하면 null) #####
+  // VectorStore를 거치지 않고 테이블을 직접 변경할 때 사용
+  public String currentTableName() {
+    String tenantId = currentTenantId();
+    if (tenantId == null) {
+      return null;
+    }
+    return tenantVectorStore(tenantId).tableName;
+  }
+
+  // 테넌트 컨텍스트가 없으면 다른 테넌트(기본 저장소)의 데이터를 보지 않도록 실패
+  private String currentTenantId() {
+    if (!TenantContext.isPresent()) {
+      throw new IllegalStateException("테넌트 컨텍스트가 없습니다.");
+    }
+    return TenantContext.getTenantId();
+  }
+
+  // ##### 테넌트가 없을 때 사용하는 기본 VectorStore를 반환하는 메소드 #####
+  public VectorStore getDefaultVectorStore() {
+    return defaultVectorStore;
+  }
+
+  // ##### 테넌트 저장소를 찾거나 생성하는 메소드 #####
+  private TenantVectorStore tenantVectorStore(String tenantId) {
+    TenantVectorStore tenantVectorStore = tenantVectorStores.get(tenantId);
+    if (tenantVectorStore != null) {
+      return tenantVectorStore;
+    }
+    if (!allowedTenantIds.contains(tenantId)) {
+      throw new IllegalArgumentException("허용되지 않은 테넌트입니다: " + tenantId);
+    }
+    // 생성(DB 작업)은 맵 밖에서 하고, 다른 스레드가 먼저 만들었으면 그것을 사용
+    synchronized (creationLock) {
+      tenantVectorStore = tenantVectorStores.get(tenantId);
+      if (tenantVectorStore == null) {
+        tenantVectorStore = createTenantVectorStore(tenantId);
+        tenantVectorStores.put(tenantId, tenantVectorStore);
+      }
+      return tenantVectorStore;
+    }
+  }
+
+  // ##### 테넌트 전용 커넥션 풀과 PgVectorStore를 생성하는 메소드 #####
+  private TenantVectorStore createTenantVectorStore(String tenantId) {
+    String schemaName = mode == Mode.SCHEMA ? "tenant_" + tenantId : PgVectorStore.DEFAULT_SCHEMA_NAME;
+    String tableName = mode == Mode.SCHEMA
+        ? PgVectorStore.DEFAULT_TABLE_NAME : PgVectorStore.DEFAULT_TABLE_NAME + "_" + tenantId;
+
+    HikariDataSource ingestDataSource = createDataSource(tenantId + "-ingest", ingestPoolSize);
+    HikariDataSource searchDataSource = createDataSource(tenantId + "-search", searchPoolSize);
+    try {
+      // 적재용 저장소가 테이블과 인덱스를 생성
+      PgVectorStore ingestStore = PgVectorStore.builder(new JdbcTemplate(ingestDataSource), embeddingModel)
+          .schemaName(schemaName)
+          .vectorTableName(tableName)
+          .initializeSchema(true)
+          .build();
+      ingestStore.afterPropertiesSet();
+      PgVectorStore searchStore = PgVectorStore.builder(new JdbcTemplate(searchDataSource), embeddingModel)
+          .schemaName(schemaName)
+          .vectorTableName(tableName)
+          .initializeSchema(false)
+          .build();
+
+      log.info("테넌트 벡터 저장소 생성: tenant={}, table={}.{}, 검색 풀={}, 적재 풀={}",
+          tenantId, schemaName, tableName, searchPoolSize, ingestPoolSize);
+      TenantVectorStore tenantVectorStore = new TenantVectorStore(
+          searchStore, ingestStore, searchDataSource, ingestDataSource, schemaName + "." + tableName);
+      tenantVectorStore.decorated = decorator.apply(tenantVectorStore);
+      return tenantVectorStore;
+    } catch (RuntimeException e) {
+      // 생성에 실패하면 만들어둔 커넥션 풀을 닫음 (다음 요청에서 다시 시도)
+      ingestDataSource.close();
+      searchDataSource.close();
+      throw e;
+    }
+  }
+
+  private HikariDataSource createDataSource(String poolName, int maximumPoolSize) {
+    HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName(poolName);
+    dataSource.setMaximumPoolSize(maximumPoolSize);
+    dataSource.setMinimumIdle(0);
+    // 풀이 가득 차면 오래 기다리지 않고 실패
+    dataSource.setConnectionTimeout(5000);
+    return dataSource;
+  }
+
+  @Override
+  public void close() {
+    tenantVectorStores.values().forEach(TenantVectorStore::close);
+    tenantVectorStores.clear();
+  }
+}
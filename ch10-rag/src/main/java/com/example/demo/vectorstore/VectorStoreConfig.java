@@ -0,0 +1,85 @@
+package com.example.demo.vectorstore;
+
+import java.util.Set;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.vectorstore.QuantizedPgVectorStore.StorageType;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class VectorStoreConfig {
+  // ##### 양자화 벡터 저장소 설정 #####
+  @Value("${app.vectorstore.quantized.enabled:false}")
+  private boolean quantizedEnabled;
+  @Value("${app.vectorstore.quantized.table-name:quantized_vector_store}")
+  private String tableName;
+  @Value("${app.vectorstore.quantized.dimensions:1536}")
+  private int dimensions;
+  @Value("${app.vectorstore.quantized.storage-type:HALFVEC}")
+  private StorageType storageType;
+  @Value("${app.vectorstore.quantized.binary-quantization:true}")
+  private boolean binaryQuantization;
+  @Value("${app.vectorstore.quantized.oversampling:4}")
+  private int oversampling;
+
+  // ##### 검색 결과 캐시 설정 #####
+  @Value("${app.vectorstore.cache.enabled:true}")
+  private boolean cacheEnabled;
+  @Value("${app.vectorstore.cache.max-entries:1000}")
+  private int cacheMaxEntries;
+
+  // ##### 멀티 테넌트 설정 #####
+  @Value("${app.vectorstore.tenant.enabled:false}")
+  private boolean tenantEnabled;
+  @Value("${app.vectorstore.tenant.mode:TABLE}")
+  private TenantRoutingVectorStore.Mode tenantMode;
+  @Value("${app.vectorstore.tenant.search-pool-size:5}")
+  private int tenantSearchPoolSize;
+  @Value("${app.vectorstore.tenant.ingest-pool-size:2}")
+  private int tenantIngestPoolSize;
+  @Value("${app.tenant.allowed-ids:}")
+  private Set<String> allowedTenantIds;
+
+  // ##### 서비스에서 사용할 기본 VectorStore Bean #####
+  // PGVector 자동 구성 Bean(vectorStore) 또는 양자화 저장소를 검색 결과 캐시로 감쌈
+  // 멀티 테넌트를 사용하면 테넌트마다 캐시로 감싼 전용 저장소로 라우팅
+  @Bean
+  @Primary
+  public VectorStore primaryVectorStore(
+      PgVectorStore pgVectorStore, JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel,
+      DataSourceProperties dataSourceProperties) {
+    VectorStore vectorStore = pgVectorStore;
+    if (quantizedEnabled) {
+      QuantizedPgVectorStore quantizedVectorStore = new QuantizedPgVectorStore(
+          jdbcTemplate, embeddingModel, tableName, dimensions,
+          storageType, binaryQuantization, oversampling);
+      quantizedVectorStore.initializeSchema();
+      vectorStore = quantizedVectorStore;
+    }
+    vectorStore = withCache(vectorStore);
+    if (tenantEnabled) {
+      if (quantizedEnabled) {
+        log.warn("테넌트 저장소는 양자화 저장소를 사용하지 않습니다. (기본 저장소에만 적용)");
+      }
+      vectorStore = new TenantRoutingVectorStore(
+          vectorStore, dataSourceProperties, embeddingModel, tenantMode,
+          tenantSearchPoolSize, tenantIngestPoolSize, this::withCache, allowedTenantIds);
+    }
+    return vectorStore;
+  }
+
+  private VectorStore withCache(VectorStore vectorStore) {
+    return cacheEnabled ? new CachingVectorStore(vectorStore, cacheMaxEntries) : vectorStore;
+  }
+}
@@ -0,0 +1,431 @@
+package com.example.demo.vectorstore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * vector_store 테이블을 파일로 내보내고 다시 적재하는 서비스 (임베딩 API 호출 없음)
+ *
+ * 파일 형식(빅 엔디언)
+ *  - 헤더: "VSNAP" + 버전(1바이트)
+ *  - 블록: 블록 크기(int) + 행 수(int) + 컬럼별로 모아서 저장
+ *      id 열(uuid 16바이트씩) → content 길이 열 + 바이트 → metadata 길이 열 + 바이트
+ *      → embedding 차원 열(NULL이면 -1) + float 배열 (행마다 차원이 달라도 됨)
+ *  - 끝: 블록 크기 0
+ *  - 버전 1 파일(헤더에 벡터 차원 하나, 모든 행이 같은 차원)도 적재 가능
+ *
+ * 내보내기: COPY ... TO STDOUT (FORMAT binary)를 스트리밍으로 읽어서 블록 단위로 기록
+ * 가져오기: 블록을 메모리 매핑으로 읽어서 COPY ... FROM STDIN (FORMAT binary)로 적재
+ * 스냅샷 파일은 app.vectorstore.snapshot-dir 디렉토리 안의 이름으로만 지정 (디렉토리 밖 경로는 거절)
+ */
+@Service
+@Slf4j
+public class VectorStoreSnapshotService {
+  // ##### 상수 #####
+  private static final byte[] MAGIC = { 'V', 'S', 'N', 'A', 'P' };
+  private static final byte VERSION = 2;
+  private static final byte VERSION_FIXED_DIMENSIONS = 1;
+  private static final Pattern SNAPSHOT_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+  private static final int ROWS_PER_BLOCK = 4096;
+  // PostgreSQL COPY 바이너리 형식 시그니처
+  private static final byte[] PGCOPY_SIGNATURE = {
+      'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+  // ##### 필드 #####
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final VectorStore vectorStore;
+
+  @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}")
+  private String tableName;
+
+  @Value("${app.vectorstore.snapshot-dir:./snapshots}")
+  private String snapshotDir;
+
+  // ##### 생성자 #####
+  public VectorStoreSnapshotService(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, VectorStore vectorStore) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.vectorStore = vectorStore;
+  }
+
+  // ##### 실행 결과 #####
+  public record SnapshotResult(long rows, long bytes, long elapsedMillis) {
+  }
+
+  // ##### 한 블록에 해당하는 행들을 컬럼별로 모아두는 클래스 #####
+  private static class Block {
+    final long[] idMsb = new long[ROWS_PER_BLOCK];
+    final long[] idLsb = new long[ROWS_PER_BLOCK];
+    final byte[][] contents = new byte[ROWS_PER_BLOCK][];
+    final byte[][] metadatas = new byte[ROWS_PER_BLOCK][];
+    final float[][] embeddings = new float[ROWS_PER_BLOCK][];
+    int size;
+  }
+
+  //-------------------------------------------------------------------------------
+  // ##### 스냅샷 이름을 스냅샷 디렉토리 안의 파일 경로로 바꾸는 메소드 #####
+  private Path resolveSnapshot(String name) {
+    if (name == null || !SNAPSHOT_NAME.matcher(name).matches()) {
+      throw new IllegalArgumentException("스냅샷 이름은 영문자, 숫자, '.', '_', '-'만 사용할 수 있습니다.");
+    }
+    Path directory = Path.of(snapshotDir).toAbsolutePath().normalize();
+    Path file = directory.resolve(name).normalize();
+    if (!file.startsWith(directory) || file.equals(directory)) {
+      throw new IllegalArgumentException("스냅샷 디렉토리 밖의 경로는 사용할 수 없습니다.");
+    }
+    return file;
+  }
+
+  // ##### 테이블을 스냅샷 파일로 내보내는 메소드 #####
+  public SnapshotResult exportSnapshot(String name) {
+    long start = System.nanoTime();
+    Path file = resolveSnapshot(name);
+    try {
+      Files.createDirectories(file.getParent());
+    } catch (IOException e) {
+      throw new IllegalStateException("스냅샷 디렉토리를 만들 수 없습니다: " + file.getParent(), e);
+    }
+    String sql = "COPY (SELECT id, content, metadata, embedding FROM %s) TO STDOUT (FORMAT binary)"
+        .formatted(tableName);
+
+    // 같은 디렉토리의 임시 파일에 모두 쓴 뒤 이동해서, 실패하거나 쓰는 중에 읽어도 기존 스냅샷이 깨지지 않게 함
+    Path temp;
+    try {
+      temp = Files.createTempFile(file.getParent(), name, ".tmp");
+    } catch (IOException e) {
+      throw new IllegalStateException("스냅샷 임시 파일을 만들 수 없습니다: " + file.getParent(), e);
+    }
+    try {
+      long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new PGCopyInputStream(pgConnection(connection), sql), 1 << 16));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temp), 1 << 16))) {
+          return copyToSnapshot(in, out);
+        } catch (IOException e) {
+          throw new SQLException("스냅샷 파일을 쓰는 중 오류가 발생했습니다.", e);
+        }
+      });
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      return result(file, rows, start);
+    } catch (IOException e) {
+      throw new IllegalStateException("스냅샷 파일을 저장할 수 없습니다: " + file, e);
+    } finally {
+      // 이동하지 못한 임시 파일 삭제 (이동했으면 이미 없음)
+      try {
+        Files.deleteIfExists(temp);
+      } catch (IOException e) {
+        log.warn("스냅샷 임시 파일을 삭제하지 못했습니다: {}", e.getMessage());
+      }
+    }
+  }
+
+  private long copyToSnapshot(DataInputStream in, DataOutputStream out) throws IOException {
+    // COPY 바이너리 헤더: 시그니처(11) + 플래그(4) + 확장 영역 길이(4) + 확장 영역
+    in.skipNBytes(PGCOPY_SIGNATURE.length + 4);
+    in.skipNBytes(in.readInt());
+
+    out.write(MAGIC);
+    out.writeByte(VERSION);
+
+    Block block = new Block();
+    long rows = 0;
+    while (true) {
+      short fieldCount = in.readShort();
+      if (fieldCount == -1) {
+        break;
+      }
+      int i = block.size;
+      // id (uuid)
+      in.readInt();
+      block.idMsb[i] = in.readLong();
+      block.idLsb[i] = in.readLong();
+      // content, metadata (text/json은 UTF-8 바이트 그대로)
+      block.contents[i] = readField(in);
+      block.metadatas[i] = readField(in);
+      // embedding (NULL이면 길이 -1, 아니면 차원 short + 미사용 short + float 배열)
+      block.embeddings[i] = readVector(in);
+
+      if (++block.size == ROWS_PER_BLOCK) {
+        writeBlock(out, block);
+      }
+      rows++;
+    }
+    if (block.size > 0) {
+      writeBlock(out, block);
+    }
+    out.writeInt(0);
+    return rows;
+  }
+
+  private float[] readVector(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    int dim = in.readUnsignedShort();
+    in.readShort();
+    float[] embedding = new float[dim];
+    for (int d = 0; d < dim; d++) {
+      embedding[d] = in.readFloat();
+    }
+    return embedding;
+  }
+
+  private byte[] readField(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    return in.readNBytes(length);
+  }
+
+  private void writeBlock(DataOutputStream out, Block block) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream blockOut = new DataOutputStream(buffer);
+    blockOut.writeInt(block.size);
+    for (int i = 0; i < block.size; i++) {
+      blockOut.writeLong(block.idMsb[i]);
+      blockOut.writeLong(block.idLsb[i]);
+    }
+    writeBytesColumn(blockOut, block.contents, block.size);
+    writeBytesColumn(blockOut, block.metadatas, block.size);
+    for (int i = 0; i < block.size; i++) {
+      blockOut.writeInt(block.embeddings[i] == null ? -1 : block.embeddings[i].length);
+    }
+    for (int i = 0; i < block.size; i++) {
+      if (block.embeddings[i] != null) {
+        for (float value : block.embeddings[i]) {
+          blockOut.writeFloat(value);
+        }
+      }
+    }
+    out.writeInt(buffer.size());
+    buffer.writeTo(out);
+    block.size = 0;
+  }
+
+  private void writeBytesColumn(DataOutputStream out, byte[][] column, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      out.writeInt(column[i] == null ? -1 : column[i].length);
+    }
+    for (int i = 0; i < size; i++) {
+      if (column[i] != null) {
+        out.write(column[i]);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------------
+  // ##### 스냅샷 파일을 테이블로 적재하는 메소드 #####
+  public SnapshotResult importSnapshot(String name) {
+    long start = System.nanoTime();
+    Path file = resolveSnapshot(name);
+    if (!Files.isRegularFile(file)) {
+      throw new IllegalArgumentException("스냅샷 파일이 없습니다: " + name);
+    }
+
+    // 인덱스 삭제 → COPY → 인덱스 재생성을 한 트랜잭션으로 실행
+    // (파일이 잘못되어 COPY가 실패하면 롤백되어 삭제한 인덱스도 그대로 남음)
+    long rows = transactionTemplate.execute(status -> {
+      // 빈 테이블이면 벡터 인덱스를 삭제했다가 적재 후에 한 번에 생성 (행마다 HNSW 갱신하는 것보다 빠름)
+      Long existingRows = jdbcTemplate.queryForObject(
+          "SELECT count(*) FROM (SELECT 1 FROM %s LIMIT 1) t".formatted(tableName), Long.class);
+      List<String> indexDefinitions = List.of();
+      if (existingRows == 0) {
+        indexDefinitions = jdbcTemplate.queryForList("""
+            SELECT indexdef FROM pg_indexes
+            WHERE tablename = ? AND indexdef ILIKE '%USING hnsw%'
+            """, String.class, tableName);
+        jdbcTemplate.queryForList("""
+            SELECT schemaname || '.' || indexname FROM pg_indexes
+            WHERE tablename = ? AND indexdef ILIKE '%USING hnsw%'
+            """, String.class, tableName)
+            .forEach(index -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + index));
+      }
+
+      String sql = "COPY %s (id, content, metadata, embedding) FROM STDIN (FORMAT binary)"
+          .formatted(tableName);
+      Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+        PGCopyOutputStream copyOut = new PGCopyOutputStream(pgConnection(connection), sql, 1 << 16);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+          long count = copySnapshot(channel, copyOut);
+          copyOut.close();
+          return count;
+        } catch (IOException | RuntimeException e) {
+          // 적재 중이던 COPY를 취소 (일부 행만 들어가지 않게 함)
+          if (copyOut.isActive()) {
+            copyOut.cancelCopy();
+          }
+          throw new SQLException("스냅샷 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+      });
+
+      indexDefinitions.forEach(definition -> {
+        log.info("벡터 인덱스 재생성: {}", definition);
+        jdbcTemplate.execute(definition);
+      });
+      return copied;
+    });
+
+    // VectorStore를 거치지 않고 적재했으므로 검색 결과 캐시 무효화
+    // (멀티 테넌트이면 vector_store 테이블을 사용하는 기본 저장소의 캐시)
+    VectorStore target = vectorStore instanceof TenantRoutingVectorStore tenantRoutingVectorStore
+        ? tenantRoutingVectorStore.getDefaultVectorStore() : vectorStore;
+    if (target instanceof CachingVectorStore cachingVectorStore) {
+      cachingVectorStore.invalidateAll();
+    }
+
+    return result(file, rows, start);
+  }
+
+  private long copySnapshot(FileChannel channel, OutputStream copyOut) throws IOException {
+    // 파일 헤더 확인
+    MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+        Math.min(channel.size(), MAGIC.length + 1 + 4));
+    byte[] magic = new byte[MAGIC.length];
+    header.get(magic);
+    byte version = header.get();
+    if (!Arrays.equals(magic, MAGIC) || (version != VERSION && version != VERSION_FIXED_DIMENSIONS)) {
+      throw new IOException("스냅샷 파일 형식이 아닙니다.");
+    }
+    // 버전 1: 헤더의 차원 하나를 모든 행에 사용, 버전 2: 행마다 차원 열에 저장 (-1)
+    int fixedDimensions = version == VERSION_FIXED_DIMENSIONS ? header.getInt() : -1;
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(copyOut, 1 << 16));
+    out.write(PGCOPY_SIGNATURE);
+    out.writeInt(0);
+    out.writeInt(0);
+
+    long position = header.position();
+    long rows = 0;
+    while (true) {
+      int blockBytes = channel.map(FileChannel.MapMode.READ_ONLY, position, 4).getInt();
+      position += 4;
+      if (blockBytes == 0) {
+        break;
+      }
+      // 블록 단위로 메모리 매핑 (파일 전체 크기와 상관없이 2GB 제한을 피함)
+      MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, position, blockBytes);
+      position += blockBytes;
+      rows += writeCopyRows(block, fixedDimensions, out);
+    }
+
+    out.writeShort(-1);
+    out.flush();
+    return rows;
+  }
+
+  private int writeCopyRows(ByteBuffer block, int fixedDimensions, DataOutputStream out) throws IOException {
+    int size = block.getInt();
+
+    // 컬럼별 시작 위치 계산
+    int idStart = block.position();
+    int contentLengthStart = idStart + size * 16;
+    int contentStart = contentLengthStart + size * 4;
+    int contentBytes = sumLengths(block, contentLengthStart, size);
+    int metadataLengthStart = contentStart + contentBytes;
+    int metadataStart = metadataLengthStart + size * 4;
+    int metadataBytes = sumLengths(block, metadataLengthStart, size);
+    int dimensionStart = metadataStart + metadataBytes;
+    int embeddingStart = fixedDimensions >= 0 ? dimensionStart : dimensionStart + size * 4;
+
+    int contentOffset = contentStart;
+    int metadataOffset = metadataStart;
+    int embeddingOffset = embeddingStart;
+    for (int i = 0; i < size; i++) {
+      out.writeShort(4);
+      // id
+      out.writeInt(16);
+      out.writeLong(block.getLong(idStart + i * 16));
+      out.writeLong(block.getLong(idStart + i * 16 + 8));
+      // content, metadata
+      contentOffset = writeBytesField(block, block.getInt(contentLengthStart + i * 4), contentOffset, out);
+      metadataOffset = writeBytesField(block, block.getInt(metadataLengthStart + i * 4), metadataOffset, out);
+      // embedding (NULL이면 길이 -1)
+      int dimensions = fixedDimensions >= 0 ? fixedDimensions : block.getInt(dimensionStart + i * 4);
+      if (dimensions < 0) {
+        out.writeInt(-1);
+        continue;
+      }
+      byte[] vectorBytes = new byte[dimensions * 4];
+      out.writeInt(4 + vectorBytes.length);
+      out.writeShort(dimensions);
+      out.writeShort(0);
+      block.get(embeddingOffset, vectorBytes);
+      out.write(vectorBytes);
+      embeddingOffset += vectorBytes.length;
+    }
+    return size;
+  }
+
+  private int sumLengths(ByteBuffer block, int start, int size) {
+    int sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += Math.max(0, block.getInt(start + i * 4));
+    }
+    return sum;
+  }
+
+  private int writeBytesField(ByteBuffer block, int length, int offset, DataOutputStream out)
+      throws IOException {
+    out.writeInt(length);
+    if (length <= 0) {
+      return offset;
+    }
+    byte[] bytes = new byte[length];
+    block.get(offset, bytes);
+    out.write(bytes);
+    return offset + length;
+  }
+
+  //-------------------------------------------------------------------------------
+  private PGConnection pgConnection(Connection connection) throws SQLException {
+    return connection.unwrap(PGConnection.class);
+  }
+
+  private SnapshotResult result(Path file, long rows, long start) {
+    long bytes;
+    try {
+      bytes = Files.size(file);
+    } catch (IOException e) {
+      bytes = -1;
+    }
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    log.info("스냅샷 파일: {}, 행 수: {}, 파일 크기: {}바이트, 소요 시간: {}ms",
+        file, rows, bytes, elapsedMillis);
+    return new SnapshotResult(rows, bytes, elapsedMillis);
+  }
+}
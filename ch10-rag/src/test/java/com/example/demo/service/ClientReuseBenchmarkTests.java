@@ -0,0 +1,159 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.rag.Query;
+import org.springframework.ai.rag.preretrieval.query.transformation.RewriteQueryTransformer;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/*
+ * 요청마다 ChatClient/쿼리 변환기/WebClient를 새로 만드는 경우와
+ * 시작할 때 한 번 만들어서 공유하는 경우의 요청당 할당량과 지연 시간 비교
+ *  - LLM은 고정 응답을 돌려주는 ChatModel로 대체해서 클라이언트 생성 비용만 비교
+ *  - 할당량: 현재 스레드의 할당 바이트 (com.sun.management.ThreadMXBean)
+ *  - 결과는 로그로 남기고, 공유하는 쪽의 할당량이 더 적은지만 검사
+ *  - 기본 test 태스크에서는 제외되므로 ./gradlew benchmark로 실행
+ */
+@Tag("benchmark")
+class ClientReuseBenchmarkTests {
+  // ##### 필드 #####
+  private static final Logger log = LoggerFactory.getLogger(ClientReuseBenchmarkTests.class);
+  private static final int WARMUP = 2_000;
+  private static final int ITERATIONS = 5_000;
+
+  private final ChatModel chatModel = prompt -> new ChatResponse(
+      List.of(new Generation(new AssistantMessage("서울 맛집 추천"))));
+
+  // 도구 등록 비용 측정용 (TravelOrchestrator의 @Tool 메소드와 같은 형태)
+  static class Tools {
+    @Tool(description = "관광지 정보를 조회합니다.")
+    public String callAttractionAgent(String query) {
+      return query;
+    }
+
+    @Tool(description = "맛집 정보를 조회합니다.")
+    public String callRestaurantAgent(String query) {
+      return query;
+    }
+  }
+
+  private record Result(double nanosPerOp, double bytesPerOp) {
+  }
+
+  // ##### 측정 메소드 #####
+  private static Result measure(Supplier<Object> operation) {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Object sink = null;
+    for (int i = 0; i < WARMUP; i++) {
+      sink = operation.get();
+    }
+    long threadId = Thread.currentThread().threadId();
+    long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink = operation.get();
+    }
+    long elapsed = System.nanoTime() - start;
+    bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+    assertThat(sink).isNotNull();
+    return new Result((double) elapsed / ITERATIONS, (double) bytes / ITERATIONS);
+  }
+
+  private static void report(String name, Result perRequest, Result shared) {
+    log.info("{} 요청마다 생성: {} | 공유: {}", name, format(perRequest), format(shared));
+  }
+
+  private static String format(Result result) {
+    return "%,.0f ns/op %,.0f B/op".formatted(result.nanosPerOp(), result.bytesPerOp());
+  }
+
+  private ChatClient.Builder newChatClientBuilder() {
+    return ChatClient.builder(chatModel)
+        .defaultAdvisors(new SimpleLoggerAdvisor(Ordered.LOWEST_PRECEDENCE - 1));
+  }
+
+  // ##### ChatClient #####
+  @Test
+  void chatClient() {
+    ChatClient shared = newChatClientBuilder().build();
+
+    Result perRequest = measure(() -> newChatClientBuilder().build()
+        .prompt().user("서울 맛집").call().content());
+    Result reused = measure(() -> shared
+        .prompt().user("서울 맛집").call().content());
+
+    report("ChatClient", perRequest, reused);
+    assertThat(reused.bytesPerOp()).isLessThan(perRequest.bytesPerOp());
+  }
+
+  // ##### 도구를 등록한 ChatClient (TravelOrchestrator) #####
+  @Test
+  void chatClientWithTools() {
+    Tools tools = new Tools();
+    ChatClient shared = newChatClientBuilder().defaultTools(tools).build();
+
+    Result perRequest = measure(() -> newChatClientBuilder().build()
+        .prompt().user("서울 맛집").tools(tools).call().content());
+    Result reused = measure(() -> shared
+        .prompt().user("서울 맛집").call().content());
+
+    report("ChatClient + tools", perRequest, reused);
+    assertThat(reused.bytesPerOp()).isLessThan(perRequest.bytesPerOp());
+  }
+
+  // ##### 쿼리 변환기 (RagService2) #####
+  @Test
+  void queryTransformer() {
+    RewriteQueryTransformer shared = RewriteQueryTransformer.builder()
+        .chatClientBuilder(newChatClientBuilder())
+        .build();
+    Query query = new Query("서울 맛집");
+
+    Result perRequest = measure(() -> RewriteQueryTransformer.builder()
+        .chatClientBuilder(newChatClientBuilder())
+        .build()
+        .transform(query));
+    Result reused = measure(() -> shared.transform(query));
+
+    report("RewriteQueryTransformer", perRequest, reused);
+    assertThat(reused.bytesPerOp()).isLessThan(perRequest.bytesPerOp());
+  }
+
+  // ##### WebClient (이미지 편집) #####
+  @Test
+  void webClient() {
+    Supplier<WebClient> factory = () -> WebClient.builder()
+        .baseUrl("https://api.openai.com/v1/images/edits")
+        .defaultHeader("Authorization", "Bearer test")
+        .exchangeStrategies(ExchangeStrategies.builder()
+          .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(10 * 1536 * 1024))
+          .build())
+        .build();
+    WebClient shared = factory.get();
+
+    // 요청 명세 생성까지만 측정 (네트워크 호출 없음)
+    Result perRequest = measure(() -> factory.get().post());
+    Result reused = measure(() -> shared.post());
+
+    report("WebClient", perRequest, reused);
+    assertThat(reused.bytesPerOp()).isLessThan(perRequest.bytesPerOp());
+  }
+}
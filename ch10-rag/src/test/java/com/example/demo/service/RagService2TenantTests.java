@@ -0,0 +1,112 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.vectorstore.TenantRoutingVectorStore;
+
+/*
+ * RagService2의 RetrievalAugmentationAdvisor는 문서 검색을 별도 스레드에서 실행하므로
+ * 요청 스레드의 테넌트가 검색 스레드까지 전파되는지 확인
+ */
+class RagService2TenantTests {
+  // ##### 필드 #####
+  private final ChatModel chatModel = prompt -> new ChatResponse(
+      List.of(new Generation(new AssistantMessage("서울 맛집 추천"))));
+
+  // 검색할 때의 테넌트와 스레드를 기록하는 VectorStore
+  static class RecordingVectorStore implements VectorStore {
+    final List<String> tenantIds = new CopyOnWriteArrayList<>();
+    final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void add(List<Document> documents) {
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+      tenantIds.add(String.valueOf(TenantContext.getTenantId()));
+      threads.add(Thread.currentThread());
+      return List.of();
+    }
+  }
+
+  @AfterEach
+  void clearTenant() {
+    TenantContext.clear();
+  }
+
+  // ##### 테스트 #####
+  @Test
+  void tenantReachesRetrieverThread() {
+    RecordingVectorStore vectorStore = new RecordingVectorStore();
+    RagService2 ragService = ragService(vectorStore);
+
+    TenantContext.setTenantId("acme");
+    ragService.chatWithRewriteQuery("서울 맛집", 0.0, null);
+
+    assertThat(vectorStore.tenantIds).containsExactly("acme");
+    assertThat(vectorStore.threads).doesNotContain(Thread.currentThread());
+  }
+
+  @Test
+  void defaultTenantReachesRoutingStore() {
+    RecordingVectorStore defaultVectorStore = new RecordingVectorStore();
+    RagService2 ragService = ragService(routingStore(defaultVectorStore));
+
+    TenantContext.setDefaultTenant();
+    ragService.chatWithRewriteQuery("서울 맛집", 0.0, null);
+
+    assertThat(defaultVectorStore.tenantIds).containsExactly("null");
+  }
+
+  @Test
+  void routingStoreFailsClosedWithoutTenantContext() {
+    RecordingVectorStore defaultVectorStore = new RecordingVectorStore();
+    TenantRoutingVectorStore vectorStore = routingStore(defaultVectorStore);
+
+    assertThatThrownBy(() -> vectorStore.similaritySearch(SearchRequest.builder().query("서울").build()))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(defaultVectorStore.tenantIds).isEmpty();
+  }
+
+  // ##### 도우미 메소드 #####
+  private RagService2 ragService(VectorStore vectorStore) {
+    RagService2 ragService = new RagService2(ChatClient.builder(chatModel));
+    ReflectionTestUtils.setField(ragService, "chatModel", chatModel);
+    ReflectionTestUtils.setField(ragService, "vectorStore", vectorStore);
+    ragService.init();
+    return ragService;
+  }
+
+  private static TenantRoutingVectorStore routingStore(VectorStore defaultVectorStore) {
+    return new TenantRoutingVectorStore(defaultVectorStore, null, null,
+        TenantRoutingVectorStore.Mode.TABLE, 1, 1, store -> store, Set.of("acme"));
+  }
+}
@@ -1,21 +1,22 @@
 package com.example.demo.advisor;
 
 import java.util.List;
-import java.util.Set;
 
 import org.springframework.ai.chat.client.ChatClientRequest;
 import org.springframework.ai.chat.client.ChatClientResponse;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
 import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
 import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
 import org.springframework.core.Ordered;
 
 public class CityValidationAdvisor implements CallAdvisor {
-  private static final Set<String> KOREAN_CITIES = Set.of(
+  // 도시 이름 목록을 한 번만 컴파일해서 모든 인스턴스가 공유
+  private static final KeywordMatcher KOREAN_CITIES = KeywordMatcher.compile(List.of(
       "서울", "부산", "인천", "대구", "광주", "대전", "울산", "수원", "제주"
-  );
+  ));
 
   @Override
   public String getName() { return "cityValidationAdvisor"; }
@@ -28,13 +29,14 @@ public class CityValidationAdvisor implements CallAdvisor {
 
   @Override
   public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
-    // 사용자 메시지에서 텍스트 추출
-    String userText = request.prompt().getUserMessages().stream()
-        .map(msg -> msg.getText())
-        .reduce("", (a, b) -> a + b);
-    
-    // 한국 도시가 포함되어 있는지 검증
-    boolean valid = KOREAN_CITIES.stream().anyMatch(city -> userText.contains(city));
+    // 사용자 메시지들에 한국 도시가 포함되어 있는지 검증 (문자열을 합치지 않고 메시지마다 한 번씩 훑음)
+    boolean valid = false;
+    for (UserMessage userMessage : request.prompt().getUserMessages()) {
+      if (KOREAN_CITIES.matches(userMessage.getText())) {
+        valid = true;
+        break;
+      }
+    }
     
     if (!valid) {
       // 조건 불충족 시 즉시 응답 반환
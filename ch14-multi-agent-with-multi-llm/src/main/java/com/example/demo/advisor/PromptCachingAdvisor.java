@@ -0,0 +1,161 @@
+package com.example.demo.advisor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.core.Ordered;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/*
+ * 공급자의 프롬프트 캐싱(같은 접두사의 입력 토큰 재사용)을 잘 타도록 요청을 정리하는 Advisor
+ *  - 시스템 메시지처럼 매번 같은 내용을 항상 맨 앞에 오도록 메시지 순서를 정규화
+ *  - OpenAI: 고정 접두사(시스템 메시지)의 해시를 prompt_cache_key로 지정해서
+ *    같은 접두사의 요청이 같은 캐시로 라우팅되도록 함 (캐싱 자체는 1024 토큰 이상에서 자동 적용)
+ *  - 응답 메타데이터의 cached_tokens로 캐시 적중 토큰 수를 누적
+ * 다른 Advisor가 시스템 메시지를 추가한 뒤에 정리하도록 LLM 호출 바로 앞에서 실행
+ */
+@Slf4j
+public class PromptCachingAdvisor implements CallAdvisor, StreamAdvisor {
+  // ##### 필드 #####
+  private final String cacheKeyPrefix;
+  private final boolean openAiPromptCacheKey;
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder promptTokens = new LongAdder();
+  private final LongAdder cachedTokens = new LongAdder();
+
+  // ##### 생성자 #####
+  public PromptCachingAdvisor(String cacheKeyPrefix, boolean openAiPromptCacheKey) {
+    this.cacheKeyPrefix = cacheKeyPrefix;
+    this.openAiPromptCacheKey = openAiPromptCacheKey;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String getName() {
+    return this.getClass().getSimpleName();
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.LOWEST_PRECEDENCE - 1;
+  }
+
+  @Override
+  public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+    ChatClientResponse response = chain.nextCall(normalize(request));
+    recordUsage(response.chatResponse());
+    return response;
+  }
+
+  @Override
+  public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+    // 사용량은 스트림의 마지막 조각에 들어 있음 (stream-usage 옵션)
+    return Flux.defer(() -> chain.nextStream(normalize(request)))
+        .doOnNext(response -> recordUsage(response.chatResponse()));
+  }
+
+  // ##### 고정 접두사가 맨 앞에 오도록 요청을 정리하는 메소드 #####
+  private ChatClientRequest normalize(ChatClientRequest request) {
+    Prompt prompt = request.prompt();
+    List<Message> messages = prompt.getInstructions();
+
+    // 시스템 메시지를 앞으로 (나머지 메시지의 상대 순서는 유지)
+    List<Message> ordered = new ArrayList<>(messages.size());
+    StringBuilder prefix = new StringBuilder();
+    for (Message message : messages) {
+      if (message.getMessageType() == MessageType.SYSTEM) {
+        ordered.add(message);
+        prefix.append(message.getText());
+      }
+    }
+    for (Message message : messages) {
+      if (message.getMessageType() != MessageType.SYSTEM) {
+        ordered.add(message);
+      }
+    }
+    boolean reordered = false;
+    for (int i = 0; i < messages.size() && !reordered; i++) {
+      reordered = ordered.get(i) != messages.get(i);
+    }
+
+    ChatOptions options = prompt.getOptions();
+    if (openAiPromptCacheKey && prefix.length() > 0) {
+      options = withPromptCacheKey(options, prefix);
+    }
+    if (!reordered && options == prompt.getOptions()) {
+      return request;
+    }
+    return request.mutate()
+        .prompt(new Prompt(reordered ? ordered : messages, options))
+        .build();
+  }
+
+  private ChatOptions withPromptCacheKey(ChatOptions options, CharSequence prefix) {
+    OpenAiChatOptions openAiOptions;
+    if (options instanceof OpenAiChatOptions current) {
+      if (current.getPromptCacheKey() != null) {
+        return options;
+      }
+      openAiOptions = current.copy();
+    } else if (options != null) {
+      openAiOptions = ModelOptionsUtils.copyToTarget(options, ChatOptions.class, OpenAiChatOptions.class);
+    } else {
+      openAiOptions = new OpenAiChatOptions();
+    }
+    openAiOptions.setPromptCacheKey(cacheKeyPrefix + "-" + Integer.toHexString(prefix.toString().hashCode()));
+    return openAiOptions;
+  }
+
+  // ##### 캐시 적중 토큰 수를 누적하는 메소드 #####
+  private void recordUsage(ChatResponse chatResponse) {
+    if (chatResponse == null || chatResponse.getMetadata() == null
+        || !(chatResponse.getMetadata().getUsage().getNativeUsage() instanceof OpenAiApi.Usage usage)) {
+      return;
+    }
+    if (usage.promptTokens() == null || usage.promptTokens() == 0) {
+      return;
+    }
+    int cached = usage.promptTokensDetails() != null && usage.promptTokensDetails().cachedTokens() != null
+        ? usage.promptTokensDetails().cachedTokens() : 0;
+    requests.increment();
+    promptTokens.add(usage.promptTokens());
+    cachedTokens.add(cached);
+    log.debug("프롬프트 토큰: {}, 캐시 적중 토큰: {}, 누적 적중률: {}%",
+        usage.promptTokens(), cached, Math.round(getCacheHitRatio() * 100));
+  }
+
+  // ##### 누적 통계 #####
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  public long getPromptTokens() {
+    return promptTokens.sum();
+  }
+
+  public long getCachedTokens() {
+    return cachedTokens.sum();
+  }
+
+  public double getCacheHitRatio() {
+    long prompt = promptTokens.sum();
+    return prompt == 0 ? 0 : (double) cachedTokens.sum() / prompt;
+  }
+}
@@ -7,10 +7,12 @@ import java.util.concurrent.CompletableFuture;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.demo.advisor.ResponseCacheAdvisor;
 import com.example.demo.dto.Accommodation;
 import com.example.demo.dto.Attraction;
 import com.example.demo.dto.BudgetAnalysis;
@@ -25,8 +27,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Component
 public class TravelOrchestrator {
   // ----------------------------------------------------------------------------------------
-  // ChatClient 생성을 위한 빌더
-  private final ChatClient.Builder chatClientBuilder;
+  // 오케스트레이터 ChatClient (대화 메모리 + 에이전트 도구, 시작할 때 한 번 생성해서 공유)
+  private final ChatClient chatClient;
+
+  // 사용자 질문 파싱 전용 ChatClient (temperature 0 + 응답 캐시)
+  private final ChatClient parseChatClient;
 
   // 대화의 문맥(Context)을 저장하고 관리하는 메모리
   private final ChatMemory chatMemory;
@@ -53,10 +58,23 @@ public class TravelOrchestrator {
       RestaurantAgent restaurantAgent,
       AccommodationAgent accommodationAgent,
       PlanAgent planAgent,
-      BudgetAgent budgetAgent) {
-
-    this.chatClientBuilder = chatClientBuilder;
+      BudgetAgent budgetAgent,
+      ResponseCacheAdvisor responseCacheAdvisor) {
+
+    // 같은 질문이면 같은 추출 결과가 나오므로 캐시된 결과를 재사용
+    // (clone()으로 복제해서 오케스트레이터 ChatClient에는 영향 없음)
+    this.parseChatClient = chatClientBuilder.clone()
+        .defaultOptions(ChatOptions.builder().temperature(0.0).build())
+        .defaultAdvisors(responseCacheAdvisor)
+        .build();
     this.chatMemory = chatMemory;
+    // 도구(@Tool 메소드) 목록은 요청마다 리플렉션으로 다시 만들지 않도록 기본 도구로 등록
+    // 주입받은 빌더를 다른 에이전트와 공유할 수 있으므로(LlmConfig의 싱글톤 빌더 등)
+    // clone()한 빌더에 등록해서 다른 에이전트의 ChatClient에 메모리/도구가 붙지 않게 함
+    this.chatClient = chatClientBuilder.clone()
+        .defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build())
+        .defaultTools(this)
+        .build();
 
     this.attractionAgent = attractionAgent;
     this.restaurantAgent = restaurantAgent;
@@ -75,9 +93,6 @@ public class TravelOrchestrator {
     // 해당 스레드에 SseEmitter 저장
     threadLocal.set(emitter);
 
-    // LLM로 요청하고 응답받기
-    ChatClient chatClient = chatClientBuilder.build();
-
     String systemMemssage = """
           당신은 여행 계획 전문 오케스트레이터(조율자)입니다.
           사용자의 질문을 분석하여 적절한 전문 에이전트에게 작업을 위임합니다.
@@ -100,12 +115,11 @@ public class TravelOrchestrator {
           당신의 주 역할은 적절한 도구(전문가 에이전트)를 호출하는 것입니다.
         """;
 
+    // LLM로 요청하고 응답받기
     String response = chatClient.prompt()
         .system(systemMemssage)
         .user(userQuery)
-        .advisors(MessageChatMemoryAdvisor.builder(chatMemory).build())
         .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, conversationId))
-        .tools(this)
         .call()
         .content();
 
@@ -243,8 +257,7 @@ public class TravelOrchestrator {
         JSON만 반환하고 다른 설명은 추가하지 마세요.
         """, userQuery);
 
-    ChatClient chatClient = chatClientBuilder.build();
-    String jsonResponse = chatClient.prompt()
+    String jsonResponse = parseChatClient.prompt()
         .user(userMessage)
         .call()
         .content();
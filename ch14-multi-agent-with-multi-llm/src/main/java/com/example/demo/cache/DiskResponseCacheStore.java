@@ -0,0 +1,125 @@
+package com.example.demo.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 디스크 응답 캐시 저장소 (재시작 후에도 유지)
+ *  - 키마다 파일 하나 (키가 해시이므로 그대로 파일 이름으로 사용)
+ *  - 임시 파일에 쓴 뒤 이동해서 읽는 쪽이 쓰다 만 파일을 보지 않게 함
+ *  - 파일 수정 시각 + ttl이 지난 항목은 조회할 때 삭제
+ *  - 다시 조회되지 않는 항목과 중단된 쓰기의 임시 파일은 purgeExpired()로 주기적으로 삭제
+ *  - 입출력 오류는 캐시 미스로 처리하고 LLM 호출을 막지 않음
+ */
+@Slf4j
+public class DiskResponseCacheStore implements ResponseCacheStore {
+  // ##### 상수 #####
+  private static final String TEMP_SUFFIX = ".tmp";
+  // 쓰는 중인 임시 파일을 지우지 않도록 이 시간이 지난 임시 파일만 삭제
+  private static final Duration TEMP_FILE_MAX_AGE = Duration.ofMinutes(10);
+  // 정리할 때 이 저장소가 만든 파일만 삭제 (키: SHA-256 16진수, 임시 파일: 키 + 난수 + .tmp)
+  private static final Pattern CACHE_FILE = Pattern.compile("[0-9a-f]{64}");
+  private static final Pattern TEMP_FILE = Pattern.compile("[0-9a-f]{64}\\d*\\.tmp");
+
+  // ##### 필드 #####
+  private final Path directory;
+  private final Duration ttl;
+
+  // ##### 생성자 #####
+  public DiskResponseCacheStore(Path directory, Duration ttl) {
+    this.directory = directory;
+    this.ttl = ttl;
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new IllegalStateException("응답 캐시 디렉토리를 만들 수 없습니다: " + directory, e);
+    }
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String get(String key) {
+    Path file = directory.resolve(key);
+    try {
+      Instant modified = Files.getLastModifiedTime(file).toInstant();
+      if (modified.plus(ttl).isBefore(Instant.now())) {
+        Files.deleteIfExists(file);
+        return null;
+      }
+      return Files.readString(file, StandardCharsets.UTF_8);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      log.warn("응답 캐시 읽기 실패: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public void put(String key, String value) {
+    Path file = directory.resolve(key);
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+      Files.writeString(temp, value, StandardCharsets.UTF_8);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("응답 캐시 쓰기 실패: {}", e.getMessage());
+      // 쓰기나 이동에 실패한 임시 파일은 바로 삭제
+      if (temp != null) {
+        deleteQuietly(temp);
+      }
+    }
+  }
+
+  // ##### 만료된 항목과 남은 임시 파일을 삭제하는 메소드 (삭제한 파일 수 반환) #####
+  public int purgeExpired() {
+    Instant now = Instant.now();
+    int deleted = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        Duration maxAge = CACHE_FILE.matcher(name).matches() ? ttl
+            : TEMP_FILE.matcher(name).matches() ? TEMP_FILE_MAX_AGE
+            : null;
+        if (maxAge == null) {
+          continue;
+        }
+        try {
+          Instant modified = Files.getLastModifiedTime(file).toInstant();
+          if (modified.plus(maxAge).isBefore(now) && Files.deleteIfExists(file)) {
+            deleted++;
+          }
+        } catch (NoSuchFileException e) {
+          // 조회나 다른 정리 작업이 먼저 삭제함
+        } catch (IOException e) {
+          log.warn("응답 캐시 파일 정리 실패 ({}): {}", name, e.getMessage());
+        }
+      }
+    } catch (IOException e) {
+      log.warn("응답 캐시 정리 실패: {}", e.getMessage());
+    }
+    if (deleted > 0) {
+      log.debug("응답 캐시 파일 {}개를 삭제했습니다.", deleted);
+    }
+    return deleted;
+  }
+
+  private void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("응답 캐시 임시 파일 삭제 실패: {}", e.getMessage());
+    }
+  }
+}
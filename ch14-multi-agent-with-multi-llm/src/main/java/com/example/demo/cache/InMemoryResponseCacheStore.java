@@ -0,0 +1,54 @@
+package com.example.demo.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * 프로세스 내 응답 캐시 저장소
+ *  - 최대 항목 수를 넘으면 가장 오래 사용하지 않은 항목부터 제거 (LRU)
+ *  - 저장 후 ttl이 지난 항목은 조회할 때 제거
+ */
+public class InMemoryResponseCacheStore implements ResponseCacheStore {
+  // ##### 필드 #####
+  private final long ttlNanos;
+  private final Map<String, Entry> entries;
+
+  private record Entry(String value, long expiresAtNanos) {
+  }
+
+  // ##### 생성자 #####
+  public InMemoryResponseCacheStore(int maxEntries, Duration ttl) {
+    this.ttlNanos = ttl.toNanos();
+    // accessOrder=true: 조회한 항목을 맨 뒤로 옮겨서 맨 앞이 가장 오래 사용하지 않은 항목이 됨
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public synchronized String get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.expiresAtNanos() > 0) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.value();
+  }
+
+  @Override
+  public synchronized void put(String key, String value) {
+    entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+}
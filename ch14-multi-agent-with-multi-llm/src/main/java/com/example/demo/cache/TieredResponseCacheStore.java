@@ -0,0 +1,38 @@
+package com.example.demo.cache;
+
+/*
+ * 메모리(1차) + 디스크(2차) 응답 캐시 저장소
+ *  - 조회: 1차에 없으면 2차에서 찾고, 찾으면 1차에 다시 올림
+ *  - 저장: 두 저장소에 모두 저장
+ */
+public class TieredResponseCacheStore implements ResponseCacheStore {
+  // ##### 필드 #####
+  private final ResponseCacheStore first;
+  private final ResponseCacheStore second;
+
+  // ##### 생성자 #####
+  public TieredResponseCacheStore(ResponseCacheStore first, ResponseCacheStore second) {
+    this.first = first;
+    this.second = second;
+  }
+
+  // ##### 메소드 #####
+  @Override
+  public String get(String key) {
+    String value = first.get(key);
+    if (value != null) {
+      return value;
+    }
+    value = second.get(key);
+    if (value != null) {
+      first.put(key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public void put(String key, String value) {
+    first.put(key, value);
+    second.put(key, value);
+  }
+}
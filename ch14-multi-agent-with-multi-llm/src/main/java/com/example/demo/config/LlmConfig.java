@@ -5,18 +5,37 @@ import org.springframework.ai.ollama.OllamaChatModel;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.vertexai.gemini.VertexAiGeminiChatModel;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import com.example.demo.advisor.PromptCachingAdvisor;
+
 @Configuration
 public class LlmConfig {
+  @Value("${app.prompt-cache.key-prefix:${spring.application.name}}")
+  private String cacheKeyPrefix;
+
+  // 프롬프트 캐싱 Advisor 빈 생성
+  // OpenAI에만 prompt_cache_key를 지정하고, 다른 LLM에는 메시지 순서 정규화만 적용
+  @Bean
+  public PromptCachingAdvisor openaiPromptCachingAdvisor() {
+    return new PromptCachingAdvisor(cacheKeyPrefix, true);
+  }
+
+  @Bean
+  public PromptCachingAdvisor defaultPromptCachingAdvisor() {
+    return new PromptCachingAdvisor(cacheKeyPrefix, false);
+  }
+
   // OpenAI ChatClient.Builder 빈 생성
   // @Qualifier("openaiBuilder")로 주입받아 사용
   @Bean
   @Qualifier("openaiBuilder")
   public ChatClient.Builder openaiChatClientBuilder(OpenAiChatModel openAiChatModel) {
-    return ChatClient.builder(openAiChatModel);
+    return ChatClient.builder(openAiChatModel)
+        .defaultAdvisors(openaiPromptCachingAdvisor());
   }
 
   // Google Gemini ChatClient.Builder 빈 생성
@@ -24,7 +43,8 @@ public class LlmConfig {
   @Bean
   @Qualifier("geminiBuilder")
   public ChatClient.Builder geminiChatClientBuilder(VertexAiGeminiChatModel geminiChatModel) {
-    return ChatClient.builder(geminiChatModel);
+    return ChatClient.builder(geminiChatModel)
+        .defaultAdvisors(defaultPromptCachingAdvisor());
   }
 
   // Ollama ChatClient.Builder 빈 생성
@@ -32,7 +52,8 @@ public class LlmConfig {
   @Bean
   @Qualifier("ollamaBuilder")
   public ChatClient.Builder ollamaChatClientBuilder(OllamaChatModel ollamaChatModel) {
-    return ChatClient.builder(ollamaChatModel);
+    return ChatClient.builder(ollamaChatModel)
+        .defaultAdvisors(defaultPromptCachingAdvisor());
   }
 
   // 기본 ChatClient.Builder 빈 생성
@@ -40,6 +61,7 @@ public class LlmConfig {
   @Bean
   @Primary
   public ChatClient.Builder chatClientBuilder(OpenAiChatModel openAiChatModel) {
-    return ChatClient.builder(openAiChatModel);
+    return ChatClient.builder(openAiChatModel)
+        .defaultAdvisors(openaiPromptCachingAdvisor());
   }
 }
@@ -0,0 +1,15 @@
+package com.example.demo.cache;
+
+/*
+ * LLM 응답 캐시 저장소
+ *  - 키: ResponseCacheAdvisor가 만든 요청 해시(SHA-256 16진수 문자열)
+ *  - 값: 응답 텍스트
+ * 구현체: InMemoryResponseCacheStore(프로세스 내), DiskResponseCacheStore(디스크),
+ *         TieredResponseCacheStore(메모리 + 디스크)
+ */
+public interface ResponseCacheStore {
+  // 캐시된 응답 텍스트를 반환 (없거나 만료되었으면 null)
+  String get(String key);
+
+  void put(String key, String value);
+}
@@ -0,0 +1,28 @@
+package com.example.demo.config;
+
+import org.springframework.ai.chat.client.ChatClientCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.advisor.PromptCachingAdvisor;
+
+@Configuration
+public class PromptCachingConfig {
+  // ##### 프롬프트 캐싱 설정 #####
+  @Value("${app.prompt-cache.key-prefix:${spring.application.name}}")
+  private String cacheKeyPrefix;
+
+  // ##### 모든 ChatClient에서 공유하는 프롬프트 캐싱 Advisor #####
+  @Bean
+  public PromptCachingAdvisor promptCachingAdvisor() {
+    return new PromptCachingAdvisor(cacheKeyPrefix, true);
+  }
+
+  // ##### 자동 구성된 ChatClient.Builder에 기본 Advisor로 등록 #####
+  // 에이전트마다 주입받는 ChatClient.Builder에 모두 적용되므로 에이전트 코드는 그대로 둠
+  @Bean
+  public ChatClientCustomizer promptCachingCustomizer(PromptCachingAdvisor promptCachingAdvisor) {
+    return builder -> builder.defaultAdvisors(promptCachingAdvisor);
+  }
+}
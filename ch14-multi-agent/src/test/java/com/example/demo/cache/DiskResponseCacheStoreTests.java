@@ -0,0 +1,63 @@
+package com.example.demo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskResponseCacheStoreTests {
+  // ##### 상수 #####
+  private static final String KEY = "a".repeat(64);
+  private static final String OTHER_KEY = "b".repeat(64);
+
+  // ##### 필드 #####
+  @TempDir
+  Path directory;
+
+  // ##### 테스트 #####
+  @Test
+  void purgeDeletesExpiredEntriesAndStaleTempFiles() throws IOException {
+    DiskResponseCacheStore store = new DiskResponseCacheStore(directory, Duration.ofHours(1));
+    store.put(KEY, "오래된 응답");
+    store.put(OTHER_KEY, "최근 응답");
+    Path staleTemp = Files.writeString(directory.resolve(KEY + "123.tmp"), "중단된 쓰기");
+    Path freshTemp = Files.writeString(directory.resolve(OTHER_KEY + "456.tmp"), "쓰는 중");
+    Path unrelated = Files.writeString(directory.resolve("README.txt"), "캐시 파일 아님");
+    age(directory.resolve(KEY), Duration.ofHours(2));
+    age(staleTemp, Duration.ofHours(2));
+    age(unrelated, Duration.ofHours(2));
+
+    assertThat(store.purgeExpired()).isEqualTo(2);
+
+    assertThat(directory.resolve(KEY)).doesNotExist();
+    assertThat(staleTemp).doesNotExist();
+    assertThat(store.get(OTHER_KEY)).isEqualTo("최근 응답");
+    assertThat(freshTemp).exists();
+    assertThat(unrelated).exists();
+  }
+
+  @Test
+  void failedMoveLeavesNoTempFile() throws IOException {
+    DiskResponseCacheStore store = new DiskResponseCacheStore(directory, Duration.ofHours(1));
+    // 같은 이름의 비어 있지 않은 디렉토리가 있으면 이동(덮어쓰기)이 실패함
+    Files.createDirectories(directory.resolve(KEY).resolve("child"));
+
+    store.put(KEY, "응답");
+
+    try (var files = Files.list(directory)) {
+      assertThat(files.map(file -> file.getFileName().toString())).containsExactly(KEY);
+    }
+  }
+
+  // ##### 도우미 메소드 #####
+  private static void age(Path file, Duration age) throws IOException {
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+  }
+}